@@ -2,11 +2,13 @@ package de.superioz.moo.api.common;
 
 import de.superioz.moo.api.database.objects.Ban;
 import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.api.utils.BsonUtil;
 import de.superioz.moo.api.utils.ReflectionUtil;
 import de.superioz.moo.api.utils.StringUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.bson.BsonValue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -79,4 +81,26 @@ public class PlayerProfile {
         return new PlayerProfile(data, ban, archivedBans);
     }
 
+    /**
+     * Converts the typed records into the playerInfo (from playerInfo request packets)
+     *
+     * @param records The records (0 = playerData, 1 = currentBan, 2 = archivedBans)
+     * @return The playerInfo object
+     * @see BsonUtil#serialize(Object)
+     */
+    public static PlayerProfile fromRecords(List<BsonValue> records) {
+        if(records.size() < 3) return null;
+        PlayerData data = BsonUtil.deserialize(records.get(0), PlayerData.class);
+        Ban ban = BsonUtil.deserialize(records.get(1), Ban.class);
+
+        List<Ban> archivedBans = new ArrayList<>();
+        if(records.get(2).isArray()) {
+            for(BsonValue value : records.get(2).asArray()) {
+                Ban archivedBan = BsonUtil.deserialize(value, Ban.class);
+                if(archivedBan != null) archivedBans.add(archivedBan);
+            }
+        }
+        return new PlayerProfile(data, ban, archivedBans);
+    }
+
 }
@@ -73,7 +73,6 @@ public abstract class DatabaseCollection<K, E> {
      */
     public List<Object> getFilteredData(DatabaseCollection<UUID, PlayerData> playerDataCache, DbFilter filter, boolean queried, int limit) {
         List<Object> data = limit == -1 ? new ArrayList<>() : new FixedSizeList<>(limit);
-        filter = filter.replaceBinaryUniqueIds();
 
         DbFilterNode n = filter.getKey(0, getWrappedClass());
         Field field = ReflectionUtil.getFieldFromId(0, getWrappedClass());
@@ -5,25 +5,20 @@ import com.mongodb.client.model.Filters;
 import de.superioz.moo.api.database.object.DataResolver;
 import de.superioz.moo.api.database.DatabaseCollection;
 import de.superioz.moo.api.exceptions.CommandException;
+import de.superioz.moo.api.utils.BsonUtil;
 import de.superioz.moo.api.utils.ReflectionUtil;
 import de.superioz.moo.api.utils.StringUtil;
 import javafx.util.Pair;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import de.superioz.moo.api.util.Operator;
-import de.superioz.moo.api.util.Validation;
-import org.bson.BsonBinary;
 import org.bson.BsonDocument;
-import org.bson.BsonValue;
-import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -51,8 +46,14 @@ public class DbFilter {
      */
     private Set<DbFilterNode> nodes = new HashSet<>();
 
+    /**
+     * The document this filter was read from (so that it can be passed to the database as it is)<br>
+     * Its uuids are binaries like the database stores them, while the tree has them as strings (for the cache)
+     */
+    private BsonDocument document;
+
     public DbFilter(Bson bson) {
-        readObject(bson.toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry()).toJson()).replaceStandardUniqueIds();
+        readBson(bson.toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry()));
     }
 
     /**
@@ -246,6 +247,7 @@ public class DbFilter {
      */
     public DbFilter readObject(JSONObject object) {
         DbFilterNode root = new DbFilterNode("$", object, "$");
+        this.document = null;
         this.nodes.clear();
         this.setRoot(root);
         return readObject(root, "$");
@@ -255,6 +257,22 @@ public class DbFilter {
         return readObject(new JSONObject(json));
     }
 
+    /**
+     * Reads a bson document into a conditional tree (without converting it to json text). The uuids of the document
+     * are replaced with binaries (see {@link BsonUtil#replaceUniqueIds(BsonDocument)}), so that it can be passed to
+     * the database as it is
+     *
+     * @param document The document (which is kept and changed)
+     * @return This
+     * @see BsonUtil#toJson(BsonDocument)
+     */
+    public DbFilter readBson(BsonDocument document) {
+        BsonUtil.replaceUniqueIds(document);
+        readObject(BsonUtil.toJson(document));
+        this.document = document;
+        return this;
+    }
+
     private DbFilter readObject(DbFilterNode prev, String path) {
         Object o = prev.getValue();
         String parentPath = path;
@@ -324,88 +342,24 @@ public class DbFilter {
     }
 
     /**
-     * Replace standard uuid with binary uuid<br>
-     * This is needed because MongoDB sucks and I have to use the BSON format somehow, that's why
-     * uuids have to be converted to binary uuids and vice versa
-     *
-     * @return This
-     */
-    public DbFilter replaceStandardUniqueIds() {
-        String json = toString();
-
-        for(String s : StringUtil.find("\\{\"[0-9a-z]*\":\"(" + Validation.UNIQUEID.getRawRegex() + ")\"}", json)) {
-            String[] s0 = s.split(":");
-            String key = s0[0].replace("\"", "").replace("{", "");
-            UUID uuid = UUID.fromString(s0[1].replace("\"", "").replace("}", ""));
-
-            String obj = "{\"" + key + "\":{" + convertStandardUUID(uuid) + "}}";
-            json = json.replace(s, obj);
-        }
-        return readObject(json);
-    }
-
-    /**
-     * Replace binary uuid with standard uuid<br>
-     * This is needed because MongoDB sucks and I have to use the BSON format somehow, that's why
-     * uuids have to be converted to binary uuids and vice versa
-     *
-     * @return This
-     */
-    public DbFilter replaceBinaryUniqueIds() {
-        String json = toString();
-
-        for(String s : StringUtil.find(Validation.BINARY_UNIQUEID_JSON.getRegex(), json)) {
-            String key = s.split(":")[0].replace("{", "").replace("\"", "").replace("\\\"", "");
-            UUID uuid = convertBinaryUUID(key, s);
-            JSONObject object = new JSONObject().put(key, uuid);
-
-            json = json.replace(s, object.toString());
-        }
-        return new DbFilter().readObject(json);
-    }
-
-    /**
-     * Converts the standard uuid to a binary uuid
-     *
-     * @param uuid The uuid
-     * @return The uuid
-     */
-    private String convertStandardUUID(UUID uuid) {
-        String json = Filters.eq("", uuid).toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry()).toJson();
-        json = json.split(":", 2)[1].replace(" ", "").replace("{", "").replace("}", "");
-
-        return json;
-    }
-
-    /**
-     * Converts a binary uuid to a standard uuid
+     * Turns the json structure into bson
      *
-     * @param json The json string (should contain "$binary" and "$type" or something like that)
-     * @return The uuid
+     * @return The bson
      */
-    private UUID convertBinaryUUID(String key, String json) {
-        BsonDocument document = BsonDocument.parse(json);
-
-        BsonValue value = document.get(key);
-        if(!(value instanceof BsonBinary)) {
-            return null;
-        }
-        byte[] bytes = ((BsonBinary) value).getData();
-        ByteBuffer bb = ByteBuffer.wrap(bytes);
-        bb.order(ByteOrder.LITTLE_ENDIAN);
-        long l1 = bb.getLong();
-        long l2 = bb.getLong();
-
-        return new UUID(l1, l2);
+    public Bson toBson() {
+        return toBsonDocument();
     }
 
     /**
-     * Turns the json structure into bson
+     * Turns the json structure into a bson document (without converting it to json text). The uuids are binaries
+     * like the database stores them
      *
-     * @return The bson
+     * @return The document
+     * @see BsonUtil#toBson(JSONObject)
      */
-    public Bson toBson() {
-        return Document.parse(toString());
+    public BsonDocument toBsonDocument() {
+        if(document != null) return document;
+        return BsonUtil.replaceUniqueIds(BsonUtil.toBson((JSONObject) getRoot().getValue()));
     }
 
     /**
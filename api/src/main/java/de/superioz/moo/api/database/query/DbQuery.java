@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 import de.superioz.moo.api.keyvalue.KeyValue;
 import de.superioz.moo.api.util.Operator;
 import de.superioz.moo.api.utils.NumberUtil;
+import org.bson.BsonDocument;
 import org.bson.Document;
 
 import java.lang.reflect.Field;
@@ -407,6 +408,43 @@ public class DbQuery {
         return chain;
     }
 
+    /**
+     * Turns a bson document into this
+     *
+     * @param document The document (key = key of the node)
+     * @return A new query chain (null if the document is empty)
+     * @see #toBsonDocument()
+     */
+    public static DbQuery fromBsonDocument(BsonDocument document) {
+        if(document.isEmpty()) {
+            return null;
+        }
+
+        DbQuery chain = new DbQuery();
+        for(String key : document.keySet()) {
+            try {
+                chain.add(DbQueryNode.fromBson(key, document.getDocument(key)));
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Turns the chain into a bson document
+     *
+     * @return The document (key = key of the node, value = {@link DbQueryNode#toBson()})
+     */
+    public BsonDocument toBsonDocument() {
+        BsonDocument document = new BsonDocument();
+        for(String key : nodes.keySet()) {
+            document.put(key, nodes.get(key).toBson());
+        }
+        return document;
+    }
+
     /**
      * Turns the chain into a stringList
      *
@@ -7,9 +7,13 @@ import lombok.Getter;
 import de.superioz.moo.api.utils.NumberUtil;
 import de.superioz.moo.api.util.Validation;
 
+import org.bson.*;
+
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Just one node of the dbQuery {@link DbQuery}
@@ -165,6 +169,107 @@ public class DbQueryNode {
         return new DbQueryNode(key, type, validationIds, value);
     }
 
+    /**
+     * Turns this node into a bson document (the key is not part of it)
+     *
+     * @return The document
+     * @see #fromBson(String, BsonDocument)
+     */
+    public BsonDocument toBson() {
+        BsonArray validations = new BsonArray();
+        for(int id : validationIds) {
+            validations.add(new BsonInt32(id));
+        }
+
+        return new BsonDocument("type", new BsonInt32(type.ordinal()))
+                .append("validations", validations)
+                .append("value", toBsonValue(value));
+    }
+
+    /**
+     * Turns given bson document into a dbQueryNode object
+     *
+     * @param key      The key of the node
+     * @param document The document
+     * @return The queryNode
+     * @see #toBson()
+     */
+    public static DbQueryNode fromBson(String key, BsonDocument document) {
+        Type type = Type.values()[document.getInt32("type").getValue()];
+
+        List<Integer> validationIds = new ArrayList<>();
+        for(BsonValue id : document.getArray("validations")) {
+            validationIds.add(id.asInt32().getValue());
+        }
+        Object value = fromBsonValue(document.get("value"));
+
+        return new DbQueryNode(key, type, validationIds, value);
+    }
+
+    /**
+     * Converts the value of a node into a bson value<br>
+     * Types without bson representation are sent as string and casted like in {@link #fromString(String)}
+     *
+     * @param value The value
+     * @return The bson value
+     */
+    private static BsonValue toBsonValue(Object value) {
+        if(value == null) return BsonNull.VALUE;
+        if(value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return new BsonInt32(((Number) value).intValue());
+        }
+        if(value instanceof Long) return new BsonInt64((Long) value);
+        if(value instanceof Double || value instanceof Float) return new BsonDouble(((Number) value).doubleValue());
+        if(value instanceof Boolean) return BsonBoolean.valueOf((Boolean) value);
+        if(value instanceof UUID) {
+            UUID uuid = (UUID) value;
+            byte[] bytes = ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+            return new BsonBinary(BsonBinarySubType.UUID_STANDARD, bytes);
+        }
+        if(value instanceof List) {
+            BsonArray array = new BsonArray();
+            for(Object o : (List) value) {
+                array.add(toBsonValue(o));
+            }
+            return array;
+        }
+        return new BsonString(value.toString());
+    }
+
+    /**
+     * Converts a bson value back into the value of a node
+     *
+     * @param value The bson value
+     * @return The value
+     * @see #toBsonValue(Object)
+     */
+    private static Object fromBsonValue(BsonValue value) {
+        switch(value.getBsonType()) {
+            case INT32:
+                return value.asInt32().getValue();
+            case INT64:
+                return value.asInt64().getValue();
+            case DOUBLE:
+                return value.asDouble().getValue();
+            case BOOLEAN:
+                return value.asBoolean().getValue();
+            case BINARY:
+                ByteBuffer bytes = ByteBuffer.wrap(value.asBinary().getData());
+                return new UUID(bytes.getLong(), bytes.getLong());
+            case ARRAY:
+                List<Object> l = new ArrayList<>();
+                for(BsonValue v : value.asArray()) {
+                    l.add(fromBsonValue(v));
+                }
+                return l;
+            case STRING:
+                return ReflectionUtil.safeCast(value.asString().getValue());
+            default:
+                return null;
+        }
+    }
+
     @Override
     public String toString() {
         List<Object> l = new ArrayList<>();
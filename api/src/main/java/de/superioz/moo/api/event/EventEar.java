@@ -1,11 +1,16 @@
 package de.superioz.moo.api.event;
 
 import de.superioz.moo.api.events.CommandErrorEvent;
+import de.superioz.moo.api.common.RunAsynchronous;
+import de.superioz.moo.api.util.LatencyHistogram;
+import de.superioz.moo.api.utils.EventUtil;
 import de.superioz.moo.api.utils.ReflectionUtil;
 import lombok.Getter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 @Getter
 public class EventEar {
@@ -38,7 +43,27 @@ public class EventEar {
     /**
      * The event priority
      */
-    private EventPriority priority;
+    private EventPriority priority = EventPriority.MEDIUM;
+
+    /**
+     * Calls the method on the declaring instance (bound at creation, so calling it doesn't need reflection)
+     */
+    private Consumer<Object> invoker;
+
+    /**
+     * If the method (or its class) is annotated with {@link RunAsynchronous}
+     */
+    private boolean async;
+
+    /**
+     * The durations of the invocations of this listener
+     */
+    private final LatencyHistogram timings = new LatencyHistogram();
+
+    /**
+     * The amount of invocations which threw an exception
+     */
+    private final LongAdder failures = new LongAdder();
 
     public EventEar(Object declaringInstance, Class<?> eventType, Class<?> eventClass, Method method) {
         this.declaringInstance = declaringInstance;
@@ -53,6 +78,20 @@ public class EventEar {
                 }
             }
         }
+        if(priority == null) priority = EventPriority.MEDIUM;
+
+        this.invoker = EventUtil.createInvoker(declaringInstance, method);
+        this.async = method.getDeclaringClass().isAnnotationPresent(RunAsynchronous.class)
+                || method.isAnnotationPresent(RunAsynchronous.class);
+    }
+
+    /**
+     * Gets the name of this listener (for the statistics)
+     *
+     * @return The name (class#method(event))
+     */
+    public String getName() {
+        return method.getDeclaringClass().getName() + "#" + method.getName() + "(" + eventClass.getSimpleName() + ")";
     }
 
 }
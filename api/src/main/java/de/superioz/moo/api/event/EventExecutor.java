@@ -1,14 +1,24 @@
 package de.superioz.moo.api.event;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import de.superioz.moo.api.utils.EventUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 
+/**
+ * Executes events to the registered listeners<br>
+ * The listeners of every event class are sorted by priority and bound at registration, so executing an event
+ * is one lookup without any lock. Every listener records how long its invocations take ({@link EventEar#getTimings()})
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class EventExecutor implements EventListener {
 
@@ -21,23 +31,36 @@ public final class EventExecutor implements EventListener {
         return instance;
     }
 
+    /**
+     * The default amount of threads for {@link de.superioz.moo.api.common.RunAsynchronous} listeners
+     */
+    public static final int DEFAULT_ASYNC_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
     /**
      * The executor service to run something async
      */
-    private static final ExecutorService EXECUTOR_SERVICE = Executors.newSingleThreadExecutor();
+    private volatile ExecutorService executorService = createExecutorService(DEFAULT_ASYNC_THREADS);
 
     /**
-     * Map of listeners
+     * Map of listeners (in the order of registration)
      */
-    private ConcurrentMap<Class<?>, Map<Class<?>, List<EventEar>>> classListenerMap = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Class<?>, List<EventEar>>> classListenerMap = new LinkedHashMap<>();
+
+    /**
+     * The listeners of every event class (sorted by priority). Rebuilt on every (un)registration
+     */
+    private volatile Map<Class<?>, EventEar[]> handlers = Collections.emptyMap();
 
     /**
      * Executes given events
      *
      * @param event The events
      */
-    public synchronized <E extends Event> boolean execute(E event) {
-        EventUtil.execute(event, EXECUTOR_SERVICE, getHandler(event));
+    public <E extends Event> boolean execute(E event) {
+        EventEar[] ears = handlers.get(event.getClass());
+        if(ears != null) {
+            EventUtil.execute(event, executorService, ears);
+        }
         return !(event instanceof Cancellable) || !((Cancellable) event).isCancelled();
     }
 
@@ -48,28 +71,57 @@ public final class EventExecutor implements EventListener {
      * @return The list of listener
      */
     public List<EventEar> getHandler(Event event) {
-        List<EventEar> listeners = new ArrayList<>();
+        EventEar[] ears = handlers.get(event.getClass());
+        return ears == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(ears));
+    }
 
+    /**
+     * Gets every registered listener (e.g. to read their timings)
+     *
+     * @return The list of listener
+     */
+    public synchronized List<EventEar> getListeners() {
+        List<EventEar> listeners = new ArrayList<>();
         for(Map<Class<?>, List<EventEar>> m : classListenerMap.values()) {
-            if(m.containsKey(event.getClass())) {
-                listeners.addAll(m.get(event.getClass()));
-            }
+            m.values().forEach(listeners::addAll);
         }
         return listeners;
     }
 
+    /**
+     * Sets the amount of threads running the {@link de.superioz.moo.api.common.RunAsynchronous} listeners
+     *
+     * @param threads The amount of threads
+     */
+    public void setAsyncThreads(int threads) {
+        setExecutorService(createExecutorService(threads));
+    }
+
+    /**
+     * Sets the executor service running the {@link de.superioz.moo.api.common.RunAsynchronous} listeners
+     * (the old one is shut down after its tasks)
+     *
+     * @param executorService The executor service
+     */
+    public synchronized void setExecutorService(ExecutorService executorService) {
+        ExecutorService old = this.executorService;
+        this.executorService = executorService;
+        old.shutdown();
+    }
+
     /**
      * Registers an event listener with adding all to-listen events and the associated listener object
      *
      * @param eventListeners The eventListener classes
      * @return The result
      */
-    public int register(EventListener... eventListeners) {
+    public synchronized int register(EventListener... eventListeners) {
         int result = 0;
         for(EventListener listener : eventListeners) {
             classListenerMap.put(listener.getClass(), EventUtil.fetchHandler(listener, Event.class, EventHandler.class));
             if(classListenerMap.containsKey(listener.getClass())) result++;
         }
+        rebuildHandlers();
         return result;
     }
 
@@ -79,9 +131,9 @@ public final class EventExecutor implements EventListener {
      * @param eventListener The event listener
      * @return The result
      */
-    public boolean unregister(EventListener eventListener) {
+    public synchronized boolean unregister(EventListener eventListener) {
         Class<?> c = eventListener.getClass();
-        classListenerMap.remove(c);
+        if(classListenerMap.remove(c) != null) rebuildHandlers();
 
         return classListenerMap.containsKey(c);
     }
@@ -89,8 +141,37 @@ public final class EventExecutor implements EventListener {
     /**
      * Clears all maps
      */
-    public void unregisterAll() {
+    public synchronized void unregisterAll() {
         classListenerMap.clear();
+        rebuildHandlers();
+    }
+
+    /**
+     * Builds the listeners of every event class from the registered listeners
+     */
+    private void rebuildHandlers() {
+        Map<Class<?>, List<EventEar>> lists = new HashMap<>();
+        for(Map<Class<?>, List<EventEar>> m : classListenerMap.values()) {
+            m.forEach((eventClass, ears) -> lists.computeIfAbsent(eventClass, c -> new ArrayList<>()).addAll(ears));
+        }
+
+        Map<Class<?>, EventEar[]> handlers = new HashMap<>();
+        lists.forEach((eventClass, ears) -> handlers.put(eventClass, EventUtil.sortByPriority(ears).toArray(new EventEar[ears.size()])));
+        this.handlers = handlers;
+    }
+
+    /**
+     * Creates the executor service for async listeners
+     *
+     * @param threads The amount of threads
+     * @return The executor service
+     */
+    private static ExecutorService createExecutorService(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("event-async-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
 }
@@ -0,0 +1,128 @@
+package de.superioz.moo.api.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations (in nanoseconds)<br>
+ * The values are counted in buckets of powers of two (bucket i = [2^i, 2^(i+1)) ns), so recording is a few atomic
+ * additions and percentiles are accurate up to a factor of two, which is enough to see where time goes.
+ */
+public class LatencyHistogram {
+
+    /**
+     * The amount of buckets (one for every bit of a long)
+     */
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records given duration
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if(nanos < 0) nanos = 0;
+
+        buckets.incrementAndGet(BUCKETS - 1 - Long.numberOfLeadingZeros(nanos | 1));
+        count.increment();
+        sum.add(nanos);
+
+        long current;
+        while(nanos > (current = max.get())) {
+            if(max.compareAndSet(current, nanos)) break;
+        }
+    }
+
+    /**
+     * Gets the amount of recorded durations
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of all recorded durations
+     *
+     * @return The sum in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the longest recorded duration
+     *
+     * @return The maximum in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average duration
+     *
+     * @return The mean in nanoseconds (0 if nothing was recorded)
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * Gets the duration which given part of the recorded durations doesn't exceed (the upper bound of its bucket)
+     *
+     * @param percentile The percentile (e.g. 0.99)
+     * @return The duration in nanoseconds (0 if nothing was recorded)
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if(total == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= rank && counts[i] != 0) {
+                return Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Resets every value of this histogram
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fµs, p50=%.1fµs, p99=%.1fµs, max=%.1fµs", getCount(),
+                getMean() / 1000D, toMicros(getPercentile(0.5)), toMicros(getPercentile(0.99)), toMicros(getMax()));
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+}
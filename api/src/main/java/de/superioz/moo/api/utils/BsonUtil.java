@@ -0,0 +1,412 @@
+package de.superioz.moo.api.utils;
+
+import com.google.common.primitives.Primitives;
+import de.superioz.moo.api.util.SimpleSerializable;
+import de.superioz.moo.api.util.Validation;
+import org.bson.*;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+/**
+ * Converts json trees and objects into bson documents and vice versa without writing or parsing json text<br>
+ * Values mongodb only knows in extended json are represented as the same objects the {@link org.bson.json.JsonWriter}
+ * creates (e.g. {@code {"$date":..}}), except binary uuids: they're strings in json and binaries in bson
+ * (see {@link #replaceUniqueIds(BsonDocument)})
+ */
+public final class BsonUtil {
+
+    /**
+     * The keys of the extended json objects which represent a single bson value
+     */
+    private static final Set<String> EXTENDED_JSON_KEYS = new HashSet<>(Arrays.asList(
+            "$binary", "$date", "$numberLong", "$oid", "$timestamp", "$undefined",
+            "$minKey", "$maxKey", "$symbol", "$code", "$numberDecimal", "$dbPointer"));
+
+    /**
+     * The codec for converting bson documents into documents
+     */
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+    private BsonUtil() {
+    }
+
+    /**
+     * Converts given json object into a bson document
+     *
+     * @param object The json object
+     * @return The document
+     */
+    public static BsonDocument toBson(JSONObject object) {
+        BsonDocument document = new BsonDocument();
+
+        for(String key : object.keySet()) {
+            document.put(key, toBsonValue(object.get(key)));
+        }
+        return document;
+    }
+
+    /**
+     * Converts given json value (as org.json returns it) into a bson value
+     *
+     * @param value The value
+     * @return The bson value
+     */
+    public static BsonValue toBsonValue(Object value) {
+        if(value == null || value == JSONObject.NULL) return BsonNull.VALUE;
+        if(value instanceof String) return new BsonString((String) value);
+        if(value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return new BsonInt32(((Number) value).intValue());
+        }
+        if(value instanceof Long) return new BsonInt64((Long) value);
+        if(value instanceof Number) return new BsonDouble(((Number) value).doubleValue());
+        if(value instanceof Boolean) return BsonBoolean.valueOf((Boolean) value);
+        if(value instanceof JSONArray) {
+            BsonArray array = new BsonArray();
+            for(Object o : (JSONArray) value) {
+                array.add(toBsonValue(o));
+            }
+            return array;
+        }
+        if(value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            return isExtendedJson(object) ? fromExtendedJson(object) : toBson(object);
+        }
+        return new BsonString(value.toString());
+    }
+
+    /**
+     * Converts given bson document into a json object
+     *
+     * @param document The document
+     * @return The json object
+     */
+    public static JSONObject toJson(BsonDocument document) {
+        JSONObject object = new JSONObject();
+
+        for(String key : document.keySet()) {
+            object.put(key, toJsonValue(document.get(key)));
+        }
+        return object;
+    }
+
+    /**
+     * Converts given bson value into a json value (as org.json would have parsed it)
+     *
+     * @param value The bson value
+     * @return The json value
+     */
+    public static Object toJsonValue(BsonValue value) {
+        switch(value.getBsonType()) {
+            case NULL:
+                return JSONObject.NULL;
+            case STRING:
+                return value.asString().getValue();
+            case INT32:
+                return value.asInt32().getValue();
+            case INT64:
+                return value.asInt64().getValue();
+            case DOUBLE:
+                return value.asDouble().getValue();
+            case BOOLEAN:
+                return value.asBoolean().getValue();
+            case DOCUMENT:
+                return toJson(value.asDocument());
+            case ARRAY:
+                JSONArray array = new JSONArray();
+                for(BsonValue v : value.asArray()) {
+                    array.put(toJsonValue(v));
+                }
+                return array;
+            case BINARY:
+                BsonBinary binary = value.asBinary();
+                UUID uuid = toUniqueId(binary);
+                if(uuid != null) return uuid.toString();
+                return new JSONObject()
+                        .put("$binary", Base64.getEncoder().encodeToString(binary.getData()))
+                        .put("$type", Integer.toHexString(binary.getType() & 0xFF));
+            case DATE_TIME:
+                return new JSONObject().put("$date", value.asDateTime().getValue());
+            case OBJECT_ID:
+                return new JSONObject().put("$oid", value.asObjectId().getValue().toHexString());
+            case REGULAR_EXPRESSION:
+                BsonRegularExpression regex = value.asRegularExpression();
+                return new JSONObject().put("$regex", regex.getPattern()).put("$options", regex.getOptions());
+            default:
+                // rare types are left to the driver
+                return new JSONObject(new BsonDocument("v", value).toJson()).get("v");
+        }
+    }
+
+    /**
+     * Serializes given object into a typed bson value<br>
+     * Similar to {@link ReflectionUtil#serialize(String, Object)} a {@link SimpleSerializable} becomes a document
+     * of its fields (field name = key), everything else which has no bson type is written as string
+     *
+     * @param object The object
+     * @return The bson value
+     * @see #deserialize(BsonValue, Class)
+     */
+    public static BsonValue serialize(Object object) {
+        if(object == null) return BsonNull.VALUE;
+        if(object instanceof BsonValue) return (BsonValue) object;
+        if(object instanceof String) return new BsonString((String) object);
+        if(object instanceof Integer || object instanceof Short || object instanceof Byte) {
+            return new BsonInt32(((Number) object).intValue());
+        }
+        if(object instanceof Long) return new BsonInt64((Long) object);
+        if(object instanceof Double || object instanceof Float) return new BsonDouble(((Number) object).doubleValue());
+        if(object instanceof Boolean) return BsonBoolean.valueOf((Boolean) object);
+        if(object instanceof UUID) {
+            UUID uuid = (UUID) object;
+            byte[] bytes = ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+            return new BsonBinary(BsonBinarySubType.UUID_STANDARD, bytes);
+        }
+        if(object instanceof Collection) {
+            BsonArray array = new BsonArray();
+            for(Object o : (Collection) object) {
+                array.add(serialize(o));
+            }
+            return array;
+        }
+        if(object instanceof SimpleSerializable) {
+            BsonDocument document = new BsonDocument();
+            for(Field field : ReflectionUtil.getFieldsNonStatic(object.getClass())) {
+                document.put(field.getName(), serialize(ReflectionUtil.getFieldObject(field, object)));
+            }
+            return document;
+        }
+        return new BsonString(object.toString());
+    }
+
+    /**
+     * Deserializes given bson value into an object of given class
+     *
+     * @param value  The bson value
+     * @param tClass The class
+     * @param <T>    The type
+     * @return The object or null (if the value doesn't fit to the class, e.g. the fields of the document are different)
+     * @see #serialize(Object)
+     */
+    public static <T> T deserialize(BsonValue value, Class<T> tClass) {
+        Object object = convert(value, tClass);
+        return tClass.isInstance(object) ? (T) object : null;
+    }
+
+    /**
+     * Replaces the uuids of given document (and its subdocuments and arrays) with binaries like the mongo driver
+     * stores {@link UUID}s (subtype 3, java legacy byte order): uuid strings and uuids of the standard subtype
+     *
+     * @param document The document (which is changed)
+     * @return The document
+     */
+    public static BsonDocument replaceUniqueIds(BsonDocument document) {
+        for(Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            BsonValue value = entry.getValue();
+            BsonValue replaced = replaceUniqueId(value);
+            if(replaced != value) entry.setValue(replaced);
+        }
+        return document;
+    }
+
+    private static BsonValue replaceUniqueId(BsonValue value) {
+        switch(value.getBsonType()) {
+            case STRING:
+                String s = value.asString().getValue();
+                return isUniqueId(s) ? toBinary(UUID.fromString(s)) : value;
+            case BINARY:
+                BsonBinary binary = value.asBinary();
+                if(binary.getType() != BsonBinarySubType.UUID_STANDARD.getValue()) return value;
+                UUID uuid = toUniqueId(binary);
+                return uuid == null ? value : toBinary(uuid);
+            case DOCUMENT:
+                return replaceUniqueIds(value.asDocument());
+            case ARRAY:
+                BsonArray array = value.asArray();
+                for(int i = 0; i < array.size(); i++) {
+                    BsonValue v = array.get(i);
+                    BsonValue replaced = replaceUniqueId(v);
+                    if(replaced != v) array.set(i, replaced);
+                }
+                return array;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Checks if given string is a uuid in the form of {@link UUID#toString()} (like {@link Validation#UNIQUEID}, but
+     * without a regex because every string of a filter is checked)
+     *
+     * @param s The string
+     * @return The result
+     */
+    public static boolean isUniqueId(String s) {
+        if(s.length() != 36) return false;
+
+        for(int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if(i == 8 || i == 13 || i == 18 || i == 23) {
+                if(c != '-') return false;
+            }
+            else if(!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts given uuid into a binary like the mongo driver stores it (subtype 3, java legacy byte order)
+     *
+     * @param uuid The uuid
+     * @return The binary
+     */
+    public static BsonBinary toBinary(UUID uuid) {
+        byte[] bytes = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+        return new BsonBinary(BsonBinarySubType.UUID_LEGACY, bytes);
+    }
+
+    /**
+     * Converts given binary into a uuid (subtype 3 in java legacy byte order or subtype 4)
+     *
+     * @param binary The binary
+     * @return The uuid or null if the binary is no uuid
+     */
+    public static UUID toUniqueId(BsonBinary binary) {
+        if(binary.getData().length != 16) return null;
+        ByteBuffer bytes = ByteBuffer.wrap(binary.getData());
+
+        if(binary.getType() == BsonBinarySubType.UUID_LEGACY.getValue()) {
+            bytes.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        else if(binary.getType() != BsonBinarySubType.UUID_STANDARD.getValue()) {
+            return null;
+        }
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    /**
+     * Converts given bson document into a document of the mongo driver (without json text)
+     *
+     * @param document The bson document
+     * @return The document
+     */
+    public static Document toDocument(BsonDocument document) {
+        return DOCUMENT_CODEC.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    /**
+     * Converts the bson value into an object of given type
+     *
+     * @param value The value
+     * @param type  The type (Object.class for the natural type of the value)
+     * @return The object
+     */
+    private static Object convert(BsonValue value, Class<?> type) {
+        type = Primitives.wrap(type);
+
+        switch(value.getBsonType()) {
+            case STRING:
+                String s = value.asString().getValue();
+                return type == String.class || type == Object.class ? s : ReflectionUtil.safeCast(s, type);
+            case INT32:
+            case INT64:
+            case DOUBLE:
+                Number number = (Number) toJsonValue(value);
+                if(type == Integer.class) return number.intValue();
+                if(type == Long.class) return number.longValue();
+                if(type == Double.class) return number.doubleValue();
+                if(type == Short.class) return number.shortValue();
+                if(type == Float.class) return number.floatValue();
+                if(type == String.class) return number.toString();
+                return number;
+            case BOOLEAN:
+                return value.asBoolean().getValue();
+            case BINARY:
+                return toUniqueId(value.asBinary());
+            case ARRAY:
+                List<Object> l = new ArrayList<>();
+                for(BsonValue v : value.asArray()) {
+                    l.add(convert(v, Object.class));
+                }
+                return l;
+            case DOCUMENT:
+                return SimpleSerializable.class.isAssignableFrom(type) ? toObject(value.asDocument(), type) : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Converts a document of fields back into an object (like {@link ReflectionUtil#getObjectFromContent(List, Class)})
+     *
+     * @param document The document
+     * @param type     The class of the object
+     * @return The object or null if the fields doesn't match
+     */
+    private static Object toObject(BsonDocument document, Class<?> type) {
+        List<Field> fields = ReflectionUtil.getFieldsNonStatic(type);
+        if(fields.size() != document.size() || !ReflectionUtil.hasParameterlessConstructor(type)) return null;
+
+        Object instance = ReflectionUtil.getInstance(type);
+        for(Field field : fields) {
+            BsonValue value = document.get(field.getName());
+            if(value == null) return null;
+
+            Object object = convert(value, field.getType());
+            if(object != null && !Primitives.wrap(field.getType()).isInstance(object)) object = null;
+            ReflectionUtil.setFieldObject(field, instance, object);
+        }
+        return instance;
+    }
+
+    /**
+     * Checks if given object is an extended json representation of one bson value
+     *
+     * @param object The json object
+     * @return The result
+     */
+    private static boolean isExtendedJson(JSONObject object) {
+        boolean extended = false;
+
+        for(String key : object.keySet()) {
+            if(!key.startsWith("$")) return false;
+            if(EXTENDED_JSON_KEYS.contains(key)) extended = true;
+        }
+        return extended;
+    }
+
+    /**
+     * Converts an extended json object into its bson value
+     *
+     * @param object The json object
+     * @return The bson value
+     */
+    private static BsonValue fromExtendedJson(JSONObject object) {
+        if(object.has("$binary") && object.has("$type")) {
+            return new BsonBinary((byte) Integer.parseInt(object.get("$type") + "", 16),
+                    Base64.getDecoder().decode(object.getString("$binary")));
+        }
+        if(object.has("$numberLong")) {
+            return new BsonInt64(Long.parseLong(object.get("$numberLong") + ""));
+        }
+        if(object.has("$oid")) {
+            return new BsonObjectId(new ObjectId(object.getString("$oid")));
+        }
+        if(object.has("$date") && object.get("$date") instanceof Number) {
+            return new BsonDateTime(((Number) object.get("$date")).longValue());
+        }
+        return BsonDocument.parse("{\"v\":" + object.toString() + "}").get("v");
+    }
+
+}
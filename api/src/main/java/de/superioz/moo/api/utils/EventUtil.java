@@ -4,12 +4,18 @@ import de.superioz.moo.api.event.EventEar;
 import de.superioz.moo.api.common.RunAsynchronous;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 public final class EventUtil {
 
@@ -25,39 +31,141 @@ public final class EventUtil {
      */
     public static <E> void execute(E parameter, ExecutorService executorService, List<EventEar> ears) {
         // sorting
-        ears.sort((o1, o2) -> ((Integer) o2.getPriority().getValue()).compareTo(o1.getPriority().getValue()));
+        sortByPriority(ears);
 
         // loop through every event listener (ear)
         for(EventEar eventEar : ears) {
-            if(eventEar.getMethod().getDeclaringClass().isAnnotationPresent(RunAsynchronous.class)
-                    || eventEar.getMethod().isAnnotationPresent(RunAsynchronous.class)) {
+            execute(parameter, executorService, eventEar);
+        }
+    }
 
-                executorService.execute(() -> simpleExecute(parameter, eventEar));
-            }
-            else {
-                simpleExecute(parameter, eventEar);
-            }
-            /*if(f) count++;*/
+    /**
+     * Similar to {@link #execute(Object, ExecutorService, List)} but the ears are already sorted by priority
+     *
+     * @param parameter       The event parameter
+     * @param executorService The executor service
+     * @param ears            The ears (sorted)
+     * @see #sortByPriority(List)
+     */
+    public static <E> void execute(E parameter, ExecutorService executorService, EventEar[] ears) {
+        for(EventEar eventEar : ears) {
+            execute(parameter, executorService, eventEar);
         }
     }
 
     /**
-     * Simply executes given ear with parameter
+     * Executes one ear (in the executor service if {@link RunAsynchronous} is found)
+     *
+     * @param parameter       The event parameter
+     * @param executorService The executor service
+     * @param eventEar        The ear
+     */
+    private static <E> void execute(E parameter, ExecutorService executorService, EventEar eventEar) {
+        if(eventEar.isAsync()) {
+            executorService.execute(() -> simpleExecute(parameter, eventEar));
+        }
+        else {
+            simpleExecute(parameter, eventEar);
+        }
+    }
+
+    /**
+     * Sorts the ears by their priority (highest first, the order of ears with the same priority stays the same)
+     *
+     * @param ears The ears
+     * @return The ears
+     */
+    public static List<EventEar> sortByPriority(List<EventEar> ears) {
+        ears.sort((o1, o2) -> ((Integer) o2.getPriority().getValue()).compareTo(o1.getPriority().getValue()));
+        return ears;
+    }
+
+    /**
+     * Simply executes given ear with parameter (and records the duration of the invocation)
      *
      * @param parameter The parameter
      * @param eventEar  The ear
      * @return The result
      */
     private static boolean simpleExecute(Object parameter, EventEar eventEar) {
+        long start = System.nanoTime();
         try {
-            eventEar.getMethod().invoke(eventEar.getDeclaringInstance(), parameter);
+            eventEar.getInvoker().accept(parameter);
             return true;
         }
         catch(Exception e) {
+            eventEar.getFailures().increment();
             System.err.println("Could not invoke listener method! Thread: ");
             e.printStackTrace();
             return false;
         }
+        finally {
+            eventEar.getTimings().record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Creates a consumer which calls given method of the instance directly. The consumer is generated with the
+     * {@link LambdaMetafactory} (like a method reference), if that's not possible (e.g. the class isn't public or
+     * is loaded by another class loader, like the classes of a plugin) a {@link MethodHandle} is used
+     *
+     * @param instance The instance
+     * @param method   The method (with one parameter)
+     * @return The consumer
+     */
+    public static Consumer<Object> createInvoker(Object instance, Method method) {
+        try {
+            // the generated class resolves the classes with the class loader of this class
+            if(!isVisible(method.getDeclaringClass()) || !isVisible(method.getParameterTypes()[0])) {
+                throw new ClassNotFoundException();
+            }
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(Consumer.class, method.getDeclaringClass()),
+                    MethodType.methodType(void.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, method.getParameterTypes()[0]));
+            return (Consumer<Object>) site.getTarget().invoke(instance);
+        }
+        catch(Throwable t) {
+            // not accessible for a generated class
+        }
+
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).bindTo(instance)
+                    .asType(MethodType.methodType(void.class, Object.class));
+            return parameter -> {
+                try {
+                    handle.invokeExact(parameter);
+                }
+                catch(RuntimeException | Error e) {
+                    throw e;
+                }
+                catch(Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            };
+        }
+        catch(IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access method " + method, e);
+        }
+    }
+
+    /**
+     * Checks if the class can be loaded by the class loader of this class
+     *
+     * @param c The class
+     * @return The result
+     */
+    private static boolean isVisible(Class<?> c) {
+        try {
+            return Class.forName(c.getName(), false, EventUtil.class.getClassLoader()) == c;
+        }
+        catch(ClassNotFoundException e) {
+            return false;
+        }
     }
 
     /**
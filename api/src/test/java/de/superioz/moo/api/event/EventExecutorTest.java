@@ -0,0 +1,98 @@
+package de.superioz.moo.api.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventExecutorTest {
+
+    private static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    private final EventExecutor executor = EventExecutor.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        executor.unregisterAll();
+        CALLS.clear();
+    }
+
+    @Test
+    void listenersShouldBeCalledByPriority() {
+        executor.register(new OrderListener());
+        executor.execute(new TestEvent());
+
+        Assertions.assertEquals("highest", CALLS.get(0));
+        Assertions.assertEquals("lowest", CALLS.get(1));
+    }
+
+    @Test
+    void invocationsShouldBeTimed() {
+        executor.register(new OrderListener());
+        for(int i = 0; i < 10; i++) {
+            executor.execute(new TestEvent());
+        }
+
+        for(EventEar ear : executor.getListeners()) {
+            Assertions.assertEquals(10, ear.getTimings().getCount());
+            Assertions.assertEquals(0, ear.getFailures().sum());
+        }
+    }
+
+    @Test
+    void eventsShouldNotWaitForEachOther() throws InterruptedException {
+        BlockingListener listener = new BlockingListener();
+        executor.register(listener);
+
+        // one thread is stuck inside a listener
+        Thread thread = new Thread(() -> executor.execute(new BlockingEvent()));
+        thread.start();
+        Assertions.assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+
+        // another event is still executed
+        executor.register(new OrderListener());
+        executor.execute(new TestEvent());
+        Assertions.assertEquals(2, CALLS.size());
+
+        listener.release.countDown();
+        thread.join(5000);
+    }
+
+    public static class TestEvent implements Event {
+    }
+
+    public static class BlockingEvent implements Event {
+    }
+
+    public static class OrderListener implements EventListener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onLowest(TestEvent event) {
+            CALLS.add("lowest");
+        }
+
+        @EventHandler(priority = EventPriority.HIGHEST)
+        public void onHighest(TestEvent event) {
+            CALLS.add("highest");
+        }
+
+    }
+
+    public static class BlockingListener implements EventListener {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @EventHandler
+        public void onBlock(BlockingEvent event) throws InterruptedException {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+
+    }
+
+}
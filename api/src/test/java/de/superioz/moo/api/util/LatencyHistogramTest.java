@@ -0,0 +1,36 @@
+package de.superioz.moo.api.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void percentilesShouldBeWithinTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(100000, histogram.getMax());
+        Assertions.assertEquals(50500, histogram.getMean(), 0.001);
+
+        // p50 = 50µs, the bucket goes up to 2^16 - 1 ns
+        long p50 = histogram.getPercentile(0.5);
+        Assertions.assertTrue(p50 >= 50000 && p50 < 2 * 50000, "p50 was " + p50);
+        Assertions.assertEquals(100000, histogram.getPercentile(1));
+    }
+
+    @Test
+    void emptyHistogramShouldReturnZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getPercentile(0.99));
+        Assertions.assertEquals(0, histogram.getMean(), 0.001);
+
+        histogram.record(5);
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+    }
+
+}
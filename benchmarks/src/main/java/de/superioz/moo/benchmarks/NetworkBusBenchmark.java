@@ -0,0 +1,93 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.packet.PacketAdapter;
+import de.superioz.moo.network.packet.PacketAdapting;
+import de.superioz.moo.network.packet.PacketHandler;
+import de.superioz.moo.network.packets.PacketServerHeartBeat;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The way of a received packet through the {@link de.superioz.moo.network.NetworkBus} to its handler:
+ * <ul>
+ * <li>{@link #processIn()}: the processing on the calling thread (events, callbacks, handler dispatch)</li>
+ * <li>{@link #dispatch()}: handing packets of one channel over to the workers and waiting until all are handled</li>
+ * <li>{@link #processOut()}: sending a packet to a channel (without encoding)</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkBusBenchmark {
+
+    /**
+     * The amount of packets per invocation of {@link #dispatch()}
+     */
+    private static final int BATCH = 1000;
+
+    private static volatile CountDownLatch handled;
+    private static Blackhole blackhole;
+
+    private AbstractNetworkInstance instance;
+    private EmbeddedChannel channel;
+    private PacketServerHeartBeat packet;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        NetworkBusBenchmark.blackhole = blackhole;
+        instance = PacketSamples.createInstance();
+        channel = new EmbeddedChannel();
+        packet = new PacketServerHeartBeat(new InetSocketAddress("127.0.0.1", 25566));
+
+        PacketAdapting.getInstance().register(new HeartBeatAdapter());
+    }
+
+    @TearDown
+    public void tearDown() {
+        PacketAdapting.getInstance().unregisterAll();
+        channel.finishAndReleaseAll();
+        instance.getNetworkBus().shutdown();
+    }
+
+    @Benchmark
+    public void processIn() {
+        instance.getNetworkBus().processIn(channel, packet);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void dispatch() throws InterruptedException {
+        handled = new CountDownLatch(BATCH);
+        for(int i = 0; i < BATCH; i++) {
+            instance.getNetworkBus().dispatch(channel, packet);
+        }
+        handled.await();
+    }
+
+    @Benchmark
+    public Object processOut() {
+        instance.getNetworkBus().processOut(channel, packet);
+        return channel.readOutbound();
+    }
+
+    public static class HeartBeatAdapter implements PacketAdapter {
+
+        @PacketHandler
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+            CountDownLatch latch = handled;
+            if(latch != null) latch.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.network.packet.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The primitives of the {@link PacketBuffer} every packet is written with (var ints, strings, uuids, ..).<br>
+ * Every benchmark writes into and reads from the same buffer, so that only the primitive is measured
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBufferBenchmark {
+
+    private static final String ASCII = "lobby-1.network.local";
+    private static final String UNICODE = "Grüße an alle Spieler ✓";
+    private static final UUID UUID_VALUE = UUID.randomUUID();
+    private static final List<String> LIST = Arrays.asList("moo.command.kick", "moo.command.ban", "moo.chat.color");
+
+    private ByteBuf buf;
+    private PacketBuffer buffer;
+
+    @Setup
+    public void setup() {
+        buf = PooledByteBufAllocator.DEFAULT.directBuffer(256);
+        buffer = new PacketBuffer(buf);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buf.release();
+    }
+
+    @Benchmark
+    public int varIntSmall() {
+        buf.clear();
+        buffer.writeVarInt(42);
+        return buffer.readVarInt();
+    }
+
+    @Benchmark
+    public int varIntLarge() {
+        buf.clear();
+        buffer.writeVarInt(Integer.MAX_VALUE);
+        return buffer.readVarInt();
+    }
+
+    @Benchmark
+    public long varLong() {
+        buf.clear();
+        buffer.writeVarLong(System.currentTimeMillis() << 1);
+        return buffer.readVarLong();
+    }
+
+    @Benchmark
+    public String stringAscii() {
+        buf.clear();
+        buffer.writeString(ASCII);
+        return buffer.readString();
+    }
+
+    @Benchmark
+    public String stringUnicode() {
+        buf.clear();
+        buffer.writeString(UNICODE);
+        return buffer.readString();
+    }
+
+    @Benchmark
+    public UUID uuid() {
+        buf.clear();
+        buffer.writeUuid(UUID_VALUE);
+        return buffer.readUuid();
+    }
+
+    @Benchmark
+    public List<String> stringList() {
+        buf.clear();
+        buffer.writeStringList(LIST);
+        return buffer.readStringList();
+    }
+
+}
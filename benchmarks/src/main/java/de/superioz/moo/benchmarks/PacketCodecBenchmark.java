@@ -0,0 +1,84 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketDecoder;
+import de.superioz.moo.network.packet.PacketEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of every packet of the {@link Protocol} (without the framing)<br>
+ * The decoder runs inside an {@link EmbeddedChannel}, because it is a channel handler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    /**
+     * The packet (every packet of the protocol if not given)
+     */
+    @Param
+    public Protocol protocol;
+
+    private AbstractNetworkInstance instance;
+    private AbstractPacket packet;
+    private ByteBuf buf;
+    private ByteBuf encoded;
+    private EmbeddedChannel decoder;
+
+    @Setup
+    public void setup() throws Exception {
+        instance = PacketSamples.createInstance();
+        packet = PacketSamples.create(protocol);
+        packet.setQueryId(1);
+        packet.setStamp(System.currentTimeMillis());
+
+        buf = PooledByteBufAllocator.DEFAULT.directBuffer(1024);
+        encoded = PooledByteBufAllocator.DEFAULT.directBuffer(1024);
+        PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, packet, encoded);
+
+        PacketDecoder packetDecoder = new PacketDecoder(instance);
+        packetDecoder.setProtocolVersion(Protocol.PROTOCOL_VERSION);
+        decoder = new EmbeddedChannel(packetDecoder);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buf.release();
+        encoded.release();
+        decoder.finishAndReleaseAll();
+        instance.getNetworkBus().shutdown();
+    }
+
+    @Benchmark
+    public ByteBuf encode() throws Exception {
+        buf.clear();
+        PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, packet, buf);
+        return buf;
+    }
+
+    @Benchmark
+    public Object decode() {
+        decoder.writeInbound(encoded.retainedDuplicate());
+        return decoder.readInbound();
+    }
+
+    @Benchmark
+    public Object roundTrip() throws Exception {
+        ByteBuf frame = PooledByteBufAllocator.DEFAULT.directBuffer(256);
+        PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, packet, frame);
+        decoder.writeInbound(frame);
+        return decoder.readInbound();
+    }
+
+}
@@ -0,0 +1,131 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.lib.PacketCompressor;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketEncoder;
+import de.superioz.moo.network.packets.MultiPacket;
+import de.superioz.moo.network.packets.PacketServerRegister;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The trade-off of the {@link PacketCompressor} between cpu time and bytes on the wire for a typical mix of frames:
+ * many small packets (player states, server infos, console lines, ..) and every 50th frame a snapshot of 100
+ * registered servers. The time is per frame, the bytes before and after the compression are reported as counters
+ * ({@code raw} and {@code wire})
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCompressionBenchmark {
+
+    /**
+     * The amount of frames of the mix
+     */
+    private static final int MIX_SIZE = 2000;
+
+    /**
+     * The packets which are sent most often
+     */
+    private static final List<Protocol> SMALL_PACKETS = Arrays.asList(
+            Protocol.PLAYER_STATE, Protocol.SERVER_INFO_UPDATE, Protocol.SERVER_HEARTBEAT, Protocol.CONSOLE_OUTPUT,
+            Protocol.RESPOND, Protocol.DATABASE_MODIFY, Protocol.PLAYER_MESSAGE, Protocol.UPDATE_PERMISSION);
+
+    /**
+     * The minimum size of a frame to be compressed ({@link Integer#MAX_VALUE} = no compression)
+     */
+    @Param({"2147483647", "1024", "256", "64"})
+    public int threshold;
+
+    /**
+     * The level of the compression
+     */
+    @Param({"1", "6"})
+    public int level;
+
+    private List<byte[]> mix;
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void setup() throws Exception {
+        AbstractNetworkInstance instance = PacketSamples.createInstance();
+        List<PacketServerRegister> servers = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            servers.add(new PacketServerRegister("lobby", "127.0.0.1", i, 25566 + i));
+        }
+        AbstractPacket snapshot = new MultiPacket<>(servers);
+
+        mix = new ArrayList<>(MIX_SIZE);
+        for(int i = 0; i < MIX_SIZE; i++) {
+            AbstractPacket packet = i % 50 == 0 ? snapshot : PacketSamples.create(SMALL_PACKETS.get(i % SMALL_PACKETS.size()));
+            packet.setQueryId(i + 1);
+            packet.setStamp(System.currentTimeMillis());
+            mix.add(encode(instance, packet));
+        }
+        instance.getNetworkBus().shutdown();
+
+        channel = new EmbeddedChannel(new PacketCompressor(threshold, level));
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public void compress(Bytes bytes) {
+        for(byte[] frame : mix) {
+            channel.writeOutbound(Unpooled.wrappedBuffer(frame));
+            ByteBuf out = channel.readOutbound();
+
+            bytes.raw += frame.length;
+            bytes.wire += out.readableBytes();
+            out.release();
+        }
+    }
+
+    private static byte[] encode(AbstractNetworkInstance instance, AbstractPacket packet) throws Exception {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, packet, buf);
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        }
+        finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * The bytes of the frames before ({@link #raw}) and after ({@link #wire}) the compression (per iteration)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+
+        public long raw;
+        public long wire;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            raw = 0;
+            wire = 0;
+        }
+
+    }
+
+}
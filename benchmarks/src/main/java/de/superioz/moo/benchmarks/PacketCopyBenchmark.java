@@ -0,0 +1,39 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.packet.AbstractPacket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reflective copy of every packet of the {@link Protocol} (see {@link AbstractPacket#deepCopy()}), which the cloud
+ * does for every packet it forwards
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCopyBenchmark {
+
+    /**
+     * The packet (every packet of the protocol if not given)
+     */
+    @Param
+    public Protocol protocol;
+
+    private AbstractPacket packet;
+
+    @Setup
+    public void setup() {
+        packet = PacketSamples.create(protocol);
+    }
+
+    @Benchmark
+    public AbstractPacket deepCopy() {
+        return packet.deepCopy();
+    }
+
+}
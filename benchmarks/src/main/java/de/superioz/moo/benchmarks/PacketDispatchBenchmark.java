@@ -0,0 +1,198 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.api.event.EventEar;
+import de.superioz.moo.api.event.EventPriority;
+import de.superioz.moo.api.utils.EventUtil;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketAdapter;
+import de.superioz.moo.network.packet.PacketAdapting;
+import de.superioz.moo.network.packet.PacketHandler;
+import de.superioz.moo.network.packets.PacketKeepalive;
+import de.superioz.moo.network.packets.PacketServerHeartBeat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dispatch of a packet to the handlers of the registered adapters (every adapter handles the packet with another
+ * priority and has a handler for another packet):
+ * <ul>
+ * <li>{@link #reflective()}: the old dispatch, which scans every adapter, sorts the handlers by priority and invokes
+ * the methods with reflection</li>
+ * <li>{@link #compiled()}: {@link PacketAdapting#execute(AbstractPacket)} with its sorted dispatch table</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDispatchBenchmark {
+
+    private static Blackhole blackhole;
+
+    /**
+     * The amount of registered adapters
+     */
+    @Param({"1", "4", "8"})
+    public int adapters;
+
+    private List<Map<Class<?>, List<EventEar>>> handlers;
+    private PacketServerHeartBeat packet;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        PacketDispatchBenchmark.blackhole = blackhole;
+        packet = new PacketServerHeartBeat(new InetSocketAddress("127.0.0.1", 25566));
+
+        List<PacketAdapter> all = Arrays.asList(new Adapter0(), new Adapter1(), new Adapter2(), new Adapter3(),
+                new Adapter4(), new Adapter5(), new Adapter6(), new Adapter7());
+        handlers = new ArrayList<>();
+        for(PacketAdapter adapter : all.subList(0, adapters)) {
+            PacketAdapting.getInstance().register(adapter);
+            handlers.add(EventUtil.fetchHandler(adapter, AbstractPacket.class, PacketHandler.class));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        PacketAdapting.getInstance().unregisterAll();
+    }
+
+    @Benchmark
+    public void reflective() throws Exception {
+        List<EventEar> ears = new ArrayList<>();
+        for(Map<Class<?>, List<EventEar>> m : handlers) {
+            if(m.containsKey(packet.getClass())) ears.addAll(m.get(packet.getClass()));
+        }
+        ears.sort((o1, o2) -> ((Integer) o2.getPriority().getValue()).compareTo(o1.getPriority().getValue()));
+        for(EventEar ear : ears) {
+            ear.getMethod().invoke(ear.getDeclaringInstance(), packet);
+        }
+    }
+
+    @Benchmark
+    public void compiled() {
+        PacketAdapting.getInstance().execute(packet);
+    }
+
+    public static class Adapter0 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.LOWEST)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter1 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.HIGHEST)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter2 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.LOW)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter3 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.HIGH)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter4 implements PacketAdapter {
+
+        @PacketHandler
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter5 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.LOWEST)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter6 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.HIGHEST)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+    public static class Adapter7 implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.LOW)
+        public void onHeartBeat(PacketServerHeartBeat packet) {
+            blackhole.consume(packet);
+        }
+
+        @PacketHandler
+        public void onKeepalive(PacketKeepalive packet) {
+            blackhole.consume(packet);
+        }
+
+    }
+
+}
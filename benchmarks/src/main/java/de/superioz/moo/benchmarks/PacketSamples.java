@@ -0,0 +1,154 @@
+package de.superioz.moo.benchmarks;
+
+import com.mongodb.client.model.Filters;
+import de.superioz.moo.api.config.NetworkConfigType;
+import de.superioz.moo.api.database.DatabaseModifyType;
+import de.superioz.moo.api.database.DatabaseType;
+import de.superioz.moo.api.database.filter.DbFilter;
+import de.superioz.moo.api.database.objects.Ban;
+import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.api.database.query.DbQuery;
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.common.Topic;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.*;
+import de.superioz.moo.network.queries.ResponseStatus;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Realistic instances of every packet of the {@link Protocol} (as they are sent by the proxies, servers and the cloud)
+ */
+public final class PacketSamples {
+
+    private static final UUID PLAYER = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final InetSocketAddress SERVER = new InetSocketAddress("127.0.0.1", 25566);
+
+    private PacketSamples() {
+    }
+
+    /**
+     * Creates a network instance which doesn't connect anywhere (for encoding, decoding and dispatching packets)
+     *
+     * @return The instance
+     */
+    public static AbstractNetworkInstance createInstance() {
+        return new AbstractNetworkInstance("localhost", 0, Logger.getLogger("benchmark")) {
+            @Override
+            public <T extends AbstractNetworkInstance> T setup() {
+                return (T) this;
+            }
+        };
+    }
+
+    /**
+     * Creates a player like the proxy sends it on login
+     *
+     * @return The player
+     */
+    public static PlayerData createPlayer() {
+        PlayerData data = new PlayerData();
+        data.setUuid(PLAYER);
+        data.setLastName("Notch");
+        data.setLastIp("127.0.0.1");
+        data.setGroup("default");
+        data.setRank(1);
+        data.setCurrentServer("lobby-1");
+        data.setCurrentProxy(1);
+        data.setLastOnline(1500000000000L);
+        data.setFirstOnline(1400000000000L);
+        return data;
+    }
+
+    /**
+     * Creates a sample of given packet
+     *
+     * @param protocol The packet inside the protocol
+     * @return The packet
+     */
+    public static AbstractPacket create(Protocol protocol) {
+        switch(protocol) {
+            case MULTI:
+                List<PacketServerRegister> servers = new ArrayList<>();
+                for(int i = 0; i < 10; i++) {
+                    servers.add(new PacketServerRegister("lobby", "127.0.0.1", i, 25566 + i));
+                }
+                return new MultiPacket<>(servers);
+            case KEEPALIVE:
+                return new PacketKeepalive();
+            case PING:
+                return new PacketPing(System.nanoTime());
+            case HANDSHAKE:
+                return new PacketHandshake("lobby", ClientType.SERVER, 25566);
+            case RESPOND:
+                return new PacketRespond("playerinfo", Arrays.asList("Notch", "default", "lobby-1"), ResponseStatus.OK);
+            case DATABASE_INFO:
+                return new PacketDatabaseInfo(DatabaseType.PLAYER, PlayerData.class, PLAYER);
+            case DATABASE_INFO_RAW:
+                return new PacketDatabaseInfoNative("players", new DbFilter(Filters.eq("lastName", "Notch")), 1);
+            case DATABASE_MODIFY:
+                return PacketDatabaseModify.onModify(DatabaseType.PLAYER, DbFilter.fromPrimKey(PlayerData.class, PLAYER),
+                        new DbQuery(PlayerData.class).equate("currentServer", "lobby-1").equate("lastOnline", 1500000000000L));
+            case DATABASE_MODIFY_RAW:
+                return new PacketDatabaseModifyNative("players", new DbFilter(Filters.eq("lastName", "Notch")),
+                        DatabaseModifyType.MODIFY, new DbQuery(PlayerData.class).equate("rank", 2), 1);
+            case DATABASE_COUNT:
+                return new PacketDatabaseCount(DatabaseType.PLAYER, PacketDatabaseCount.CountType.NUMBER, 0);
+            case PLAYER_STATE:
+                return new PacketPlayerState(createPlayer(), PacketPlayerState.State.LOGIN_PROXY, "proxy-1");
+            case PLAYER_INFO:
+                return new PacketPlayerProfile(PLAYER.toString());
+            case PLAYER_MESSAGE:
+                return new PacketPlayerMessage(PacketPlayerMessage.Type.PRIVATE, "&7Hello &bthere!", PLAYER.toString(), true, true);
+            case PLAYER_KICK:
+                return new PacketPlayerKick(UUID.randomUUID(), PLAYER, "&cYou have been kicked!");
+            case PLAYER_PUNISH:
+                Ban ban = new Ban(PLAYER, UUID.randomUUID(), 1500000000000L, 3600000L, 1, "Hacking", 10, null);
+                return new PacketPlayerBan(UUID.randomUUID(), "Notch", ban, "&cBanned for {0}", "&cBanned forever");
+            case CONFIG:
+                return new PacketConfig(NetworkConfigType.MOTD, "&aWelcome to the network!");
+            case REQUEST:
+                return new PacketRequest(PacketRequest.Type.PING, "Notch");
+            case UPDATE_PERMISSION:
+                return new PacketUpdatePermission(DatabaseType.GROUP, "default");
+            case SERVER_RAM_USAGE:
+                return new PacketRamUsage(42);
+            case SERVER_REQUEST:
+                return new PacketServerRequest("lobby", false, 2);
+            case SERVER_REQUEST_SHUTDOWN:
+                return new PacketServerRequestShutdown("127.0.0.1", 25566);
+            case SERVER_ATTEMPT:
+                return new PacketServerAttempt(PacketServerAttempt.Type.START, UUID.randomUUID());
+            case SERVER_REGISTER:
+                return new PacketServerRegister("lobby", "127.0.0.1", 1, 25566);
+            case SERVER_UNREGISTER:
+                return new PacketServerUnregister(SERVER);
+            case SERVER_HEARTBEAT:
+                return new PacketServerHeartBeat(SERVER);
+            case CONSOLE_OUTPUT:
+                return new PacketConsoleOutput("[12:00:00 INFO]: Done (1.234s)! For help, type \"help\" or \"?\"");
+            case CONSOLE_INPUT:
+                return new PacketConsoleInput("say hello");
+            case SERVER_INFO_UPDATE:
+                return new PacketServerInfoUpdate(SERVER, "&aA Minecraft Server", 12, 100);
+            case PATTERN_STATE:
+                return new PacketPatternState("lobby", true);
+            case STATE_MARK:
+                return new PacketStateMark(42);
+            case SUBSCRIBE:
+                return new PacketSubscribe(true, Arrays.asList(Topic.all(Topic.SERVER), Topic.player(PLAYER)));
+            case COMPRESSION:
+                return new PacketCompression(256);
+            default:
+                throw new IllegalArgumentException("No sample for " + protocol);
+        }
+    }
+
+}
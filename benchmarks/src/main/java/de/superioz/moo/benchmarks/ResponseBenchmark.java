@@ -0,0 +1,59 @@
+package de.superioz.moo.benchmarks;
+
+import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.network.exception.MooInputException;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.Response;
+import de.superioz.moo.network.queries.ResponseStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a response into objects (see {@link Response#toComplexes(Class)}), once from the serialized strings of
+ * the message and once from the typed records
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    /**
+     * The amount of players inside the response
+     */
+    @Param({"1", "100"})
+    public int size;
+
+    private PacketRespond messageRespond;
+    private PacketRespond recordsRespond;
+
+    @Setup
+    public void setup() {
+        List<PlayerData> players = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for(int i = 0; i < size; i++) {
+            PlayerData data = PacketSamples.createPlayer();
+            players.add(data);
+            messages.add(data.toString());
+        }
+
+        messageRespond = new PacketRespond("playerinfo", messages, ResponseStatus.OK);
+        recordsRespond = PacketRespond.ofRecords("playerinfo", players, ResponseStatus.OK);
+    }
+
+    @Benchmark
+    public List<PlayerData> fromMessage() throws MooInputException {
+        return new Response(messageRespond).toComplexes(PlayerData.class);
+    }
+
+    @Benchmark
+    public List<PlayerData> fromRecords() throws MooInputException {
+        return new Response(recordsRespond).toComplexes(PlayerData.class);
+    }
+
+}
@@ -0,0 +1,175 @@
+package de.superioz.moo.benchmarks.load;
+
+import de.superioz.moo.network.TransportConfig;
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.client.NetworkClient;
+import de.superioz.moo.network.event.NetworkEventAdapter;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketPlayerMessage;
+import io.netty.channel.Channel;
+import lombok.Getter;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * A proxy or spigot server of a {@link LoadTest}, which talks to the cloud over the real protocol<br>
+ * The client doesn't block a thread while it is connected (unlike {@link NetworkClient#connect()}) and runs its
+ * handlers on the threads shared by all clients, so that thousands of them fit into one program
+ */
+@Getter
+public class FakeClient {
+
+    /**
+     * The name of the client (the type of the server for spigot servers)
+     */
+    private final String name;
+
+    private final ClientType type;
+
+    /**
+     * The port of the minecraft server (only for spigot servers)
+     */
+    private final int subPort;
+
+    private final NetworkClient client;
+
+    /**
+     * The connection to the cloud (null if not connected)
+     */
+    private volatile Channel channel;
+
+    /**
+     * The chat messages relayed to this client by the cloud
+     */
+    private final LongAdder relayed = new LongAdder();
+
+    /**
+     * The result of the handshake
+     */
+    private final CompletableFuture<Boolean> connected = new CompletableFuture<>();
+
+    /**
+     * The stats for the handshake
+     */
+    private TrafficStats handshake;
+
+    public FakeClient(String name, ClientType type, int subPort, LoadConfig config, TransportConfig transport,
+                      ThreadPoolExecutor workers, ExecutorService executors, Logger logger) {
+        this.name = name;
+        this.type = type;
+        this.subPort = subPort;
+
+        this.client = new NetworkClient(config.getHost(), config.getPort(), logger);
+        client.setTransport(transport);
+        client.shareThreads(workers, executors);
+        client.registerEventAdapter(new Adapter());
+        client.setup();
+    }
+
+    /**
+     * Connects to the cloud and shakes hands
+     *
+     * @param handshake The stats for the handshake
+     * @return The future which is completed with the result of the handshake
+     */
+    public CompletableFuture<Boolean> connect(TrafficStats handshake) {
+        this.handshake = handshake;
+        client.getBootstrap().connect(client.getAddress()).addListener(result -> {
+            if(!result.isSuccess()) connected.completeExceptionally(result.cause());
+        });
+        return connected;
+    }
+
+    /**
+     * Sends a packet to the cloud
+     *
+     * @param packet    The packet
+     * @param callbacks The callbacks for the response (the packet is a request if there is one)
+     */
+    public void send(AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
+        client.sendPacket(packet, channel, callbacks);
+    }
+
+    /**
+     * Sends a request to the cloud and counts it
+     *
+     * @param packet The packet
+     * @param stats  The stats of the traffic
+     * @return The future which is completed with the success of the request
+     */
+    public CompletableFuture<Boolean> request(AbstractPacket packet, TrafficStats stats) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        long sent = stats.sent();
+        send(packet, response -> future.complete(stats.answered(sent, response)));
+        return future;
+    }
+
+    /**
+     * Gets the address of this client as the cloud sees it
+     *
+     * @return The address
+     */
+    public InetSocketAddress getLocalAddress() {
+        return (InetSocketAddress) channel.localAddress();
+    }
+
+    /**
+     * Checks if the client is connected
+     *
+     * @return The result
+     */
+    public boolean isConnected() {
+        return channel != null && channel.isActive();
+    }
+
+    /**
+     * Disconnects from the cloud
+     */
+    public void disconnect() {
+        if(channel != null) channel.close().syncUninterruptibly();
+        client.getNetworkBus().shutdown();
+    }
+
+    /**
+     * Shakes hands as soon as the channel is active and counts the chat messages relayed by the cloud
+     */
+    private class Adapter implements NetworkEventAdapter {
+
+        @Override
+        public void onPacketReceive(AbstractPacket packet) {
+            if(packet instanceof PacketPlayerMessage) relayed.increment();
+        }
+
+        @Override
+        public void onHandshakeReceive(PacketHandshake handshake) {
+        }
+
+        @Override
+        public void onPacketSend(AbstractPacket packet) {
+        }
+
+        @Override
+        public void onChannelActive(Channel channel) {
+            FakeClient.this.channel = channel;
+
+            PacketHandshake packet = new PacketHandshake(name, type, type == ClientType.SERVER ? subPort : -1);
+            packet.host = client.getAnnouncedHost(channel);
+
+            long sent = handshake.sent();
+            send(packet, response -> connected.complete(handshake.answered(sent, response)));
+        }
+
+        @Override
+        public void onChannelInactive(Channel channel) {
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+package de.superioz.moo.benchmarks.load;
+
+import lombok.Getter;
+
+/**
+ * The settings of a {@link LoadTest}. Every setting can be given as argument {@code key=value}, e.g.
+ * {@code proxies=4 servers=200 players=10000 login-rate=500}
+ */
+@Getter
+public class LoadConfig {
+
+    /**
+     * The host of the cloud
+     */
+    private String host = "localhost";
+
+    /**
+     * The port of the cloud
+     */
+    private int port = 8000;
+
+    /**
+     * The amount of fake proxies
+     */
+    private int proxies = 2;
+
+    /**
+     * The amount of fake spigot servers
+     */
+    private int servers = 20;
+
+    /**
+     * The amount of fake players (they are spread over the proxies and servers)
+     */
+    private int players = 2000;
+
+    /**
+     * The time (in seconds) the players stay online after the login storm
+     */
+    private int duration = 60;
+
+    /**
+     * The logins per second during the login storm (0 = all at once)
+     */
+    private double loginRate = 200;
+
+    /**
+     * The interval (in milliseconds) in which every server sends its heartbeat
+     */
+    private long heartbeatInterval = 1000;
+
+    /**
+     * The chat messages per second relayed by the cloud to all proxies
+     */
+    private double chatRate = 50;
+
+    /**
+     * The database queries (player profiles) per second
+     */
+    private double queryRate = 100;
+
+    /**
+     * The time (in milliseconds) to wait for a response
+     */
+    private long requestTimeout = 10 * 1000;
+
+    /**
+     * The interval (in seconds) in which the intermediate results are printed
+     */
+    private int reportInterval = 10;
+
+    /**
+     * Reads the settings from given arguments (every missing setting keeps its default value)
+     *
+     * @param args The arguments ({@code key=value})
+     * @return The config
+     * @throws IllegalArgumentException If an argument is unknown or not a number
+     */
+    public static LoadConfig fromArgs(String... args) {
+        LoadConfig config = new LoadConfig();
+
+        for(String arg : args) {
+            String[] split = arg.split("=", 2);
+            if(split.length != 2) throw new IllegalArgumentException("Argument '" + arg + "' isn't key=value");
+            String value = split[1];
+
+            try {
+                switch(split[0]) {
+                    case "host":
+                        config.host = value;
+                        break;
+                    case "port":
+                        config.port = Integer.parseInt(value);
+                        break;
+                    case "proxies":
+                        config.proxies = Integer.parseInt(value);
+                        break;
+                    case "servers":
+                        config.servers = Integer.parseInt(value);
+                        break;
+                    case "players":
+                        config.players = Integer.parseInt(value);
+                        break;
+                    case "duration":
+                        config.duration = Integer.parseInt(value);
+                        break;
+                    case "login-rate":
+                        config.loginRate = Double.parseDouble(value);
+                        break;
+                    case "heartbeat-interval":
+                        config.heartbeatInterval = Long.parseLong(value);
+                        break;
+                    case "chat-rate":
+                        config.chatRate = Double.parseDouble(value);
+                        break;
+                    case "query-rate":
+                        config.queryRate = Double.parseDouble(value);
+                        break;
+                    case "request-timeout":
+                        config.requestTimeout = Long.parseLong(value);
+                        break;
+                    case "report-interval":
+                        config.reportInterval = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown setting '" + split[0] + "'");
+                }
+            }
+            catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Setting '" + split[0] + "' needs a number, not '" + value + "'");
+            }
+        }
+
+        if(config.proxies < 1) throw new IllegalArgumentException("At least one proxy is needed");
+        if(config.servers < 1) throw new IllegalArgumentException("At least one server is needed");
+        return config;
+    }
+
+    @Override
+    public String toString() {
+        return "cloud=" + host + ":" + port + ", proxies=" + proxies + ", servers=" + servers + ", players=" + players
+                + ", duration=" + duration + "s, login-rate=" + (loginRate <= 0 ? "unlimited" : loginRate + "/s")
+                + ", heartbeat-interval=" + heartbeatInterval + "ms, chat-rate=" + chatRate + "/s"
+                + ", query-rate=" + queryRate + "/s, request-timeout=" + requestTimeout + "ms";
+    }
+
+}
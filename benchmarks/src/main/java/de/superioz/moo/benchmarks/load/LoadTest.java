@@ -0,0 +1,390 @@
+package de.superioz.moo.benchmarks.load;
+
+import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.network.NetworkBus;
+import de.superioz.moo.network.TransportConfig;
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.packets.PacketPlayerMessage;
+import de.superioz.moo.network.packets.PacketPlayerProfile;
+import de.superioz.moo.network.packets.PacketPlayerState;
+import de.superioz.moo.network.packets.PacketServerHeartBeat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Puts load onto a running cloud (backed by its mongo and redis) to find the point where it saturates: fake proxies
+ * and spigot servers connect over the real protocol and replay the traffic of a network:
+ * <ul>
+ * <li>login storm (every player logs in at the proxy, gets its profile checked, joins the proxy, connects to a
+ * server and joins it)</li>
+ * <li>heartbeats of every server</li>
+ * <li>chat messages relayed by the cloud to every proxy</li>
+ * <li>database queries (player profiles)</li>
+ * </ul>
+ * The throughput and the latency percentiles of every kind of traffic are printed while the test runs. If the in
+ * flight requests keep growing, the cloud is saturated.<br>
+ * Run with: {@code java -cp benchmarks/target/benchmarks.jar de.superioz.moo.benchmarks.load.LoadTest [key=value ..]}
+ * (see {@link LoadConfig} for the settings)
+ */
+public class LoadTest {
+
+    /**
+     * The interval (in milliseconds) in which the traffic with a rate is sent
+     */
+    private static final long TICK = 10;
+
+    /**
+     * The result of a step which didn't run because the step before failed
+     */
+    private static final CompletableFuture<Boolean> FAILED = CompletableFuture.completedFuture(false);
+
+    private final LoadConfig config;
+    private final Logger logger = Logger.getLogger("moo-loadtest");
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    /**
+     * The threads shared by the buses of all clients (so that the test measures the cloud and not its own threads)
+     */
+    private final ThreadPoolExecutor workers = NetworkBus.createWorkers(NetworkBus.DEFAULT_WORKER_THREADS);
+    private final ExecutorService executors = NetworkBus.createExecutors();
+
+    private final List<FakeClient> proxies = new ArrayList<>();
+    private final List<FakeClient> servers = new ArrayList<>();
+
+    /**
+     * The players which joined a server (playerIndex:1 if online)
+     */
+    private final AtomicIntegerArray online;
+    private final AtomicInteger onlineCount = new AtomicInteger();
+
+    /**
+     * The amount of players which started their login
+     */
+    private final AtomicInteger loginsStarted = new AtomicInteger();
+
+    private final TrafficStats handshakes = new TrafficStats("handshake");
+    private final TrafficStats logins = new TrafficStats("login");
+    private final TrafficStats profiles = new TrafficStats("profile");
+    private final TrafficStats joinsProxy = new TrafficStats("join-proxy");
+    private final TrafficStats connects = new TrafficStats("connect");
+    private final TrafficStats joinsServer = new TrafficStats("join-server");
+    private final TrafficStats loginsTotal = new TrafficStats("login-total");
+    private final TrafficStats chats = new TrafficStats("chat");
+    private final TrafficStats queries = new TrafficStats("query");
+    private final TrafficStats leaves = new TrafficStats("leave");
+    private final TrafficStats heartbeats = new TrafficStats("heartbeat");
+
+    private final List<ScheduledFuture<?>> tasks = new ArrayList<>();
+    private long start;
+
+    public LoadTest(LoadConfig config) {
+        this.config = config;
+        this.online = new AtomicIntegerArray(config.getPlayers());
+        logger.setLevel(Level.WARNING);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config;
+        try {
+            config = LoadConfig.fromArgs(args);
+        }
+        catch(IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        new LoadTest(config).run();
+        System.exit(0);
+    }
+
+    /**
+     * Runs the load test: connects the clients, starts the login storm and the traffic, lets the players stay online
+     * for the configured duration and lets them leave again
+     *
+     * @throws Exception If something goes wrong
+     */
+    public void run() throws Exception {
+        System.out.println("Load test: " + config);
+        if(!connect()) {
+            disconnect();
+            return;
+        }
+        start = System.nanoTime();
+
+        // every server sends its heartbeat (not all at the same moment)
+        for(FakeClient server : servers) {
+            long delay = ThreadLocalRandom.current().nextLong(config.getHeartbeatInterval());
+            tasks.add(scheduler.scheduleAtFixedRate(() -> {
+                heartbeats.sent();
+                server.send(new PacketServerHeartBeat(server.getLocalAddress()));
+            }, delay, config.getHeartbeatInterval(), TimeUnit.MILLISECONDS));
+        }
+
+        // the login storm and the traffic of the online players
+        BooleanSupplier nextLogin = () -> {
+            int player = loginsStarted.getAndIncrement();
+            if(player >= config.getPlayers()) return false;
+            login(player);
+            return true;
+        };
+        if(config.getLoginRate() > 0) {
+            scheduleRate(config.getLoginRate(), nextLogin);
+        }
+        else {
+            scheduler.execute(() -> {
+                while(nextLogin.getAsBoolean()) {
+                }
+            });
+        }
+        scheduleRate(config.getChatRate(), this::chat);
+        scheduleRate(config.getQueryRate(), this::query);
+        tasks.add(scheduler.scheduleAtFixedRate(() -> report(false), config.getReportInterval(),
+                config.getReportInterval(), TimeUnit.SECONDS));
+
+        // wait until every player started the login, then let them stay online
+        while(loginsStarted.get() < config.getPlayers()) {
+            Thread.sleep(100);
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.getDuration()));
+        tasks.forEach(task -> task.cancel(false));
+
+        // every player leaves
+        leave();
+        report(true);
+        disconnect();
+    }
+
+    /**
+     * Connects the proxies and servers to the cloud
+     *
+     * @return If at least one proxy and server could connect
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    private boolean connect() throws InterruptedException {
+        TransportConfig transport = new TransportConfig();
+        transport.setRequestTimeout(config.getRequestTimeout());
+        transport.setReconnectAttempts(1);
+
+        for(int i = 0; i < config.getProxies(); i++) {
+            proxies.add(new FakeClient("loadproxy" + (i + 1), ClientType.PROXY, -1, config, transport, workers, executors, logger));
+        }
+        for(int i = 0; i < config.getServers(); i++) {
+            servers.add(new FakeClient("loadlobby", ClientType.SERVER, 30000 + i, config, transport, workers, executors, logger));
+        }
+
+        List<FakeClient> clients = new ArrayList<>(proxies);
+        clients.addAll(servers);
+        clients.forEach(client -> client.connect(handshakes));
+
+        List<FakeClient> failed = new ArrayList<>();
+        for(FakeClient client : clients) {
+            try {
+                if(client.getConnected().get(config.getRequestTimeout(), TimeUnit.MILLISECONDS)) continue;
+            }
+            catch(InterruptedException e) {
+                throw e;
+            }
+            catch(Exception e) {
+                //
+            }
+            failed.add(client);
+        }
+        System.out.println("Connected " + (clients.size() - failed.size()) + "/" + clients.size() + " clients "
+                + "(" + handshakes.toLine(0, true).trim() + ")");
+
+        failed.forEach(FakeClient::disconnect);
+        proxies.removeAll(failed);
+        servers.removeAll(failed);
+        if(proxies.isEmpty() || servers.isEmpty()) {
+            System.err.println("Couldn't connect to the cloud at " + config.getHost() + ":" + config.getPort());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Logs given player in like a proxy and a server do it
+     *
+     * @param player The index of the player
+     */
+    private void login(int player) {
+        PlayerData data = createPlayer(player);
+        FakeClient proxy = proxies.get(player % proxies.size());
+        FakeClient server = servers.get(player % servers.size());
+        long sent = loginsTotal.sent();
+
+        proxy.request(new PacketPlayerState(data, PacketPlayerState.State.LOGIN_PROXY, ""), logins)
+                .thenCompose(ok -> !ok ? FAILED : proxy.request(new PacketPlayerProfile(data.getUuid().toString()), profiles))
+                .thenCompose(ok -> !ok ? FAILED : proxy.request(new PacketPlayerState(data, PacketPlayerState.State.JOIN_PROXY, ""), joinsProxy))
+                .thenCompose(ok -> !ok ? FAILED : proxy.request(new PacketPlayerState(data, PacketPlayerState.State.CONNECT_SERVER, server.getName()), connects))
+                .thenCompose(ok -> !ok ? FAILED : server.request(new PacketPlayerState(data, PacketPlayerState.State.JOIN_SERVER, ""), joinsServer))
+                .thenAccept(ok -> {
+                    if(loginsTotal.answered(sent, ok) && online.compareAndSet(player, 0, 1)) onlineCount.incrementAndGet();
+                });
+    }
+
+    /**
+     * Sends a chat message of a random online player to the cloud (which relays it to every proxy)
+     *
+     * @return If there was an online player
+     */
+    private boolean chat() {
+        int player = randomOnlinePlayer();
+        if(player < 0) return false;
+
+        FakeClient proxy = proxies.get(player % proxies.size());
+        proxy.request(new PacketPlayerMessage(PacketPlayerMessage.Type.BROADCAST,
+                "&7load" + player + "&8: &fHello there!", "", true, true), chats);
+        return true;
+    }
+
+    /**
+     * Queries the profile of a random player (online or not)
+     *
+     * @return Always true
+     */
+    private boolean query() {
+        int player = ThreadLocalRandom.current().nextInt(Math.max(1, loginsStarted.get()));
+        proxies.get(player % proxies.size()).request(new PacketPlayerProfile("load" + player), queries);
+        return true;
+    }
+
+    /**
+     * Lets every online player leave and waits for the cloud to process it
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    private void leave() throws InterruptedException {
+        for(int player = 0; player < config.getPlayers(); player++) {
+            if(!online.compareAndSet(player, 1, 0)) continue;
+            onlineCount.decrementAndGet();
+
+            proxies.get(player % proxies.size()).request(new PacketPlayerState(createPlayer(player),
+                    PacketPlayerState.State.LEAVE_PROXY, ""), leaves);
+        }
+
+        long deadline = System.currentTimeMillis() + config.getRequestTimeout();
+        while(leaves.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Gets a random player which is online
+     *
+     * @return The index of the player (-1 if none could be found)
+     */
+    private int randomOnlinePlayer() {
+        if(onlineCount.get() == 0) return -1;
+
+        // the players are mostly online, so a few tries are enough
+        for(int i = 0; i < 8; i++) {
+            int player = ThreadLocalRandom.current().nextInt(config.getPlayers());
+            if(online.get(player) == 1) return player;
+        }
+        return -1;
+    }
+
+    /**
+     * Disconnects every client
+     */
+    private void disconnect() {
+        scheduler.shutdownNow();
+        proxies.forEach(FakeClient::disconnect);
+        servers.forEach(FakeClient::disconnect);
+        workers.shutdown();
+        executors.shutdown();
+    }
+
+    /**
+     * Runs given action as often as given rate says (0 = never)
+     *
+     * @param perSecond The runs per second
+     * @param action    The action (returns if it could run)
+     */
+    private void scheduleRate(double perSecond, BooleanSupplier action) {
+        if(perSecond <= 0) return;
+
+        double perTick = perSecond * TICK / TimeUnit.SECONDS.toMillis(1);
+        double[] credit = {0};
+        tasks.add(scheduler.scheduleAtFixedRate(() -> {
+            try {
+                credit[0] = Math.min(credit[0] + perTick, Math.max(1, perTick));
+                while(credit[0] >= 1) {
+                    credit[0]--;
+                    action.getAsBoolean();
+                }
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }, TICK, TICK, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Prints the current results
+     *
+     * @param end If this is the result at the end of the test
+     */
+    private void report(boolean end) {
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        long inFlight = 0;
+        for(TrafficStats stats : getRequestStats()) {
+            inFlight += stats.getInFlight();
+        }
+        long relayed = 0;
+        for(FakeClient proxy : proxies) {
+            relayed += proxy.getRelayed().sum();
+        }
+
+        System.out.println(String.format("%s[%5.0fs] online=%d/%d, in-flight=%d, relayed chat=%d/%d",
+                end ? "Result " : "", seconds, onlineCount.get(), config.getPlayers(), inFlight,
+                relayed, chats.getOk().sum() * proxies.size()));
+        for(TrafficStats stats : getRequestStats()) {
+            System.out.println("  " + stats.toLine(seconds, true));
+        }
+        System.out.println("  " + heartbeats.toLine(seconds, false));
+    }
+
+    /**
+     * Gets the stats of every kind of request
+     *
+     * @return The list of stats
+     */
+    private List<TrafficStats> getRequestStats() {
+        return Arrays.asList(logins, profiles, joinsProxy, connects, joinsServer, loginsTotal, chats, queries, leaves);
+    }
+
+    /**
+     * Creates the data of given player like the proxy sends it on login
+     *
+     * @param player The index of the player
+     * @return The data
+     */
+    private static PlayerData createPlayer(int player) {
+        PlayerData data = new PlayerData();
+        data.setUuid(UUID.nameUUIDFromBytes(("moo-loadtest-" + player).getBytes(StandardCharsets.UTF_8)));
+        data.setLastName("load" + player);
+        data.setLastIp("127.0.0.1");
+        return data;
+    }
+
+}
@@ -0,0 +1,108 @@
+package de.superioz.moo.benchmarks.load;
+
+import de.superioz.moo.api.util.LatencyHistogram;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.ResponseStatus;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The results of one kind of traffic of a {@link LoadTest} (e.g. the logins): how many packets were sent, how many
+ * were answered (and how) and how long the answers took
+ */
+@Getter
+public class TrafficStats {
+
+    /**
+     * The name of the traffic
+     */
+    private final String name;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * The time from sending a request until receiving its response
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public TrafficStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts a sent packet
+     *
+     * @return The time of sending (for {@link #answered(long, AbstractPacket)})
+     */
+    public long sent() {
+        sent.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Counts the response to a request
+     *
+     * @param sent     The time of sending the request
+     * @param response The response
+     * @return If the request was successful
+     */
+    public boolean answered(long sent, AbstractPacket response) {
+        ResponseStatus status = response instanceof PacketRespond ? ((PacketRespond) response).status : ResponseStatus.OK;
+        if(status == ResponseStatus.TIMEOUT) {
+            timeouts.increment();
+            return false;
+        }
+        return answered(sent, status.isOk());
+    }
+
+    /**
+     * Counts the result of a request (e.g. of a request which consists of multiple packets)
+     *
+     * @param sent    The time of sending the request
+     * @param success If the request was successful
+     * @return The success
+     */
+    public boolean answered(long sent, boolean success) {
+        latency.record(System.nanoTime() - sent);
+        (success ? ok : failed).increment();
+        return success;
+    }
+
+    /**
+     * Gets the amount of requests still waiting for their response
+     *
+     * @return The amount
+     */
+    public long getInFlight() {
+        return sent.sum() - ok.sum() - failed.sum() - timeouts.sum();
+    }
+
+    /**
+     * Gets the results as one line
+     *
+     * @param seconds    The time the traffic has been running (for the throughput)
+     * @param withAnswer If the packets are requests (otherwise only the sent packets are shown)
+     * @return The line
+     */
+    public String toLine(double seconds, boolean withAnswer) {
+        double throughput = seconds <= 0 ? 0 : (withAnswer ? ok.sum() : sent.sum()) / seconds;
+        if(!withAnswer) {
+            return String.format("%-12s sent=%-8d %9.1f/s", name, sent.sum(), throughput);
+        }
+        return String.format("%-12s sent=%-8d ok=%-8d failed=%-6d timeout=%-6d %9.1f/s  p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                name, sent.sum(), ok.sum(), failed.sum(), timeouts.sum(), throughput,
+                toMillis(latency.getPercentile(0.5)), toMillis(latency.getPercentile(0.9)),
+                toMillis(latency.getPercentile(0.99)), toMillis(latency.getMax()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,402 @@
+package de.superioz.moo.benchmarks.replay;
+
+import de.superioz.moo.benchmarks.load.TrafficStats;
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.lib.PacketCapture;
+import de.superioz.moo.network.lib.Varint32FrameDecoder;
+import de.superioz.moo.network.lib.Varint32LengthFieldPrepender;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.packet.PacketRegistry;
+import de.superioz.moo.network.packets.PacketCompression;
+import de.superioz.moo.network.util.PipelineUtil;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.SimpleChannelInboundHandler;
+
+import java.io.File;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a {@link PacketCapture} of a master back into a running master, to benchmark changes of the network bus or
+ * of the listeners with real traffic<br>
+ * Every captured channel gets its own connection (opened with its first frame, closed when the captured channel was
+ * closed) and the frames are sent byte for byte in their original order, at the original speed or accelerated. The
+ * time until the master answers a request is measured per packet class. Requests of the master (e.g. pings) are not
+ * answered.<br>
+ * Run with: {@code java -cp benchmarks/target/benchmarks.jar de.superioz.moo.benchmarks.replay.CaptureReplay
+ * file=capture.bin [host=localhost] [port=8000] [speed=1] [wait=5000]}
+ * (speed 2 = twice as fast, 0 = as fast as possible)
+ */
+public class CaptureReplay {
+
+    /**
+     * The time (in milliseconds) without a response after which no more responses are expected
+     */
+    private static final long QUIET_TIME = 1000;
+
+    private final File file;
+    private final String host;
+    private final int port;
+
+    /**
+     * The factor the capture is accelerated by (0 = no delays)
+     */
+    private final double speed;
+
+    /**
+     * The maximum time (in milliseconds) to wait for the last responses
+     */
+    private final long wait;
+
+    private final PacketRegistry registry = PacketRegistry.fromProtocol();
+    private final int compressionId = registry.getId(PacketCompression.class);
+    private final Map<Integer, Connection> connections = new HashMap<>();
+
+    /**
+     * The requests per packet class (name:stats)
+     */
+    private final Map<String, TrafficStats> stats = new ConcurrentHashMap<>();
+    private Bootstrap bootstrap;
+
+    private long frames;
+    private long bytes;
+    private long skipped;
+
+    public CaptureReplay(File file, String host, int port, double speed, long wait) {
+        this.file = file;
+        this.host = host;
+        this.port = port;
+        this.speed = speed;
+        this.wait = wait;
+    }
+
+    public static void main(String[] args) throws Exception {
+        CaptureReplay replay;
+        try {
+            replay = fromArgs(args);
+        }
+        catch(IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        replay.run();
+        System.exit(0);
+    }
+
+    /**
+     * Reads the settings of the replay from given arguments
+     *
+     * @param args The arguments ({@code key=value})
+     * @return The replay
+     * @throws IllegalArgumentException If an argument is unknown or not a number or the file is missing
+     */
+    public static CaptureReplay fromArgs(String... args) {
+        String file = null;
+        String host = "localhost";
+        int port = 8000;
+        double speed = 1;
+        long wait = 5000;
+
+        for(String arg : args) {
+            String[] split = arg.split("=", 2);
+            if(split.length != 2) throw new IllegalArgumentException("Argument '" + arg + "' isn't key=value");
+            String value = split[1];
+
+            try {
+                switch(split[0]) {
+                    case "file":
+                        file = value;
+                        break;
+                    case "host":
+                        host = value;
+                        break;
+                    case "port":
+                        port = Integer.parseInt(value);
+                        break;
+                    case "speed":
+                        speed = Double.parseDouble(value);
+                        break;
+                    case "wait":
+                        wait = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown setting '" + split[0] + "'");
+                }
+            }
+            catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Setting '" + split[0] + "' needs a number, not '" + value + "'");
+            }
+        }
+
+        if(file == null) throw new IllegalArgumentException("The capture is missing (file=..)");
+        if(speed < 0) throw new IllegalArgumentException("The speed can't be negative");
+        return new CaptureReplay(new File(file), host, port, speed, wait);
+    }
+
+    /**
+     * Replays the capture and prints the results
+     *
+     * @throws Exception If the capture couldn't be read
+     */
+    public void run() throws Exception {
+        bootstrap = new Bootstrap()
+                .group(PipelineUtil.getClientEventLoopGroup(0))
+                .channel(PipelineUtil.getChannel())
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel channel) throws Exception {
+                        ChannelPipeline pipeline = channel.pipeline();
+                        // the compression is added like by the master (see PipelineUtil#addInflater)
+                        pipeline.addLast(PipelineUtil.FRAME_DECODER, new Varint32FrameDecoder());
+                        pipeline.addLast(PipelineUtil.FRAME_PREPENDER, new Varint32LengthFieldPrepender());
+                    }
+                });
+
+        long captureTime = 0;
+        long start = System.nanoTime();
+        try(PacketCapture.Reader reader = new PacketCapture.Reader(file)) {
+            System.out.println("Replaying " + file + " (captured at " + new Date(reader.getStartTime())
+                    + ") to " + host + ":" + port + " with speed " + (speed == 0 ? "unlimited" : speed + "x"));
+            if(reader.getProtocolVersion() != Protocol.PROTOCOL_VERSION) {
+                System.err.println("The capture has protocol version " + reader.getProtocolVersion() + " instead of "
+                        + Protocol.PROTOCOL_VERSION + ", the master will reject the frames");
+            }
+
+            PacketCapture.Record record;
+            long first = -1;
+            while((record = reader.next()) != null) {
+                if(first == -1) first = record.getTime();
+                captureTime = record.getTime() - first;
+
+                // waits until the frame is due
+                if(speed > 0) {
+                    long due = start + (long) (captureTime / speed);
+                    long delay;
+                    while((delay = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                }
+                replay(record);
+            }
+        }
+        long replayTime = System.nanoTime() - start;
+
+        awaitResponses();
+        connections.values().forEach(connection -> {
+            if(connection.channel != null) connection.channel.close().syncUninterruptibly();
+        });
+        report(captureTime, replayTime);
+    }
+
+    /**
+     * Sends the frame of given record or closes its connection
+     *
+     * @param record The record
+     */
+    private void replay(PacketCapture.Record record) {
+        Connection connection = connections.computeIfAbsent(record.getChannelId(), id -> new Connection());
+        if(record.isClose()) {
+            if(connection.channel != null) closeWhenQuiet(connection.channel, connection);
+            connection.channel = null;
+            return;
+        }
+
+        // a closed channel id is never used again, so the connection is opened only once
+        if(connection.channel == null && !connection.opened) {
+            connection.opened = true;
+            try {
+                connection.channel = bootstrap.connect(host, port).sync().channel();
+                connection.channel.pipeline().addLast(new ResponseHandler(connection));
+            }
+            catch(Exception e) {
+                System.err.println("Couldn't connect channel " + record.getChannelId() + ": " + e.getMessage());
+            }
+        }
+        if(connection.channel == null) {
+            skipped++;
+            return;
+        }
+
+        // the header of the frame (protocol version, id, query id)
+        byte[] frame = record.getFrame();
+        PacketBuffer header = new PacketBuffer(Unpooled.wrappedBuffer(frame));
+        header.readVarInt();
+        int protocolId = header.readVarInt();
+        long query = header.readVarLong();
+
+        // only requests are answered
+        if((query & 1) == 0) {
+            Class<? extends AbstractPacket> packetClass = registry.getPacket(protocolId);
+            String name = packetClass == null ? "unknown-" + protocolId : packetClass.getSimpleName();
+            TrafficStats packetStats = stats.computeIfAbsent(name, TrafficStats::new);
+            connection.pending.put(query >>> 1, new Pending(packetStats, packetStats.sent()));
+        }
+
+        Channel channel = connection.channel;
+        channel.writeAndFlush(Unpooled.wrappedBuffer(frame));
+        frames++;
+
+        // the frames after the captured echo of the compression are compressed (queued behind the write)
+        if(protocolId == compressionId) {
+            header.readLong();
+            int threshold = header.readVarInt();
+            channel.eventLoop().execute(() -> PipelineUtil.addDeflater(channel.pipeline(), threshold));
+        }
+        bytes += frame.length;
+    }
+
+    /**
+     * Closes the connection of a closed channel as soon as its requests are answered (or no response has been received
+     * for a second), otherwise an accelerated replay would lose the responses
+     *
+     * @param channel    The channel of the connection
+     * @param connection The connection
+     */
+    private void closeWhenQuiet(Channel channel, Connection connection) {
+        long now = System.currentTimeMillis();
+        if(connection.closing == 0) connection.closing = now;
+
+        if(connection.pending.isEmpty() || now - Math.max(connection.closing, connection.lastResponse) >= QUIET_TIME) {
+            channel.close();
+            return;
+        }
+        channel.eventLoop().schedule(() -> closeWhenQuiet(channel, connection), 50, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits until no response has been received for a second (or until the maximum wait time is over), because the
+     * master doesn't answer every request
+     *
+     * @throws InterruptedException If the thread is interrupted
+     */
+    private void awaitResponses() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + wait;
+        long lastChange = System.currentTimeMillis();
+        long answered = answered();
+
+        while(System.currentTimeMillis() < deadline && System.currentTimeMillis() - lastChange < QUIET_TIME) {
+            Thread.sleep(50);
+            long now = answered();
+            if(now != answered) {
+                answered = now;
+                lastChange = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private long answered() {
+        return stats.values().stream().mapToLong(s -> s.getSent().sum() - s.getInFlight()).sum();
+    }
+
+    /**
+     * Prints the results
+     *
+     * @param captureTime The time span of the capture (in nanoseconds)
+     * @param replayTime  The time the replay took (in nanoseconds)
+     */
+    private void report(long captureTime, long replayTime) {
+        double seconds = replayTime / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.println(String.format("Replayed %d frames (%d bytes) of %d channels in %.1fs (captured in %.1fs), %.1f frames/s",
+                frames, bytes, connections.size(), seconds, captureTime / (double) TimeUnit.SECONDS.toNanos(1),
+                seconds <= 0 ? 0 : frames / seconds));
+        if(skipped != 0) {
+            System.out.println("Skipped " + skipped + " frames of channels which couldn't connect");
+        }
+        System.out.println("Requests (not every packet is answered):");
+        new TreeMap<>(stats).values().forEach(s -> System.out.println("  " + s.toLine(seconds, true)));
+    }
+
+    /**
+     * The connection replaying one captured channel
+     */
+    private static class Connection {
+
+        private volatile Channel channel;
+        private boolean opened;
+
+        /**
+         * The time the captured channel was closed and the time of the last response (in milliseconds)
+         */
+        private volatile long closing;
+        private volatile long lastResponse;
+
+        /**
+         * The requests waiting for their response (queryId:request)
+         */
+        private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    }
+
+    private static class Pending {
+
+        private final TrafficStats stats;
+        private final long sent;
+
+        private Pending(TrafficStats stats, long sent) {
+            this.stats = stats;
+            this.sent = sent;
+        }
+
+    }
+
+    /**
+     * Matches the responses of the master with the replayed requests
+     */
+    private class ResponseHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        private final Connection connection;
+
+        private ResponseHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf buf) throws Exception {
+            PacketBuffer buffer = new PacketBuffer(buf);
+            buffer.readVarInt();
+            int protocolId = buffer.readVarInt();
+            long query = buffer.readVarLong();
+            buffer.readLong();
+
+            // the master compresses the frames after its announcement
+            if(protocolId == compressionId) {
+                PipelineUtil.addInflater(ctx.pipeline());
+            }
+            if((query & 1) == 0) return;
+
+            Pending request = connection.pending.remove(query >>> 1);
+            if(request == null) return;
+            connection.lastResponse = System.currentTimeMillis();
+
+            // the status of the response
+            AbstractPacket response = registry.createPacket(protocolId);
+            if(response != null) {
+                try {
+                    response.read(buffer);
+                }
+                catch(Exception e) {
+                    response = null;
+                }
+            }
+            request.stats.answered(request.sent, response);
+        }
+
+    }
+
+}
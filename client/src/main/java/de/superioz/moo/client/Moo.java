@@ -16,6 +16,7 @@ import de.superioz.moo.client.command.params.PlayerDataParamType;
 import de.superioz.moo.client.command.params.PlayerInfoParamType;
 import de.superioz.moo.client.exception.MooInitializationException;
 import de.superioz.moo.client.listeners.QueryClientListener;
+import de.superioz.moo.network.TransportConfig;
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.network.client.NetworkClient;
 import de.superioz.moo.network.common.MooCache;
@@ -93,6 +94,11 @@ public class Moo {
      */
     private ClientType clientType;
 
+    /**
+     * The transport settings of the client (read from the config of the plugin)
+     */
+    private TransportConfig transport = new TransportConfig();
+
     /**
      * The subport. Either -1 or the port of the spigot server
      */
@@ -172,17 +178,31 @@ public class Moo {
      * @param port The port
      */
     public void connect(String clientName, ClientType clientType, String host, int port) {
+        connect(clientName, clientType, host, port, transport);
+    }
+
+    /**
+     * Starts the netclient with given transport settings (only used if the client hasn't been initialised yet)
+     *
+     * @param host      The host
+     * @param port      The port
+     * @param transport The transport settings
+     * @see #connect(String, ClientType, String, int)
+     */
+    public void connect(String clientName, ClientType clientType, String host, int port, TransportConfig transport) {
         if(!isEnabled()) return;
         getLogger().info("Initialising cloud-connection ..");
 
         this.clientName = clientName;
         this.clientType = clientType;
+        this.transport = transport;
 
         executors.execute(() -> {
             try {
                 // is the client already initialised?
                 if(client == null) {
                     client = new NetworkClient(host, port, getLogger());
+                    client.setTransport(transport);
                     client.registerEventAdapter(new MooNetworkAdapter(this));
                     client.setup();
                 }
@@ -444,10 +464,10 @@ public class Moo {
      * @return The ping as int
      */
     public int ping() {
-        PacketPing packet = PacketMessenger.transfer(new PacketPing(), PacketPing.class);
+        PacketPing packet = PacketMessenger.transfer(new PacketPing(System.nanoTime()), PacketPing.class);
         if(packet == null) return -1;
 
-        return (int) (System.currentTimeMillis() - packet.timestamp);
+        return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - packet.timestamp);
     }
 
 }
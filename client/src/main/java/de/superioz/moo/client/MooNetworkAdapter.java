@@ -57,6 +57,12 @@ public class MooNetworkAdapter implements NetworkEventAdapter {
                     ? new PacketHandshake(moo.getClientName(), moo.getClientType(), moo.getSubPort())
                     : new PacketHandshake(moo.getClientName(), moo.getClientType());
 
+            // resume the session if there was one
+            packetHandshake.session = moo.getClient().getSessionToken();
+            packetHandshake.sequence = moo.getClient().getStateSequence();
+            packetHandshake.host = moo.getClient().getAnnouncedHost(channel);
+            moo.getClient().setStateSequence(-1);
+
             // send packet NOW
             PacketMessenger.transferToResponse(packetHandshake,
                     (Consumer<Response>) response -> {
@@ -68,6 +74,18 @@ public class MooNetworkAdapter implements NetworkEventAdapter {
                         // set authenticated
                         moo.getClient().setAuthenticated(response.isOk());
                         moo.getClient().setMasterVersion(response.getMessage());
+
+                        // the cloud only sends the missed state changes if the session was resumed (followed by the
+                        // sequence of the last change)
+                        if(response.isOk() && response.get(1) != null) {
+                            moo.getClient().setSessionToken(response.get(1));
+                            moo.getLogger().info("Session " + ("delta".equals(response.get(2)) ? "resumed" : "started") + ".");
+                        }
+
+                        // the cloud only knows the default subscriptions of a new connection
+                        if(response.isOk()) {
+                            moo.getClient().resendSubscriptions();
+                        }
                     });
         });
     }
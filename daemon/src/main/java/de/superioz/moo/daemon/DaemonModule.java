@@ -8,6 +8,7 @@ import de.superioz.moo.client.Moo;
 import de.superioz.moo.daemon.commands.MainCommand;
 import de.superioz.moo.daemon.listeners.PacketPatternStateListener;
 import de.superioz.moo.daemon.listeners.ServerPacketListener;
+import de.superioz.moo.network.TransportConfig;
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.network.packet.PacketAdapting;
 
@@ -51,7 +52,7 @@ public class DaemonModule extends Module {
         if(config.isLoaded()) {
             Moo.getInstance().connect(config.get("daemon-name"),
                     ClientType.DAEMON, config.get("cloud-ip"),
-                    config.get("cloud-port"));
+                    config.get("cloud-port"), TransportConfig.fromConfig(config, "transport"));
         }
     }
 
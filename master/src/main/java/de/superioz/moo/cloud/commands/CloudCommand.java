@@ -64,6 +64,19 @@ public class CloudCommand implements EventListener {
         });
     }
 
+    /**
+     * Displays the round trip of every client and the latencies of the requests (p50/p99/max)
+     *
+     * @param context .
+     * @param set     .
+     */
+    @Command(label = "latency")
+    public void latency(CommandContext context, ParamSet set) {
+        List<String> lines = Cloud.getInstance().getServer().getLatencyReport();
+
+        context.sendMessage("Latencies (" + lines.size() + "): " + (lines.size() == 0 ? "Nothing to display!" : "\n\t- " + String.join("\n\t- ", lines)));
+    }
+
     /**
      * Displays every client currently connected to the cloud
      *
@@ -1,10 +1,11 @@
 package de.superioz.moo.cloud.common;
 
 import de.superioz.moo.api.database.objects.ServerPattern;
+import de.superioz.moo.cloud.Cloud;
 import de.superioz.moo.network.common.MooCache;
 import de.superioz.moo.cloud.database.DatabaseCollections;
 import de.superioz.moo.network.client.ClientType;
-import de.superioz.moo.network.common.PacketMessenger;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.packets.PacketPatternState;
 
 public final class PatternManager {
@@ -46,7 +47,8 @@ public final class PatternManager {
         MooCache.getInstance().getPatternMap().removeAsync(pattern.getName());
 
         // remove folder
-        PacketMessenger.message(new PacketPatternState(pattern.getName(), false), ClientType.DAEMON);
+        Cloud.getInstance().getServer().publish(new PacketPatternState(pattern.getName(), false),
+                Topic.server(pattern.getName()), ClientType.DAEMON);
 
         return true;
     }
@@ -10,8 +10,8 @@ import de.superioz.moo.network.packets.PacketServerAttempt;
 import de.superioz.moo.network.packets.PacketServerRequest;
 import de.superioz.moo.network.packets.PacketServerRequestShutdown;
 import de.superioz.moo.network.common.MooProxy;
+import de.superioz.moo.network.util.NettyUtil;
 
-import java.net.InetSocketAddress;
 
 /**
  * This class listens on server status events of the daemon (starting, stopping, requesting, ..)
@@ -29,7 +29,7 @@ public class DaemonServerListener implements PacketAdapter {
         //Cloud.getInstance().getLogger().debug("Updates ram usage for " + packet.getChannel().remoteAddress() + " (to " + packet.ramUsage + "%)");
 
         // updates ram usage
-        Cloud.getInstance().getClientManager().updateRamUsage((InetSocketAddress) packet.getChannel().remoteAddress(), packet.ramUsage);
+        Cloud.getInstance().getClientManager().updateRamUsage(NettyUtil.getRemoteAddress(packet.getChannel()), packet.ramUsage);
     }
 
     @PacketHandler
@@ -13,9 +13,12 @@ import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packets.PacketHandshake;
 import de.superioz.moo.network.packets.PacketRespond;
 import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.server.SessionLog;
+import de.superioz.moo.network.util.NettyUtil;
 import io.netty.channel.Channel;
 
 import java.net.InetSocketAddress;
+import java.util.Arrays;
 
 /**
  * This class listens on the handshake between a client this cloud
@@ -29,7 +32,7 @@ public class HandshakeListener implements EventListener {
 
         String header = "auth";
         String version = Cloud.getInstance().getVersion();
-        InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
+        InetSocketAddress remoteAddress = NettyUtil.getRemoteAddress(channel);
 
         // checks if address is allowed by the whitelist
         if(!Cloud.getInstance().getServer().getWhitelist().allowed(remoteAddress)) {
@@ -51,20 +54,29 @@ public class HandshakeListener implements EventListener {
             return;
         }
 
+        // resume the session of the client (then it only needs the changes it missed) or open a new one
+        SessionLog sessionLog = Cloud.getInstance().getServer().getSessionLog();
+        boolean resumed = sessionLog.resume(packet.session, packet.sequence, packet.type);
+        String session = resumed ? packet.session : sessionLog.open(packet.type);
+
         //.
-        packet.respond(new PacketRespond(header, version, ResponseStatus.OK));
+        packet.respond(new PacketRespond(header, Arrays.asList(version, session, resumed ? "delta" : "full"), ResponseStatus.OK));
+        Cloud.getInstance().getServer().announceCompression(channel);
 
-        // Add client
-        MooClient client = new MooClient(packet.identifier,
-                remoteAddress.getAddress().getHostAddress(),
-                remoteAddress.getPort(), packet.subPort, packet.type, channel);
+        // Add client (a client without an inet address, e.g. over the unix domain socket, tells its real host)
+        String host = NettyUtil.hasInetAddress(channel) || packet.host.isEmpty()
+                ? remoteAddress.getAddress().getHostAddress() : packet.host;
+        MooClient client = new MooClient(packet.identifier, host, remoteAddress.getPort(), packet.subPort, packet.type, channel);
+        client.setSession(session);
+        client.setResumeSequence(resumed ? packet.sequence : -1);
         client.setId(Cloud.getInstance().getClientManager().add(client));
+        Cloud.getInstance().getServer().subscribeDefaults(client);
 
         // fire event of client connection
         EventExecutor.getInstance().execute(new MooClientConnectedEvent(client));
 
         Cloud.getInstance().getLogger().debug(ConsoleColor.GREEN.toString()
-                + client.getType() + " client connected @(" + remoteAddress.getAddress().getHostAddress() + ")");
+                + client.getType() + " client connected @(" + host + ")");
     }
 
 }
@@ -8,6 +8,7 @@ import de.superioz.moo.api.logging.ConsoleColor;
 import de.superioz.moo.cloud.Cloud;
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.network.common.PacketMessenger;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.events.MooClientConnectedEvent;
 import de.superioz.moo.network.packets.MultiPacket;
 import de.superioz.moo.network.packets.PacketServerRegister;
@@ -35,20 +36,25 @@ public class MooClientConnectedListener implements EventListener {
 
         // BUNGEE BUNGEE BUNGEE oh a proxy connects to the server
         if(client.getType() == ClientType.PROXY) {
-            // send already registered server to the proxy
-            List<PacketServerRegister> list = new ArrayList<>();
-            for(MooServer server : Cloud.getInstance().getNetworkProxy().getSpigotServers().values()) {
-                list.add(new PacketServerRegister(
-                        server.getType(),
-                        server.getAddress().getHostName(),
-                        server.getId(),
-                        server.getAddress().getPort())
-                );
-            }
+            // send the changes the proxy missed or (if it is a new session) the already registered server
+            boolean delta = Cloud.getInstance().getServer().syncState(client, client.getResumeSequence(), () -> {
+                List<PacketServerRegister> list = new ArrayList<>();
+                for(MooServer server : Cloud.getInstance().getNetworkProxy().getSpigotServers().values()) {
+                    list.add(new PacketServerRegister(
+                            server.getType(),
+                            server.getAddress().getHostName(),
+                            server.getId(),
+                            server.getAddress().getPort())
+                    );
+                }
 
-            Cloud.getInstance().getLogger().debug("Send already registered server to proxy (" + list.size() + "x) ..");
-            MultiPacket<PacketServerRegister> multiPacket = new MultiPacket<>(list);
-            PacketMessenger.message(multiPacket, client);
+                Cloud.getInstance().getLogger().debug("Send already registered server to proxy (" + list.size() + "x) ..");
+                MultiPacket<PacketServerRegister> multiPacket = new MultiPacket<>(list);
+                PacketMessenger.message(multiPacket, client);
+            });
+            if(delta) {
+                Cloud.getInstance().getLogger().debug("Resumed session of proxy, sent the missed changes only.");
+            }
 
             // WE START THE SERVERS ON PROXY CONNECT because that way it is possible to use multiple daemons
             // if this is not the first proxy, rip
@@ -70,8 +76,8 @@ public class MooClientConnectedListener implements EventListener {
             MooServer server = Cloud.getInstance().getNetworkProxy().registerServer(client);
 
             // what do we do now? YEAH we inform the proxies
-            PacketMessenger.message(new PacketServerRegister(client.getName(), client.getAddress().getHostName(), server.getId(), client.getSubPort()),
-                    ClientType.PROXY);
+            Cloud.getInstance().getServer().publishState(new PacketServerRegister(client.getName(), client.getAddress().getHostName(), server.getId(), client.getSubPort()),
+                    Topic.server(client.getName()), ClientType.PROXY);
         }
     }
 
@@ -8,11 +8,11 @@ import de.superioz.moo.api.event.EventListener;
 import de.superioz.moo.api.event.EventPriority;
 import de.superioz.moo.cloud.Cloud;
 import de.superioz.moo.network.client.ClientType;
-import de.superioz.moo.network.common.PacketMessenger;
 import de.superioz.moo.network.events.MooClientDisconnectEvent;
 import de.superioz.moo.network.packets.PacketServerUnregister;
 import de.superioz.moo.network.client.MooClient;
 import de.superioz.moo.network.common.MooProxy;
+import de.superioz.moo.network.common.Topic;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -28,13 +28,16 @@ public class MooClientDisconnectedListener implements EventListener {
     public void onMooClientDisconnect(MooClientDisconnectEvent event) {
         MooClient client = event.getClient();
 
+        // the session can be resumed for a while
+        Cloud.getInstance().getServer().getSessionLog().detach(client.getSession());
+
         // if the moo client disconnects ..
         // BUNGEE BUNGEE BUNGEE if the type is PROXY
         if(client.getType() == ClientType.PROXY) {
             List<UUID> toRemove = new ArrayList<>();
             for(UUID uuid : Cloud.getInstance().getNetworkProxy().getPlayerServerMap().keySet()) {
                 InetSocketAddress proxyAddress = Cloud.getInstance().getNetworkProxy().getPlayerServerMap().get(uuid);
-                if(proxyAddress.equals(client.getAddress())) toRemove.add(uuid);
+                if(proxyAddress.equals(client.getChannelAddress())) toRemove.add(uuid);
             }
             toRemove.forEach(uuid -> Cloud.getInstance().getNetworkProxy().getPlayerServerMap().remove(uuid));
 
@@ -55,7 +58,8 @@ public class MooClientDisconnectedListener implements EventListener {
             MooProxy.serverCycle(pattern);
 
             // Informing the PROXY!
-            PacketMessenger.message(new PacketServerUnregister(client.getAddress()), ClientType.PROXY);
+            Cloud.getInstance().getServer().publishState(new PacketServerUnregister(client.getAddress()),
+                    Topic.server(client.getName()), ClientType.PROXY);
         }
     }
 
@@ -2,6 +2,8 @@ package de.superioz.moo.cloud.listeners.packet;
 
 import de.superioz.moo.api.config.NetworkConfigType;
 import de.superioz.moo.cloud.Cloud;
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.packet.PacketAdapter;
 import de.superioz.moo.network.packet.PacketHandler;
 import de.superioz.moo.network.packets.PacketConfig;
@@ -23,11 +25,10 @@ public class PacketConfigListener implements PacketAdapter {
         // respond to the packet
         // after the con
         packet.respond(new PacketRespond(true));
-        /*if(result) {
-            // the packet config is only for trigger an event, so
-            // that the redis cache doesn't need to be checked every x seconds
-            PacketMessenger.message(packet.deepCopy(), ClientType.PROXY);
-        }*/
+
+        // the packet config is only for trigger an event, so that the redis cache doesn't need to be checked every
+        // x seconds (only the proxies which subscribed to the entry get it, a resumed proxy gets the missed changes)
+        Cloud.getInstance().getServer().publishState(packet.deepCopy(), Topic.config(type), ClientType.PROXY);
     }
 
 }
@@ -5,7 +5,6 @@ import de.superioz.moo.api.database.DatabaseCollection;
 import de.superioz.moo.api.database.DatabaseType;
 import de.superioz.moo.api.reaction.Reaction;
 import de.superioz.moo.api.reaction.Reactor;
-import de.superioz.moo.api.utils.StringUtil;
 import de.superioz.moo.cloud.Cloud;
 import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packet.PacketAdapter;
@@ -60,7 +59,7 @@ public class PacketDatabaseCountListener implements PacketAdapter {
                     l.add(o);
                 }
 
-                packet.respond(new PacketRespond(type.name().toLowerCase(), StringUtil.toStringList(l), ResponseStatus.OK));
+                packet.respond(PacketRespond.ofRecords(type.name().toLowerCase(), l, ResponseStatus.OK));
             }
         });
     }
@@ -1,11 +1,11 @@
 package de.superioz.moo.cloud.listeners.packet;
 
+import com.mongodb.MongoClient;
 import com.mongodb.client.MongoCollection;
 import de.superioz.moo.api.database.DatabaseCollection;
 import de.superioz.moo.api.database.DatabaseConnection;
 import de.superioz.moo.api.database.DatabaseType;
 import de.superioz.moo.api.database.filter.DbFilter;
-import de.superioz.moo.api.utils.StringUtil;
 import de.superioz.moo.cloud.Cloud;
 import de.superioz.moo.cloud.database.DatabaseCollections;
 import de.superioz.moo.network.queries.ResponseStatus;
@@ -14,6 +14,7 @@ import de.superioz.moo.network.packet.PacketHandler;
 import de.superioz.moo.network.packets.PacketDatabaseInfo;
 import de.superioz.moo.network.packets.PacketDatabaseInfoNative;
 import de.superioz.moo.network.packets.PacketRespond;
+import org.bson.BsonDocument;
 import org.bson.Document;
 
 import java.util.ArrayList;
@@ -53,7 +54,7 @@ public class PacketDatabaseInfoListener implements PacketAdapter {
             packet.respond(ResponseStatus.NOT_FOUND);
             return;
         }
-        packet.respond(new PacketRespond(type.name().toLowerCase(), StringUtil.toStringList(data), ResponseStatus.OK));
+        packet.respond(PacketRespond.ofRecords(type.name().toLowerCase(), data, ResponseStatus.OK));
     }
 
     @PacketHandler
@@ -87,14 +88,15 @@ public class PacketDatabaseInfoListener implements PacketAdapter {
 
         // find entries and send them
         databaseConnection.find(collection, filter.toBson(), packet.limit, documents -> {
-            List<String> l = new ArrayList<>();
-            documents.forEach((Consumer<Document>) document -> l.add(document.toJson()));
+            List<BsonDocument> l = new ArrayList<>();
+            documents.forEach((Consumer<Document>) document
+                    -> l.add(document.toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry())));
 
             if(l.isEmpty()) {
                 packet.respond(ResponseStatus.NOT_FOUND);
                 return;
             }
-            packet.respond(new PacketRespond(database, l, ResponseStatus.OK));
+            packet.respond(PacketRespond.ofRecords(database, l, ResponseStatus.OK));
         });
     }
 
@@ -20,7 +20,7 @@ import de.superioz.moo.cloud.database.DatabaseCollections;
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.network.common.MooGroup;
 import de.superioz.moo.network.common.MooPlayer;
-import de.superioz.moo.network.common.PacketMessenger;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packet.AbstractPacket;
 import de.superioz.moo.network.packet.PacketAdapter;
@@ -49,8 +49,7 @@ public class PacketDatabaseModifyListener implements PacketAdapter {
 
         // values from packet
         DatabaseType dbType = packet.databaseType;
-        DbFilter filter = packet.filter.replaceStandardUniqueIds();
-        DbFilter realFilter = packet.filter.replaceBinaryUniqueIds();
+        DbFilter filter = packet.filter;
         DatabaseModifyType type = packet.type;
         DbQuery updates = packet.updates;
 
@@ -64,7 +63,7 @@ public class PacketDatabaseModifyListener implements PacketAdapter {
         DatabaseCollection module = Cloud.getInstance().getDatabaseCollection(dbType);
 
         // primary key of the filter
-        DbFilterNode firstNode = realFilter.getKey(0, module.getWrappedClass());
+        DbFilterNode firstNode = filter.getKey(0, module.getWrappedClass());
         Object primaryKey = firstNode == null ? null : firstNode.getContent();
 
         // list data from filtering
@@ -199,7 +198,8 @@ public class PacketDatabaseModifyListener implements PacketAdapter {
         // trigger update permissions
         request.respond(processResult ? ResponseStatus.OK : ResponseStatus.NOK);
         if(processResult && (type == DatabaseType.GROUP || type == DatabaseType.PLAYER)) {
-            PacketMessenger.message(new PacketUpdatePermission(type, key + ""), ClientType.PROXY);
+            String topic = type == DatabaseType.GROUP ? Topic.group(key + "") : Topic.player(key + "");
+            Cloud.getInstance().getServer().publishState(new PacketUpdatePermission(type, key + ""), topic, ClientType.PROXY);
         }
     }
 
@@ -22,7 +22,7 @@ public class PacketPlayerKickListener implements PacketAdapter {
             return;
         }
 
-        Cloud.getInstance().getNetworkProxy().kick(player, packet.deepCopy(), response -> packet.respond(response.getStatus()));
+        Cloud.getInstance().getNetworkProxy().kick(player, packet, response -> packet.respond(response.getStatus()));
     }
 
 }
@@ -38,12 +38,12 @@ public class PacketPlayerMessageListener implements PacketAdapter {
             }
 
             // send message
-            Cloud.getInstance().getNetworkProxy().sendMessage(player, packet.deepCopy(), response -> packet.respond(response.getStatus()));
+            Cloud.getInstance().getNetworkProxy().sendMessage(player, packet, response -> packet.respond(response.getStatus()));
         });
 
         // if the type of message is not a private message
         Reaction.react(!privateMessage, () -> {
-            PacketMessenger.message(packet.deepCopy(), ClientType.PROXY);
+            PacketMessenger.message(packet, ClientType.PROXY);
             packet.respond(ResponseStatus.OK);
         });
     }
@@ -5,9 +5,7 @@ import de.superioz.moo.api.database.DbModifier;
 import de.superioz.moo.api.database.filter.DbFilter;
 import de.superioz.moo.api.database.objects.Ban;
 import de.superioz.moo.api.database.objects.PlayerData;
-import de.superioz.moo.api.util.SimpleSerializable;
 import de.superioz.moo.api.util.Validation;
-import de.superioz.moo.api.utils.StringUtil;
 import de.superioz.moo.cloud.database.DatabaseCollections;
 import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packet.PacketAdapter;
@@ -52,23 +50,21 @@ public class PacketPlayerProfileListener implements PacketAdapter {
 
         // respond which is a list of the data
         // 0 = playerData, 1 = currentBan, 2 = archivedBans
-        List<String> respond = new ArrayList<>();
+        List<Object> respond = new ArrayList<>();
 
         // 0; get the playerData
-        respond.add(playerData.toString());
+        respond.add(playerData);
 
         // 1; list the current ban
         Ban ban = DatabaseCollections.BAN.get(uuid);
-        respond.add(ban != null ? ban.toString() : "");
+        respond.add(ban);
 
         // 2; list former bans
         List<Ban> archivedBans = DatabaseCollections.BAN_ARCHIVE.list(DbFilter.fromPrimKey(Ban.class, uuid));
-        respond.add((archivedBans != null && !archivedBans.isEmpty())
-                ? StringUtil.getListToString(archivedBans, StringUtil.SEPERATOR_2, SimpleSerializable::toString)
-                : "");
+        respond.add(archivedBans != null ? archivedBans : new ArrayList<>());
 
         // send respond
-        packet.respond(new PacketRespond(packet.getName().toLowerCase(), respond, status));
+        packet.respond(PacketRespond.ofRecords(packet.getName().toLowerCase(), respond, status));
     }
 
 }
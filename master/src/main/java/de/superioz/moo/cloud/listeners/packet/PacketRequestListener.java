@@ -35,6 +35,9 @@ public class PacketRequestListener implements PacketAdapter {
             PacketMessenger.message(packet, response -> packet.respond(response.getHandle()),
                     Cloud.getInstance().getNetworkProxy().getClient(player));
         });
+
+        // I want to know where the time goes (network, cloud or database)
+        Reaction.react(type, PacketRequest.Type.LATENCY, () -> packet.respond(Cloud.getInstance().getServer().getLatencyReport()));
     }
 
 }
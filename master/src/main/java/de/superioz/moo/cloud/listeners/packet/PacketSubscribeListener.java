@@ -0,0 +1,35 @@
+package de.superioz.moo.cloud.listeners.packet;
+
+import de.superioz.moo.cloud.Cloud;
+import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.packet.PacketAdapter;
+import de.superioz.moo.network.packet.PacketHandler;
+import de.superioz.moo.network.packets.PacketSubscribe;
+import de.superioz.moo.network.queries.ResponseStatus;
+import de.superioz.moo.network.server.SubscriptionIndex;
+
+/**
+ * This class listens on the subscriptions of the clients to topics
+ */
+public class PacketSubscribeListener implements PacketAdapter {
+
+    @PacketHandler
+    public void onSubscribe(PacketSubscribe packet) {
+        // only clients which finished the handshake can subscribe
+        MooClient client = Cloud.getInstance().getClientManager().get(packet.getAddress());
+        if(client == null) {
+            packet.respond(ResponseStatus.FORBIDDEN);
+            return;
+        }
+
+        SubscriptionIndex subscriptions = Cloud.getInstance().getServer().getSubscriptions();
+        if(packet.subscribe) {
+            subscriptions.subscribe(client, packet.topics);
+        }
+        else {
+            subscriptions.unsubscribe(client, packet.topics);
+        }
+        packet.respond(ResponseStatus.OK);
+    }
+
+}
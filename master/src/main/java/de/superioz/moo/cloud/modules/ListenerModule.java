@@ -39,7 +39,6 @@ public class ListenerModule extends Module {
         // packet adapter
         PacketAdapting.getInstance().register(
                 new PacketConfigListener(),
-                new PacketPingListener(),
                 new PacketRequestListener(),
                 new DaemonServerListener(),
                 new PacketConsoleInputListener(),
@@ -54,7 +53,8 @@ public class ListenerModule extends Module {
                 new PacketPlayerMessageListener(),
                 new PacketPlayerBanListener(),
                 new PacketServerInfoUpdateListener(),
-                new PacketServerHeartBeatListener()
+                new PacketServerHeartBeatListener(),
+                new PacketSubscribeListener()
         );
         Cloud.getInstance().getLogger().debug("Finished registering listeners.");
     }
@@ -13,16 +13,21 @@ import de.superioz.moo.cloud.events.CloudStartedEvent;
 import de.superioz.moo.cloud.events.HandshakeEvent;
 import de.superioz.moo.network.events.MooClientConnectedEvent;
 import de.superioz.moo.cloud.listeners.HandshakeListener;
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.event.NetworkEventAdapter;
 import de.superioz.moo.network.events.ServerStateEvent;
 import de.superioz.moo.network.packet.AbstractPacket;
 import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketPlayerKick;
+import de.superioz.moo.network.packets.PacketPlayerMessage;
 import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.TransportConfig;
 import de.superioz.moo.network.server.NetworkServer;
+import de.superioz.moo.network.util.NettyUtil;
 import io.netty.channel.Channel;
 import lombok.Getter;
 
-import java.net.InetSocketAddress;
 
 @ModuleDependency(modules = {"config"})
 @RunAsynchronous
@@ -45,6 +50,17 @@ public class NettyModule extends Module implements EventListener {
     protected void onEnable() {
         Cloud.getInstance().getLogger().info("Starting netty server ..");
         this.server = new NetworkServer(config.get("netty.host"), config.get("netty.port"), config, Cloud.getInstance().getLogger().getBaseLogger());
+        server.setTransport(TransportConfig.fromConfig(config, "netty.transport"));
+
+        // the cloud only forwards these packets to the proxies
+        server.addRelayedPacket(PacketPlayerMessage.class);
+        server.addRelayedPacket(PacketPlayerKick.class);
+
+        // the topics the clients get without subscribing (a proxy can narrow them down, e.g. to its own players)
+        // the missed changes of a resumed session are filtered by these, before the client subscribed again
+        server.setDefaultSubscriptions(ClientType.PROXY, Topic.all(Topic.SERVER), Topic.all(Topic.PLAYER), Topic.all(Topic.GROUP),
+                Topic.all(Topic.CONFIG));
+        server.setDefaultSubscriptions(ClientType.DAEMON, Topic.all(Topic.SERVER));
 
         // register protocol listeners
         //EventExecutor.getInstance().register(new NettyServerListener(server));
@@ -72,7 +88,7 @@ public class NettyModule extends Module implements EventListener {
 
             @Override
             public void onChannelInactive(Channel channel) {
-                MooClient client = Cloud.getInstance().getClientManager().get((InetSocketAddress)channel.remoteAddress());
+                MooClient client = Cloud.getInstance().getClientManager().get(NettyUtil.getRemoteAddress(channel));
                 if(client == null) return;
 
                 EventExecutor.getInstance().execute(new MooClientConnectedEvent(client));
@@ -4,7 +4,7 @@ import de.superioz.moo.network.common.MooCache;
 import de.superioz.moo.network.common.MooServer;
 import de.superioz.moo.cloud.Cloud;
 import de.superioz.moo.network.client.ClientType;
-import de.superioz.moo.network.common.PacketMessenger;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.packets.PacketServerUnregister;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -40,7 +40,8 @@ public class ServerHeartBeatCheckTask implements Runnable {
                     MooServer serverDeleted = Cloud.getInstance().getNetworkProxy().getSpigotServers().remove(uuid);
                     Cloud.getInstance().getLogger().debug("Server " + serverDeleted.getType()
                             + " [" + serverDeleted.getAddress().getHostName() + ":" + serverDeleted.getAddress().getPort() + "] timed out.");
-                    PacketMessenger.message(new PacketServerUnregister(serverDeleted.getAddress()), ClientType.PROXY);
+                    Cloud.getInstance().getServer().publishState(new PacketServerUnregister(serverDeleted.getAddress()),
+                            Topic.server(serverDeleted.getType()), ClientType.PROXY);
 
                     // sync with redis
                     MooCache.getInstance().getServerMap().removeAsync(uuid);
@@ -1,24 +1,38 @@
 package de.superioz.moo.network;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import de.superioz.moo.api.event.EventExecutor;
 import de.superioz.moo.api.event.EventHandler;
 import de.superioz.moo.api.event.EventListener;
 import de.superioz.moo.network.event.NetworkEventAdapter;
 import de.superioz.moo.network.common.PacketMessenger;
 import de.superioz.moo.network.events.PacketQueueEvent;
+import de.superioz.moo.network.lib.OutboundCounters;
+import de.superioz.moo.network.lib.OutboundPolicy;
+import de.superioz.moo.network.lib.PacketCapture;
 import de.superioz.moo.network.packet.AbstractPacket;
 import de.superioz.moo.network.packet.PacketRegistry;
 import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.packets.PacketKeepalive;
+import de.superioz.moo.network.packets.PacketRamUsage;
+import de.superioz.moo.network.packets.PacketServerInfoUpdate;
+import de.superioz.moo.network.util.PipelineUtil;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -45,6 +59,13 @@ public abstract class AbstractNetworkInstance implements EventListener {
      */
     protected Channel channel;
 
+    /**
+     * The capture of the received frames (null if they aren't recorded)
+     *
+     * @see TransportConfig#getCaptureFile()
+     */
+    protected PacketCapture capture;
+
     /**
      * The logger
      */
@@ -61,15 +82,38 @@ public abstract class AbstractNetworkInstance implements EventListener {
     private int port;
 
     /**
-     * The callback system
+     * The transport settings (threads, socket options, buffers, ..). Has to be set before {@link #setup()}
+     */
+    @Setter
+    private TransportConfig transport = new TransportConfig();
+
+    /**
+     * The policies for packets which can't be written immediately (packetClass:policy)
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, OutboundPolicy> outboundPolicies = new ConcurrentHashMap<>();
+
+    /**
+     * The classes of the packets which are only relayed by this instance (the payload of their frame is kept until
+     * they are processed)
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<Class<?>> relayedPackets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The counters of the packets which couldn't be written immediately
+     */
+    private final OutboundCounters outboundCounters = new OutboundCounters();
+
+    /**
+     * The measured latencies (round trips of the channels, requests, ..)
      */
-    private final Cache<UUID, List<Consumer<AbstractPacket>>> callbacks = CacheBuilder.newBuilder()
-            .expireAfterWrite(15, TimeUnit.MINUTES).build();
+    private final NetworkStats stats = new NetworkStats();
 
     /**
      * The network event adapters
      */
-    private final List<NetworkEventAdapter> eventAdapters = new ArrayList<>();
+    private final List<NetworkEventAdapter> eventAdapters = new CopyOnWriteArrayList<>();
 
     public AbstractNetworkInstance(String host, int port, Logger logger) {
         this.host = host;
@@ -80,29 +124,119 @@ public abstract class AbstractNetworkInstance implements EventListener {
         EventExecutor.getInstance().register(this);
         this.registry = PacketRegistry.fromProtocol();
 
+        // periodical packets don't need to wait
+        setOutboundPolicy(PacketKeepalive.class, OutboundPolicy.DROP);
+        setOutboundPolicy(PacketRamUsage.class, OutboundPolicy.coalesce());
+        setOutboundPolicy(PacketServerInfoUpdate.class, OutboundPolicy.<PacketServerInfoUpdate>coalesce(packet -> packet.serverAddress));
+
         this.networkBus = new NetworkBus(this);
     }
 
     public abstract <T extends AbstractNetworkInstance> T setup();
 
+    /**
+     * Lets the network bus run the handlers and callbacks on given threads instead of its own (e.g. for many
+     * clients in one program). Has to be called before {@link #setup()}
+     *
+     * @param workers   The workers (see {@link NetworkBus#createWorkers(int)})
+     * @param executors The executors for the callbacks (see {@link NetworkBus#createExecutors()})
+     */
+    public void shareThreads(ThreadPoolExecutor workers, ExecutorService executors) {
+        networkBus.shutdown();
+        this.networkBus = new NetworkBus(this, workers, executors);
+    }
+
+    /**
+     * Gets the address the server binds to or the client connects to (the in-vm address if the transport is local)
+     *
+     * @return The address
+     * @see TransportConfig#isLocal()
+     */
+    public SocketAddress getAddress() {
+        return transport.isLocal() ? new LocalAddress(transport.getLocalAddress()) : new InetSocketAddress(host, port);
+    }
+
+    /**
+     * Checks if given channel belongs to another instance of this program (e.g. the server and a client connected
+     * over the in-vm transport). Every instance receives the {@link PacketQueueEvent}s, but only the owner of the
+     * channel may send the packet (responses don't use the event, see {@link AbstractPacket#respond(AbstractPacket, Consumer[])})
+     *
+     * @param channel The channel
+     * @return The result
+     */
+    private boolean isForeign(Channel channel) {
+        AbstractNetworkInstance instance = channel == null ? null : PipelineUtil.getInstance(channel);
+        return instance != null && instance != this;
+    }
+
     @EventHandler
     public void onPacketQueue(PacketQueueEvent event) {
+        if(!event.getChannels().isEmpty()) {
+            List<Channel> channels = new ArrayList<>(event.getChannels());
+            channels.removeIf(this::isForeign);
+            if(channels.isEmpty()) return;
+
+            getNetworkBus().processOut(channels, event.getPacket(), event.getCallbacks());
+            return;
+        }
+
         Channel ch = event.getChannel();
         if(ch == null) {
             ch = this.channel;
         }
-        if(event.getPacket() == null) {
+        if(event.getPacket() == null || isForeign(ch)) {
             return;
         }
         getNetworkBus().processOut(ch, event.getPacket(), event.getCallbacks());
     }
 
+    /**
+     * Sets the policy for packets of given class which can't be written immediately
+     *
+     * @param packetClass The class of the packets
+     * @param policy      The policy
+     * @see OutboundQueueHandler
+     */
+    public void setOutboundPolicy(Class<? extends AbstractPacket> packetClass, OutboundPolicy policy) {
+        outboundPolicies.put(packetClass, policy);
+    }
+
+    /**
+     * Gets the policy for packets of given class which can't be written immediately
+     *
+     * @param packetClass The class of the packets
+     * @return The policy ({@link OutboundPolicy#QUEUE} by default)
+     */
+    public OutboundPolicy getOutboundPolicy(Class<? extends AbstractPacket> packetClass) {
+        return outboundPolicies.getOrDefault(packetClass, OutboundPolicy.QUEUE);
+    }
+
+    /**
+     * Marks packets of given class as relayed. Received packets of this class keep the payload of their frame, so
+     * that forwarding them (see {@link AbstractPacket#forwardCopy()}) costs neither a reflective copy nor encoding
+     *
+     * @param packetClass The class of the packets
+     */
+    public void addRelayedPacket(Class<? extends AbstractPacket> packetClass) {
+        relayedPackets.add(packetClass);
+    }
+
+    /**
+     * Checks if packets of given class are relayed
+     *
+     * @param packetClass The class of the packets
+     * @return The result
+     */
+    public boolean isRelayedPacket(Class<? extends AbstractPacket> packetClass) {
+        return relayedPackets.contains(packetClass);
+    }
+
     /**
      * Calls an event for all adapter
      *
      * @param adapterConsumer The consumer of the adapter
      */
-    public synchronized void callEvent(Consumer<NetworkEventAdapter> adapterConsumer) {
+    public void callEvent(Consumer<NetworkEventAdapter> adapterConsumer) {
         eventAdapters.forEach(adapterConsumer);
     }
 
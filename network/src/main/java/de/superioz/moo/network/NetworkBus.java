@@ -1,24 +1,42 @@
 package de.superioz.moo.network;
 
-import com.google.common.base.Charsets;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.EncodedPacket;
 import de.superioz.moo.network.packet.PacketAdapting;
+import de.superioz.moo.network.packet.PacketEncoder;
 import de.superioz.moo.network.packets.MultiPacket;
+import de.superioz.moo.network.packets.PacketCompression;
 import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketPing;
 import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.packets.PacketStateMark;
+import de.superioz.moo.network.client.NetworkClient;
 import de.superioz.moo.network.server.NetworkServer;
+import de.superioz.moo.network.util.NettyUtil;
+import de.superioz.moo.network.util.OrderedExecutor;
+import de.superioz.moo.network.util.PipelineUtil;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
 import lombok.Getter;
 
-import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 
 /**
@@ -29,12 +47,228 @@ public class NetworkBus {
     @Getter
     private AbstractNetworkInstance handle;
 
+    /**
+     * The default amount of threads handling incoming packets
+     */
+    public static final int DEFAULT_WORKER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * The amount of waiting packets of one channel above which the channel isn't read anymore and below which it is
+     * read again. The sender is slowed down by tcp instead of filling the heap
+     */
+    public static final int CHANNEL_QUEUE_HIGH_MARK = 256;
+    public static final int CHANNEL_QUEUE_LOW_MARK = 64;
+
+    /**
+     * The maximum amount of waiting packets of one channel. It can only be reached by the packets which were already
+     * read when the channel stopped reading; packets above are dropped
+     */
+    public static final int CHANNEL_QUEUE_CAPACITY = 4 * CHANNEL_QUEUE_HIGH_MARK;
+
+    /**
+     * The key of the {@link OrderedExecutor} of every channel
+     */
+    private static final AttributeKey<OrderedExecutor> CHANNEL_EXECUTOR = AttributeKey.valueOf("moo-channel-executor");
+
+    @Getter
+    private ExecutorService executors;
+
+    /**
+     * The workers which run the packet handlers (outside of the netty threads). Their queue only holds one task per
+     * channel (the channel queues are bounded themselves) and the responses to pending requests, so it is never run
+     * on the netty thread
+     */
     @Getter
-    private ExecutorService executors
-            = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("networkbus-pool-%d").build());
+    private ThreadPoolExecutor workers;
+
+    /**
+     * The requests waiting for a response
+     */
+    @Getter
+    private PendingRequests pendingRequests;
+
+    /**
+     * If the {@link #workers} and {@link #executors} belong to this bus (and are stopped with it)
+     */
+    private boolean ownThreads;
 
     public NetworkBus(AbstractNetworkInstance handle) {
+        this(handle, DEFAULT_WORKER_THREADS);
+    }
+
+    public NetworkBus(AbstractNetworkInstance handle, int workerThreads) {
+        this(handle, createWorkers(workerThreads), createExecutors(), true);
+    }
+
+    /**
+     * Creates a bus which runs the handlers and callbacks on given threads instead of its own (e.g. the threads
+     * shared by many clients in one program). Shutting the bus down doesn't stop them
+     *
+     * @param handle    The network instance
+     * @param workers   The workers (see {@link #createWorkers(int)})
+     * @param executors The executors for the callbacks (see {@link #createExecutors()})
+     */
+    public NetworkBus(AbstractNetworkInstance handle, ThreadPoolExecutor workers, ExecutorService executors) {
+        this(handle, workers, executors, false);
+    }
+
+    private NetworkBus(AbstractNetworkInstance handle, ThreadPoolExecutor workers, ExecutorService executors, boolean ownThreads) {
         this.handle = handle;
+        this.workers = workers;
+        this.executors = executors;
+        this.ownThreads = ownThreads;
+        this.pendingRequests = new PendingRequests(executors, handle.getStats());
+    }
+
+    /**
+     * Creates the workers which run the packet handlers
+     *
+     * @param threads The amount of threads
+     * @return The workers
+     */
+    public static ThreadPoolExecutor createWorkers(int threads) {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("networkbus-worker-%d").build());
+        workers.allowCoreThreadTimeOut(true);
+        return workers;
+    }
+
+    /**
+     * Creates the executors which run the callbacks of the requests
+     *
+     * @return The executors
+     */
+    public static ExecutorService createExecutors() {
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("networkbus-pool-%d").build());
+    }
+
+    /**
+     * Hands the packet over to the workers (called from the netty thread after decoding)<br>
+     * Packets of the same channel are processed in the order they were received, but packets of different
+     * channels are processed in parallel. Responses to pending requests skip the order of the channel, because the
+     * handler waiting for them could block the channel otherwise<br>
+     * If too many packets of a channel are waiting, the channel stops reading until the workers caught up
+     *
+     * @param channel The channel who sent the packet
+     * @param packet  The packet which was sent
+     */
+    public void dispatch(Channel channel, AbstractPacket packet) {
+        packet.setReceived(System.nanoTime());
+
+        // pings are answered on the netty thread, so that the round trip doesn't contain the time waiting for a worker
+        if(packet instanceof PacketPing && processPing(channel, (PacketPing) packet)) return;
+
+        // the echo of the compression has to be written before any other frame of this thread
+        if(packet instanceof PacketCompression) {
+            processCompression(channel, (PacketCompression) packet);
+            return;
+        }
+
+        Runnable task = () -> {
+            try {
+                processIn(channel, packet);
+            }
+            finally {
+                packet.releaseBuf();
+            }
+        };
+
+        try {
+            if(packet.isResponse() && pendingRequests.contains(packet.getQueryId())) {
+                workers.execute(task);
+                return;
+            }
+            getChannelExecutor(channel).execute(task);
+        }
+        catch(RejectedExecutionException e) {
+            packet.releaseBuf();
+            handle.getLogger().warning("Dropped " + packet.getName() + " from " + NettyUtil.getRemoteAddress(channel)
+                    + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Answers given ping with its own timestamp or, if it is the answer to an own ping, records the round trip of the
+     * channel. A client which didn't shake hands yet doesn't get an answer from the server<br>
+     * The answer to a ping which was sent as request (with a callback waiting for it) isn't processed here
+     *
+     * @param channel The channel who sent the ping
+     * @param ping    The ping
+     * @return If the ping has been processed
+     * @see NetworkStats#getRoundTrip(Channel)
+     */
+    private boolean processPing(Channel channel, PacketPing ping) {
+        if(ping.isResponse()) {
+            if(pendingRequests.contains(ping.getQueryId())) return false;
+            handle.getStats().recordRoundTrip(channel, System.nanoTime() - ping.timestamp);
+            return true;
+        }
+        if(handle instanceof NetworkServer
+                && !((NetworkServer) handle).getClientManager().contains(NettyUtil.getRemoteAddress(channel))) {
+            return false;
+        }
+
+        ping.setChannel(channel);
+        ping.respond(new PacketPing(ping.timestamp));
+        return true;
+    }
+
+    /**
+     * Echoes the compression threshold the server announced, so that the server decompresses the frames of this client
+     * from then on (the inflater and deflater are added by the codec, see {@link PipelineUtil#addInflater})<br>
+     * The echo of the client only confirms the switch, so the server doesn't answer it
+     *
+     * @param channel     The channel who sent the announcement
+     * @param compression The announcement
+     */
+    private void processCompression(Channel channel, PacketCompression compression) {
+        if(!(handle instanceof NetworkClient) || compression.isResponse()) return;
+
+        compression.setChannel(channel);
+        compression.respond(new PacketCompression(compression.threshold));
+    }
+
+    /**
+     * Sends a ping to given channel (the echo is recorded as round trip of the channel)
+     *
+     * @param channel The channel
+     */
+    public void ping(Channel channel) {
+        processOut(channel, new PacketPing(System.nanoTime()));
+    }
+
+    /**
+     * Gets the executor which keeps the order of the packets from given channel
+     *
+     * @param channel The channel
+     * @return The executor
+     */
+    private OrderedExecutor getChannelExecutor(Channel channel) {
+        Attribute<OrderedExecutor> attribute = channel.attr(CHANNEL_EXECUTOR);
+        OrderedExecutor executor = attribute.get();
+
+        if(executor == null) {
+            executor = new OrderedExecutor(workers, throwable -> {
+                handle.getLogger().warning("Error while processing packet: " + throwable);
+                throwable.printStackTrace();
+            }, CHANNEL_QUEUE_CAPACITY, CHANNEL_QUEUE_HIGH_MARK, CHANNEL_QUEUE_LOW_MARK,
+                    throttle -> channel.config().setAutoRead(!throttle));
+            OrderedExecutor old = attribute.setIfAbsent(executor);
+            if(old != null) executor = old;
+        }
+        return executor;
+    }
+
+    /**
+     * Shuts the workers down (if they aren't shared with other buses)
+     */
+    public void shutdown() {
+        pendingRequests.shutdown();
+        if(!ownThreads) return;
+
+        workers.shutdown();
+        executors.shutdown();
     }
 
     /**
@@ -43,12 +277,11 @@ public class NetworkBus {
      * @param channel The channel who sent the packet
      * @param packet  The packet which was sent
      */
-    public synchronized void processIn(Channel channel, AbstractPacket packet) {
+    public void processIn(Channel channel, AbstractPacket packet) {
         // call request/response system
         // Also the packets request/response system
-        //UUID packetQuid = packet.getQueryUid();
         if(channel != null) {
-            /*String id = (packet.getQueryUid() + "").substring(0, 2);
+            /*String id = (packet.getQueryId() + "");
             id = ConsoleColor.translateLowSpectrum('&', "&" + (id.substring(0, 1))) + id + ConsoleColor.RESET;
 
             handle.getLogger().info("[Incoming " + id + "] '" + packet.getName() + "'");*/
@@ -62,18 +295,22 @@ public class NetworkBus {
             NetworkServer server = (NetworkServer) handle;
 
             if(channel != null
-                    && !server.getClientManager().contains((InetSocketAddress) channel.remoteAddress())) {
+                    && !server.getClientManager().contains(NettyUtil.getRemoteAddress(channel))) {
                 packet.respond(new PacketRespond(ResponseStatus.FORBIDDEN));
                 return;
             }
         }
+        else if(packet instanceof PacketStateMark && handle instanceof NetworkClient) {
+            // remember the last state change for resuming the session
+            ((NetworkClient) handle).setStateSequence(((PacketStateMark) packet).sequence);
+        }
 
         // call handler event
         handle.callEvent(adapter -> adapter.onPacketReceive(packet));
 
         // handle callbacks
-        if(handle.getCallbacks().asMap().containsKey(packet.getQueryUid())) {
-            List<Consumer<AbstractPacket>> callbacks = handle.getCallbacks().getIfPresent(packet.getQueryUid());
+        if(packet.isResponse()) {
+            List<Consumer<AbstractPacket>> callbacks = pendingRequests.complete(packet.getQueryId());
             if(callbacks != null) {
                 // found callbacks for this packet, execute them ..
                 executors.execute(() -> callbacks.forEach(consumer -> consumer.accept(packet)));
@@ -82,22 +319,7 @@ public class NetworkBus {
 
         // if the packet includes multiple packets (= MultiPacket)
         if(packet instanceof MultiPacket) {
-            final ResponseStatus[] status = new ResponseStatus[]{null};
-            List<AbstractPacket> packetList = ((MultiPacket<AbstractPacket>) packet).getPacketList();
-            handle.getLogger().info("Received multi packet(" + ((MultiPacket) packet).getPacketName() + "). " +
-                    "Divided it into " + packetList.size() + " sub-packets.");
-
-            for(AbstractPacket subPacket : packetList) {
-                subPacket.interceptRespond(packet1 -> {
-                    if(packet1 instanceof PacketRespond) {
-                        status[0] = ((PacketRespond) packet1).status;
-                    }
-                });
-                processIn(null, subPacket);
-
-                if(status[0] != null && status[0] != ResponseStatus.OK) break;
-            }
-            if(status[0] != null) packet.respond(status[0]);
+            processMulti((MultiPacket<AbstractPacket>) packet);
         }
 
         // call packets processing
@@ -105,46 +327,192 @@ public class NetworkBus {
     }
 
     /**
-     * Processes the packet (last step before sending)
+     * Processes the sub-packets of given multi packet and responds with the status of every sub-packet<br>
+     * Parallel sub-packets are handed over to the workers, the last finished sub-packet sends the response. A status
+     * only counts if the sub-packet was answered while it was processed (later responses are ignored)
      *
-     * @param channel   The channel to send the packet to
-     * @param packet    The packet to be sent
-     * @param callbacks Callback after receiving a respond
+     * @param packet The multi packet
      */
-    public synchronized void processOut(Channel channel, AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
-        if(channel == null) {
+    private void processMulti(MultiPacket<AbstractPacket> packet) {
+        List<AbstractPacket> packetList = packet.getPacketList();
+        handle.getLogger().info("Received multi packet(" + packet.getPacketName() + "). " +
+                "Divided it into " + packetList.size() + " sub-packets" + (packet.isParallel() ? " (parallel)." : "."));
+        if(packetList.isEmpty()) return;
+
+        AtomicReferenceArray<ResponseStatus> statuses = new AtomicReferenceArray<>(packetList.size());
+        AtomicBoolean responded = new AtomicBoolean(false);
+
+        // sequential processing stops at the first failed sub-packet
+        if(!packet.isParallel()) {
+            int processed = 0;
+            for(int i = 0; i < packetList.size(); i++) {
+                processed++;
+                ResponseStatus status = processSubPacket(packetList.get(i), i, statuses, responded);
+                if(status != null && status.isNok()) break;
+            }
+            respondMulti(packet, statuses, processed, responded);
             return;
         }
 
-        // send time and identifier
-        packet.setStamp(System.currentTimeMillis());
-        if(packet.getQueryUid() == null) {
-            packet.setQueryUid(UUID.nameUUIDFromBytes(("Time:" + System.nanoTime()).getBytes(Charsets.UTF_8)));
+        AtomicInteger remaining = new AtomicInteger(packetList.size());
+        for(int i = 0; i < packetList.size(); i++) {
+            AbstractPacket subPacket = packetList.get(i);
+            int index = i;
+
+            workers.execute(() -> {
+                processSubPacket(subPacket, index, statuses, responded);
+                if(remaining.decrementAndGet() == 0) respondMulti(packet, statuses, statuses.length(), responded);
+            });
         }
-        channel.writeAndFlush(packet);
+    }
+
+    /**
+     * Processes one sub-packet of a multi packet
+     *
+     * @param subPacket The sub-packet
+     * @param index     The index inside the multi packet
+     * @param statuses  The statuses of the sub-packets
+     * @param responded If any sub-packet has been responded
+     * @return The status of the sub-packet or null (if it wasn't responded)
+     */
+    private ResponseStatus processSubPacket(AbstractPacket subPacket, int index,
+                                            AtomicReferenceArray<ResponseStatus> statuses, AtomicBoolean responded) {
+        subPacket.interceptRespond(respond -> {
+            if(respond instanceof PacketRespond) {
+                statuses.set(index, ((PacketRespond) respond).status);
+                responded.set(true);
+            }
+        });
 
-        // releases the packetbuf
         try {
-            packet.getBuf().release();
+            processIn(null, subPacket);
         }
         catch(Exception e) {
-            //
+            handle.getLogger().warning("Error while processing sub-packet " + subPacket.getName() + ": " + e);
+            e.printStackTrace();
+            statuses.set(index, ResponseStatus.INTERNAL_ERROR);
+            responded.set(true);
         }
+        return statuses.get(index);
+    }
 
-        // callbacks
-        if(callbacks.length != 0) {
-            handle.getCallbacks().put(packet.getQueryUid(), new ArrayList<>(Arrays.asList(callbacks)));
+    /**
+     * Responds to the multi packet with the statuses of the processed sub-packets (a sub-packet without response counts
+     * as {@link ResponseStatus#OK}). Nothing is sent if no sub-packet has been responded
+     *
+     * @param packet    The multi packet
+     * @param statuses  The statuses of the sub-packets
+     * @param processed The amount of processed sub-packets
+     * @param responded If any sub-packet has been responded
+     */
+    private void respondMulti(MultiPacket<AbstractPacket> packet, AtomicReferenceArray<ResponseStatus> statuses,
+                              int processed, AtomicBoolean responded) {
+        if(!responded.get()) return;
+
+        List<ResponseStatus> list = new ArrayList<>(processed);
+        for(int i = 0; i < processed; i++) {
+            ResponseStatus status = statuses.get(i);
+            list.add(status == null ? ResponseStatus.OK : status);
         }
+        packet.respond(MultiPacket.createResponse(list));
+    }
+
+    /**
+     * Processes the packet for multiple channels (last step before sending)<br>
+     * The packet is encoded only once and every channel gets a duplicate of the same buffer, so a broadcast costs
+     * one encode instead of one per channel
+     *
+     * @param channels  The channels to send the packet to
+     * @param packet    The packet to be sent
+     * @param callbacks Callback after receiving a respond (registered once for all channels)
+     */
+    public void processOut(Collection<Channel> channels, AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
+        List<Channel> targets = new ArrayList<>(channels.size());
+        for(Channel channel : channels) {
+            if(channel != null) targets.add(channel);
+        }
+        if(targets.size() <= 1) {
+            processOut(targets.isEmpty() ? null : targets.get(0), packet, callbacks);
+            return;
+        }
+
+        prepareOut(packet, callbacks);
+
+        ByteBuf buf = targets.get(0).alloc().ioBuffer();
+        try {
+            PacketEncoder.encode(handle.getRegistry(), Protocol.PROTOCOL_VERSION, packet, buf);
+        }
+        catch(Exception e) {
+            buf.release();
+            handle.getLogger().warning("Error while encoding " + packet.getName() + ": " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+        finally {
+            // releases the payload of a relayed packet
+            ReferenceCountUtil.release(packet);
+        }
+
+        for(Channel channel : targets) {
+            channel.writeAndFlush(new EncodedPacket(packet, buf.retainedDuplicate()));
+            handle.callEvent(adapter -> adapter.onPacketSend(packet));
+        }
+        buf.release();
+    }
+
+    /**
+     * Processes the packet (last step before sending)
+     *
+     * @param channel   The channel to send the packet to
+     * @param packet    The packet to be sent
+     * @param callbacks Callback after receiving a respond
+     */
+    public void processOut(Channel channel, AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
+        if(channel == null) {
+            ReferenceCountUtil.release(packet);
+            return;
+        }
+
+        prepareOut(packet, callbacks);
+
+        // the flush is batched by the pipeline (see FlushBatchHandler)
+        channel.writeAndFlush(packet);
 
         // call handler event
         handle.callEvent(adapter -> adapter.onPacketSend(packet));
 
         // packet content
         /*String content = (packet instanceof PacketRespond ? " {" + packet.toString().split("\"payload\": ")[1] : "");
-        String id = (packet.getQueryUid() + "").substring(0, 2);
+        String id = (packet.getQueryId() + "");
         id = ConsoleColor.translateLowSpectrum('&', "&" + (id.substring(0, 1))) + id + ConsoleColor.RESET;
 
         handle.getLogger().info("[Outgoing " + id + "] '" + packet.getName() + "'" + content);*/
     }
 
+    /**
+     * Sets the time and identifier of the packet and registers the callbacks
+     *
+     * @param packet    The packet to be sent
+     * @param callbacks Callback after receiving a respond
+     */
+    private void prepareOut(AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
+        // send time and identifier
+        packet.setStamp(System.currentTimeMillis());
+        if(packet.getQueryId() == 0) {
+            packet.setQueryId(pendingRequests.nextId());
+        }
+
+        // callbacks (before sending, otherwise the response could be faster)
+        // a response has the id of the other side, so a callback can only wait for a new request
+        if(callbacks.length != 0 && !packet.isResponse()) {
+            pendingRequests.register(packet.getQueryId(), packet.getName(),
+                    new ArrayList<>(Arrays.asList(callbacks)), handle.getTransport().getRequestTimeout());
+        }
+
+        // the time the request of the other side needed to be handled
+        if(packet.isResponse() && packet.getRequestReceived() != 0) {
+            handle.getStats().recordHandling(packet.getRequestName(), System.nanoTime() - packet.getRequestReceived());
+        }
+    }
+
 }
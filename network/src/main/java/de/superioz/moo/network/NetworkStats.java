@@ -0,0 +1,128 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.api.util.LatencyHistogram;
+import de.superioz.moo.network.packets.PacketPing;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The latencies measured by a {@link AbstractNetworkInstance}, to tell if time goes into the network, into the
+ * handling of the other side or into waiting for the response:
+ * <ul>
+ * <li>round trip of every channel (a {@link PacketPing} answered directly by the network layer of the other side)</li>
+ * <li>request latency per packet (sending a request until receiving its response)</li>
+ * <li>handling time per packet (receiving a request until sending its response)</li>
+ * </ul>
+ */
+public class NetworkStats {
+
+    /**
+     * The key of the round trip histogram of every channel
+     */
+    private static final AttributeKey<LatencyHistogram> ROUND_TRIP = AttributeKey.valueOf("moo-round-trip");
+
+    /**
+     * The latencies of the requests (packetName:histogram)
+     */
+    private final Map<String, LatencyHistogram> requests = new ConcurrentHashMap<>();
+
+    /**
+     * The handling times of the requests of the other side (packetName:histogram)
+     */
+    private final Map<String, LatencyHistogram> handling = new ConcurrentHashMap<>();
+
+    /**
+     * Records the latency of a request
+     *
+     * @param packetName The name of the request packet
+     * @param nanos      The time from sending the request until receiving the response
+     */
+    public void recordRequest(String packetName, long nanos) {
+        requests.computeIfAbsent(packetName, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the handling time of a request
+     *
+     * @param packetName The name of the request packet
+     * @param nanos      The time from receiving the request until sending the response
+     */
+    public void recordHandling(String packetName, long nanos) {
+        handling.computeIfAbsent(packetName, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the round trip of given channel
+     *
+     * @param channel The channel
+     * @param nanos   The time from sending a ping until receiving its echo
+     */
+    public void recordRoundTrip(Channel channel, long nanos) {
+        getRoundTrip(channel).record(nanos);
+    }
+
+    /**
+     * Gets the round trips of given channel
+     *
+     * @param channel The channel
+     * @return The histogram (empty if nothing was measured yet)
+     */
+    public LatencyHistogram getRoundTrip(Channel channel) {
+        Attribute<LatencyHistogram> attribute = channel.attr(ROUND_TRIP);
+        LatencyHistogram histogram = attribute.get();
+
+        if(histogram == null) {
+            histogram = new LatencyHistogram();
+            LatencyHistogram old = attribute.setIfAbsent(histogram);
+            if(old != null) histogram = old;
+        }
+        return histogram;
+    }
+
+    /**
+     * Gets the latencies of the requests
+     *
+     * @return The histograms (packetName:histogram)
+     */
+    public Map<String, LatencyHistogram> getRequests() {
+        return Collections.unmodifiableMap(requests);
+    }
+
+    /**
+     * Gets the handling times of the requests of the other side
+     *
+     * @return The histograms (packetName:histogram)
+     */
+    public Map<String, LatencyHistogram> getHandling() {
+        return Collections.unmodifiableMap(handling);
+    }
+
+    /**
+     * Resets every histogram (except the round trips, they belong to the channels)
+     */
+    public void reset() {
+        requests.clear();
+        handling.clear();
+    }
+
+    /**
+     * Gets the histograms as readable lines (sorted by packet name), e.g. for displaying them in the console
+     *
+     * @return The list of lines
+     */
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(requests).forEach((name, histogram) -> lines.add("request " + name + ": " + histogram));
+        new TreeMap<>(handling).forEach((name, histogram) -> lines.add("handling " + name + ": " + histogram));
+        return lines;
+    }
+
+}
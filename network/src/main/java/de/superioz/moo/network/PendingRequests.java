@@ -0,0 +1,203 @@
+package de.superioz.moo.network;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.ResponseStatus;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The table of the requests which wait for a response<br>
+ * Every request gets an id of one counter (so the id is unique on every connection of this instance) and a deadline
+ * on a hashed timer wheel. If no response came back until the deadline, the callbacks receive a response with
+ * {@link ResponseStatus#TIMEOUT}. A response extends the deadline, because some requests are answered more than once
+ * (e.g. one response per started server)
+ */
+public class PendingRequests {
+
+    /**
+     * The default time (in milliseconds) to wait for a response
+     */
+    public static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+    /**
+     * The ids of the requests
+     */
+    private final AtomicLong ids = new AtomicLong();
+
+    /**
+     * The pending requests (id:request)
+     */
+    private final Map<Long, Request> pending = new ConcurrentHashMap<>();
+
+    /**
+     * The timer for the deadlines of every table (the accuracy of 100ms is enough for timeouts of seconds). One
+     * thread for all instances in the program, the expired deadlines only hand the callbacks over to the executor
+     */
+    private static final Timer TIMER = new HashedWheelTimer(
+            new ThreadFactoryBuilder().setNameFormat("networkbus-timeout-%d").setDaemon(true).build(),
+            100, TimeUnit.MILLISECONDS);
+
+    /**
+     * The executor which runs the callbacks
+     */
+    private final Executor executor;
+
+    /**
+     * The stats which get the latency of every request (can be null)
+     */
+    private final NetworkStats stats;
+
+    public PendingRequests(Executor executor, NetworkStats stats) {
+        this.executor = executor;
+        this.stats = stats;
+    }
+
+    public PendingRequests(Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * Gets the next id for a request
+     *
+     * @return The id (never 0)
+     */
+    public long nextId() {
+        return ids.incrementAndGet();
+    }
+
+    /**
+     * Registers the callbacks for the request with given id<br>
+     * If the request is sent to multiple channels the callbacks are only registered once
+     *
+     * @param id        The id of the request
+     * @param name      The name of the request packet (for the latency, see {@link NetworkStats#recordRequest(String, long)})
+     * @param callbacks The callbacks
+     * @param timeout   The time (in milliseconds) to wait for a response
+     */
+    public void register(long id, String name, List<Consumer<AbstractPacket>> callbacks, long timeout) {
+        pending.computeIfAbsent(id, key -> {
+            Request request = new Request(key, name, callbacks, timeout);
+            request.schedule();
+            return request;
+        });
+    }
+
+    public void register(long id, List<Consumer<AbstractPacket>> callbacks, long timeout) {
+        register(id, null, callbacks, timeout);
+    }
+
+    /**
+     * Checks if a request with given id waits for a response
+     *
+     * @param id The id
+     * @return The result
+     */
+    public boolean contains(long id) {
+        return pending.containsKey(id);
+    }
+
+    /**
+     * Gets the callbacks of the request with given id (because a response came back)
+     *
+     * @param id The id of the request
+     * @return The callbacks or null (if there is no pending request)
+     */
+    public List<Consumer<AbstractPacket>> complete(long id) {
+        Request request = pending.get(id);
+        if(request == null) return null;
+
+        // the latency until the first response
+        if(!request.answered && stats != null && request.name != null) {
+            stats.recordRequest(request.name, System.nanoTime() - request.sent);
+        }
+        request.schedule();
+        return request.callbacks;
+    }
+
+    /**
+     * Gets the amount of pending requests
+     *
+     * @return The size
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Cancels the deadlines of the pending requests (they won't time out anymore). The timer is shared, so it
+     * keeps running
+     */
+    public void shutdown() {
+        for(Request request : pending.values()) {
+            request.cancel();
+        }
+        pending.clear();
+    }
+
+    /**
+     * A request waiting for its response
+     */
+    private class Request {
+
+        private final long id;
+        private final String name;
+        private final List<Consumer<AbstractPacket>> callbacks;
+        private final long timeout;
+        private final long sent = System.nanoTime();
+
+        private volatile Timeout deadline;
+        private volatile boolean answered = false;
+
+        Request(long id, String name, List<Consumer<AbstractPacket>> callbacks, long timeout) {
+            this.id = id;
+            this.name = name;
+            this.callbacks = callbacks;
+            this.timeout = timeout;
+        }
+
+        /**
+         * (Re-)Schedules the deadline of this request
+         */
+        synchronized void schedule() {
+            if(deadline != null) {
+                answered = true;
+                deadline.cancel();
+            }
+            deadline = TIMER.newTimeout(this::expire, timeout, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Cancels the deadline of this request
+         */
+        synchronized void cancel() {
+            if(deadline != null) deadline.cancel();
+        }
+
+        /**
+         * Removes the request and tells the callbacks if no response came back
+         *
+         * @param timeout The timeout of the timer
+         */
+        private synchronized void expire(Timeout timeout) {
+            if(timeout != deadline || !pending.remove(id, this) || answered) return;
+
+            PacketRespond respond = new PacketRespond(ResponseStatus.TIMEOUT);
+            respond.setQueryId(id);
+            respond.setResponse(true);
+            executor.execute(() -> callbacks.forEach(consumer -> consumer.accept(respond)));
+        }
+
+    }
+
+}
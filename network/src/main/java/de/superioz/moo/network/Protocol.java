@@ -34,7 +34,10 @@ public enum Protocol {
     CONSOLE_OUTPUT(PacketConsoleOutput.class),
     CONSOLE_INPUT(PacketConsoleInput.class),
     SERVER_INFO_UPDATE(PacketServerInfoUpdate.class),
-    PATTERN_STATE(PacketPatternState.class)
+    PATTERN_STATE(PacketPatternState.class),
+    STATE_MARK(PacketStateMark.class),
+    SUBSCRIBE(PacketSubscribe.class),
+    COMPRESSION(PacketCompression.class)
     ;
 
     public static final int PROTOCOL_VERSION = values().length + 42;
@@ -0,0 +1,305 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.api.io.JsonConfig;
+import de.superioz.moo.network.client.ReconnectBackoff;
+import de.superioz.moo.network.lib.FlushBatchHandler;
+import de.superioz.moo.network.lib.OutboundQueueHandler;
+import de.superioz.moo.network.lib.PacketCapture;
+import de.superioz.moo.network.lib.PacketCompressor;
+import de.superioz.moo.network.server.NetworkServer;
+import de.superioz.moo.network.server.SessionLog;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The transport settings of a {@link AbstractNetworkInstance} (threads, socket options, buffers, ..)<br>
+ * Can be read from a section of the json config of the module, e.g.:
+ * <pre>
+ * "transport": {
+ *   "worker-threads": 8,
+ *   "tcp-no-delay": true,
+ *   "send-buffer-size": 262144
+ * }
+ * </pre>
+ * Every missing key keeps its default value.
+ */
+@Getter
+@Setter
+public class TransportConfig {
+
+    /**
+     * The name of the in-vm address (empty = tcp)<br>
+     * If set, the server binds and the clients connect to a netty {@link io.netty.channel.local.LocalAddress} with
+     * this name instead of a socket. Only works if the server and its clients run in the same program (tests, small
+     * single host setups), but saves the kernel round trips
+     */
+    private String localAddress = "";
+
+    /**
+     * The path of the unix domain socket (empty = tcp only)<br>
+     * If set, the server listens on this socket in addition to its tcp port and the clients connect to it instead of
+     * the tcp port if the server runs on the same host (e.g. the spigot servers started by a daemon next to the
+     * cloud). Only works with epoll, otherwise tcp is used
+     */
+    private String domainSocket = "";
+
+    /**
+     * The threads accepting connections (only for servers)
+     */
+    private int bossThreads = 1;
+
+    /**
+     * The threads handling the channels (0 = netty default, twice the amount of cores)<br>
+     * All clients of one program share one event loop group
+     */
+    private int workerThreads = 0;
+
+    /**
+     * If the buffers are pooled (direct if possible) instead of being allocated for every frame
+     */
+    private boolean pooledAllocator = true;
+
+    /**
+     * If small frames are sent immediately (disables Nagle's algorithm)
+     */
+    private boolean tcpNoDelay = true;
+
+    /**
+     * The size of the socket send buffer in bytes (0 = default of the os)
+     */
+    private int sendBufferSize = 0;
+
+    /**
+     * The size of the socket receive buffer in bytes (0 = default of the os)
+     */
+    private int receiveBufferSize = 0;
+
+    /**
+     * The amount of bytes waiting in the outbound buffer of a channel above which the channel isn't writable anymore
+     * (and the packets wait in the queue of the channel)
+     *
+     * @see OutboundQueueHandler
+     */
+    private int writeBufferHighWaterMark = WriteBufferWaterMark.DEFAULT.high();
+
+    /**
+     * The amount of bytes waiting in the outbound buffer of a channel below which the channel is writable again
+     *
+     * @see OutboundQueueHandler
+     */
+    private int writeBufferLowWaterMark = WriteBufferWaterMark.DEFAULT.low();
+
+    /**
+     * The maximum amount of packets waiting for a channel to become writable. If the queue is full the channel is
+     * closed
+     *
+     * @see OutboundQueueHandler
+     */
+    private int outboundQueueSize = OutboundQueueHandler.DEFAULT_MAX_QUEUED;
+
+    /**
+     * The amount of packets after which a channel is flushed (otherwise once per event loop turn)
+     *
+     * @see FlushBatchHandler
+     */
+    private int flushMaxPackets = FlushBatchHandler.DEFAULT_MAX_PACKETS;
+
+    /**
+     * The amount of bytes after which a channel is flushed (otherwise once per event loop turn)
+     *
+     * @see FlushBatchHandler
+     */
+    private int flushMaxBytes = FlushBatchHandler.DEFAULT_MAX_BYTES;
+
+    /**
+     * The minimum size of a frame (in bytes) to be compressed (-1 = no compression)<br>
+     * Only the setting of the server counts: It is announced to every client after its handshake
+     *
+     * @see PacketCompressor
+     * @see NetworkServer#announceCompression(Channel)
+     */
+    private int compressionThreshold = -1;
+
+    /**
+     * The time (in milliseconds) to wait for the response of a request
+     *
+     * @see PendingRequests
+     */
+    private long requestTimeout = PendingRequests.DEFAULT_TIMEOUT;
+
+    /**
+     * The interval (in milliseconds) in which every channel is pinged to measure its round trip (0 = no pings)
+     *
+     * @see NetworkStats#getRoundTrip(io.netty.channel.Channel)
+     */
+    private long pingInterval = 10 * 1000;
+
+    /**
+     * How often a client tries to reconnect before giving up (0 = never give up)
+     *
+     * @see ReconnectBackoff
+     */
+    private int reconnectAttempts = 10;
+
+    /**
+     * The delay (in milliseconds) before the first reconnect attempt. It doubles with every failed attempt
+     *
+     * @see ReconnectBackoff
+     */
+    private long reconnectBaseDelay = 1000;
+
+    /**
+     * The maximum delay (in milliseconds) between two reconnect attempts
+     *
+     * @see ReconnectBackoff
+     */
+    private long reconnectMaxDelay = 30 * 1000;
+
+    /**
+     * The amount of state changes a server keeps for clients which reconnect (only for servers)
+     *
+     * @see SessionLog
+     */
+    private int sessionLogSize = SessionLog.DEFAULT_SIZE;
+
+    /**
+     * The time (in milliseconds) a client can resume its session after disconnecting (only for servers)
+     *
+     * @see SessionLog
+     */
+    private long sessionResumeWindow = SessionLog.DEFAULT_RESUME_WINDOW;
+
+    /**
+     * The file the received frames are recorded to (empty = no capture, only for servers)<br>
+     * Costs a copy of every frame, so it should only be enabled to reproduce problems
+     *
+     * @see PacketCapture
+     */
+    private String captureFile = "";
+
+    /**
+     * Reads the transport config from given section of the config
+     *
+     * @param config  The config
+     * @param section The key of the section (e.g. "netty.transport")
+     * @return The transport config
+     */
+    public static TransportConfig fromConfig(JsonConfig config, String section) {
+        TransportConfig transport = new TransportConfig();
+        String prefix = section.isEmpty() ? "" : section + ".";
+
+        transport.localAddress = config.get(prefix + "local-address", transport.localAddress);
+        transport.domainSocket = config.get(prefix + "domain-socket", transport.domainSocket);
+        transport.bossThreads = getNumber(config, prefix + "boss-threads", transport.bossThreads).intValue();
+        transport.workerThreads = getNumber(config, prefix + "worker-threads", transport.workerThreads).intValue();
+        transport.pooledAllocator = config.get(prefix + "pooled-allocator", transport.pooledAllocator);
+        transport.tcpNoDelay = config.get(prefix + "tcp-no-delay", transport.tcpNoDelay);
+        transport.sendBufferSize = getNumber(config, prefix + "send-buffer-size", transport.sendBufferSize).intValue();
+        transport.receiveBufferSize = getNumber(config, prefix + "receive-buffer-size", transport.receiveBufferSize).intValue();
+        transport.writeBufferHighWaterMark = getNumber(config, prefix + "write-buffer-high-water-mark", transport.writeBufferHighWaterMark).intValue();
+        transport.writeBufferLowWaterMark = getNumber(config, prefix + "write-buffer-low-water-mark", transport.writeBufferLowWaterMark).intValue();
+        transport.outboundQueueSize = getNumber(config, prefix + "outbound-queue-size", transport.outboundQueueSize).intValue();
+        transport.flushMaxPackets = getNumber(config, prefix + "flush-max-packets", transport.flushMaxPackets).intValue();
+        transport.flushMaxBytes = getNumber(config, prefix + "flush-max-bytes", transport.flushMaxBytes).intValue();
+        transport.compressionThreshold = getNumber(config, prefix + "compression-threshold", transport.compressionThreshold).intValue();
+        transport.requestTimeout = getNumber(config, prefix + "request-timeout", transport.requestTimeout).longValue();
+        transport.pingInterval = getNumber(config, prefix + "ping-interval", transport.pingInterval).longValue();
+        transport.reconnectAttempts = getNumber(config, prefix + "reconnect-attempts", transport.reconnectAttempts).intValue();
+        transport.reconnectBaseDelay = getNumber(config, prefix + "reconnect-base-delay", transport.reconnectBaseDelay).longValue();
+        transport.reconnectMaxDelay = getNumber(config, prefix + "reconnect-max-delay", transport.reconnectMaxDelay).longValue();
+        transport.sessionLogSize = getNumber(config, prefix + "session-log-size", transport.sessionLogSize).intValue();
+        transport.sessionResumeWindow = getNumber(config, prefix + "session-resume-window", transport.sessionResumeWindow).longValue();
+        transport.captureFile = config.get(prefix + "capture-file", transport.captureFile);
+        return transport;
+    }
+
+    /**
+     * Gets a number from the config (json numbers are either integers or longs)
+     *
+     * @param config The config
+     * @param key    The key
+     * @param def    The default value
+     * @return The number
+     */
+    private static Number getNumber(JsonConfig config, String key, Number def) {
+        Object value = config.get(key, def);
+        return value instanceof Number ? (Number) value : def;
+    }
+
+    /**
+     * Checks if the in-vm transport is used instead of tcp
+     *
+     * @return The result
+     */
+    public boolean isLocal() {
+        return localAddress != null && !localAddress.isEmpty();
+    }
+
+    /**
+     * Checks if a unix domain socket is configured (see {@link #getDomainSocket()})
+     *
+     * @return The result
+     */
+    public boolean isDomainSocket() {
+        return domainSocket != null && !domainSocket.isEmpty();
+    }
+
+    /**
+     * Checks if the received frames are recorded
+     *
+     * @return The result
+     */
+    public boolean isCapturing() {
+        return captureFile != null && !captureFile.isEmpty();
+    }
+
+    /**
+     * Gets the allocator for the buffers of the channels
+     *
+     * @return The allocator
+     */
+    public ByteBufAllocator getAllocator() {
+        return pooledAllocator ? PooledByteBufAllocator.DEFAULT : UnpooledByteBufAllocator.DEFAULT;
+    }
+
+    /**
+     * Gets the delays between the reconnect attempts of a client
+     *
+     * @return The backoff
+     */
+    public ReconnectBackoff getReconnectBackoff() {
+        return new ReconnectBackoff(reconnectBaseDelay, reconnectMaxDelay);
+    }
+
+    /**
+     * Gets the water marks of the outbound buffer of the channels
+     *
+     * @return The water marks
+     */
+    public WriteBufferWaterMark getWriteBufferWaterMark() {
+        return new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark);
+    }
+
+    @Override
+    public String toString() {
+        return (isLocal() ? "local-address=" + localAddress + ", " : "")
+                + (isDomainSocket() ? "domain-socket=" + domainSocket + ", " : "") + "boss-threads=" + bossThreads + ", worker-threads=" + (workerThreads == 0 ? "default" : workerThreads)
+                + ", allocator=" + (pooledAllocator ? "pooled" : "unpooled") + ", tcp-no-delay=" + tcpNoDelay
+                + ", send-buffer=" + (sendBufferSize == 0 ? "os" : sendBufferSize)
+                + ", receive-buffer=" + (receiveBufferSize == 0 ? "os" : receiveBufferSize)
+                + ", water-marks=" + writeBufferLowWaterMark + "-" + writeBufferHighWaterMark
+                + ", outbound-queue=" + outboundQueueSize + ", flush=" + flushMaxPackets + "/" + flushMaxBytes + "B"
+                + ", compression=" + (compressionThreshold < 0 ? "off" : ">=" + compressionThreshold + "B")
+                + ", request-timeout=" + requestTimeout + "ms"
+                + ", ping-interval=" + (pingInterval <= 0 ? "off" : pingInterval + "ms")
+                + ", reconnect=" + (reconnectAttempts == 0 ? "always" : reconnectAttempts + "x")
+                + " " + reconnectBaseDelay + "-" + reconnectMaxDelay + "ms"
+                + (isCapturing() ? ", capture-file=" + captureFile : "");
+    }
+
+}
@@ -6,14 +6,13 @@ import de.superioz.moo.api.collection.UnmodifiableList;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * The hub for storing the client connections
+ * The hub for storing the client connections (by the address of their channel, see {@link MooClient#getChannelAddress()})
  *
  * @see MooClient
  */
@@ -35,7 +34,7 @@ public final class ClientManager {
      * The ram usage of every daemon (as socketaddress) as percent
      */
     @Getter
-    private Map<InetSocketAddress, Integer> daemonRamUsage = new HashMap<>();
+    private Map<InetSocketAddress, Integer> daemonRamUsage = new ConcurrentHashMap<>();
 
     /**
      * The netty server the clients are connected to
@@ -47,7 +46,7 @@ public final class ClientManager {
         this.netServer = netServer;
 
         for(ClientType clientType : ClientType.values()) {
-            clientsByType.put(clientType, new HashMap<>());
+            clientsByType.put(clientType, new ConcurrentHashMap<>());
         }
     }
 
@@ -96,10 +95,10 @@ public final class ClientManager {
      */
     public int add(MooClient cl) {
         Map<InetSocketAddress, MooClient> map = clientsByType.get(cl.getType());
-        map.put(cl.getAddress(), cl);
+        map.put(cl.getChannelAddress(), cl);
 
         if(cl.getType() == ClientType.DAEMON) {
-            daemonRamUsage.put(cl.getAddress(), 0);
+            daemonRamUsage.put(cl.getChannelAddress(), 0);
         }
         return map.size();
     }
@@ -118,7 +117,7 @@ public final class ClientManager {
     }
 
     public ClientManager remove(MooClient cl) {
-        return remove(cl.getAddress());
+        return remove(cl.getChannelAddress());
     }
 
     /**
@@ -1,5 +1,6 @@
 package de.superioz.moo.network.client;
 
+import de.superioz.moo.network.util.NettyUtil;
 import io.netty.channel.Channel;
 import lombok.Getter;
 import lombok.Setter;
@@ -48,6 +49,21 @@ public class MooClient {
     @Setter
     private int id;
 
+    /**
+     * The token of the session of the client
+     *
+     * @see de.superioz.moo.network.server.SessionLog
+     */
+    @Setter
+    private String session;
+
+    /**
+     * The sequence of the last state change the client received before it reconnected (-1 if the client needs a full
+     * resync)
+     */
+    @Setter
+    private long resumeSequence = -1;
+
     public MooClient(String name, String host, int port, int subPort, ClientType type, Channel channel) {
         this.name = name;
         this.host = host;
@@ -66,4 +82,14 @@ public class MooClient {
         return new InetSocketAddress(getHost(), getPort());
     }
 
+    /**
+     * Returns the address of the channel, which identifies the client (see {@link ClientManager}). Differs from
+     * {@link #getAddress()} if the channel doesn't have an inet address (e.g. a unix domain socket)
+     *
+     * @return The address
+     */
+    public InetSocketAddress getChannelAddress() {
+        return channel == null ? getAddress() : NettyUtil.getRemoteAddress(channel);
+    }
+
 }
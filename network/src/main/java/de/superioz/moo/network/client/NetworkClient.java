@@ -2,15 +2,33 @@ package de.superioz.moo.network.client;
 
 import de.superioz.moo.network.server.NetworkServer;
 import io.netty.bootstrap.Bootstrap;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.util.NettyUtil;
 import de.superioz.moo.network.util.PipelineUtil;
 import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.TransportConfig;
+import de.superioz.moo.network.common.Topic;
+import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketStateMark;
+import de.superioz.moo.network.packets.PacketSubscribe;
+import de.superioz.moo.network.server.SessionLog;
 
+import java.io.File;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 /**
@@ -20,19 +38,16 @@ import java.util.logging.Logger;
 public class NetworkClient extends AbstractNetworkInstance {
 
     /**
-     * How often should the client try to reconnect before giving up?
-     */
-    public static final int RECONNECT_TIMES = 5;
-
-    /**
-     * Time between every reconnect attempt in millis
+     * The netty bootstrap instance
      */
-    public static final int RECONNECT_DELAY = 3 * 1000;
+    private Bootstrap bootstrap;
 
     /**
-     * The netty bootstrap instance
+     * The netty bootstrap for the unix domain socket of the server (null if there is none)
+     *
+     * @see TransportConfig#getDomainSocket()
      */
-    private Bootstrap bootstrap;
+    private Bootstrap domainBootstrap;
 
     /**
      * Value if the client is authenticated
@@ -46,6 +61,40 @@ public class NetworkClient extends AbstractNetworkInstance {
     @Setter
     private String masterVersion;
 
+    /**
+     * The token of the session at the cloud (empty if the client never connected). Sent with the handshake, so that
+     * the cloud can resume the session after a reconnect
+     *
+     * @see SessionLog
+     */
+    @Setter
+    private volatile String sessionToken = "";
+
+    /**
+     * The sequence of the last state change received from the cloud (-1 if none)
+     *
+     * @see PacketStateMark
+     */
+    @Setter
+    private volatile long stateSequence = -1;
+
+    /**
+     * The topics the client subscribed to and the topics it unsubscribed from without having subscribed to them (the
+     * defaults of the cloud). Both are sent again after every handshake
+     *
+     * @see #resendSubscriptions()
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<String> subscribed = new LinkedHashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<String> unsubscribed = new LinkedHashSet<>();
+
+    /**
+     * If the client is currently trying to reconnect
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean reconnecting = new AtomicBoolean(false);
+
     public NetworkClient(String host, int port, Logger logger) {
         super(host, port, logger);
     }
@@ -58,12 +107,33 @@ public class NetworkClient extends AbstractNetworkInstance {
      */
     @Override
     public NetworkClient setup() {
-        this.eventExecutors = PipelineUtil.getEventLoopGroup();
+        TransportConfig transport = getTransport();
+        this.eventExecutors = PipelineUtil.getClientEventLoopGroup(transport.getWorkerThreads());
 
-        this.bootstrap = new Bootstrap()
+        Bootstrap base = new Bootstrap()
                 .group(eventExecutors)
-                .channel(PipelineUtil.getChannel())
+                .option(ChannelOption.ALLOCATOR, transport.getAllocator())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, transport.getWriteBufferWaterMark())
                 .handler(PipelineUtil.getChannelInitializer(this, Protocol.PROTOCOL_VERSION));
+
+        // the unix domain socket doesn't know the tcp options
+        if(PipelineUtil.isDomainSocket(transport)) {
+            this.domainBootstrap = base.clone().channel(PipelineUtil.getDomainChannel());
+        }
+        this.bootstrap = base.channel(PipelineUtil.getChannel(transport));
+
+        // socket options (the in-vm channel doesn't have a socket)
+        if(!transport.isLocal()) {
+            bootstrap.option(ChannelOption.TCP_NODELAY, transport.isTcpNoDelay());
+            if(transport.getSendBufferSize() > 0) {
+                bootstrap.option(ChannelOption.SO_SNDBUF, transport.getSendBufferSize());
+            }
+            if(transport.getReceiveBufferSize() > 0) {
+                bootstrap.option(ChannelOption.SO_RCVBUF, transport.getReceiveBufferSize());
+            }
+        }
+
+        getLogger().info("Transport (" + PipelineUtil.getChannelName(transport) + "): " + transport);
         return this;
     }
 
@@ -77,22 +147,103 @@ public class NetworkClient extends AbstractNetworkInstance {
     }
 
     /**
-     * Starts the client that means starting the {@link NioEventLoopGroup}
-     * and connecting the {@link #bootstrap}
+     * Starts the client that means connecting the {@link #bootstrap} (on the event loop group shared by all clients)
+     * and waiting until the channel is closed
      *
      * @throws Exception If something goes wrong
      */
     public void connect() throws Exception {
-        EventLoopGroup eventExecutors = new NioEventLoopGroup();
+        this.channel = openChannel();
+
+        channel.closeFuture().sync().syncUninterruptibly();
+    }
+
+    /**
+     * Opens the channel to the server: over its unix domain socket if the server runs on this host, otherwise (or if
+     * the socket doesn't accept the connection) over tcp
+     *
+     * @return The channel
+     * @throws Exception If the server can't be reached
+     */
+    private Channel openChannel() throws Exception {
+        File socket = domainBootstrap != null ? new File(getTransport().getDomainSocket()) : null;
+
+        if(socket != null && socket.exists() && NettyUtil.isLocalHost(getHost())) {
+            try {
+                return domainBootstrap.connect(new DomainSocketAddress(socket)).sync().channel();
+            }
+            catch(Exception e) {
+                getLogger().warning("Couldn't connect to unix domain socket " + socket + ", using tcp: " + e.getMessage());
+            }
+        }
+        return bootstrap.connect(getAddress()).sync().channel();
+    }
+
+    /**
+     * Gets the host the cloud has to announce for this client (see {@link PacketHandshake#host}). Over a unix domain
+     * socket or the in-vm transport the cloud can't see it, but the client runs on the host of the cloud then, so it
+     * is the address the cloud is reached at
+     *
+     * @param channel The channel to the cloud
+     * @return The host (empty if the cloud sees it from the channel)
+     */
+    public String getAnnouncedHost(Channel channel) {
+        if(channel == null || NettyUtil.hasInetAddress(channel)) return "";
 
         try {
-            this.channel = bootstrap.connect(getHost(), getPort()).sync().channel();
+            return InetAddress.getByName(getHost()).getHostAddress();
+        }
+        catch(UnknownHostException e) {
+            return "";
+        }
+    }
 
-            channel.closeFuture().sync().syncUninterruptibly();
+    /**
+     * Subscribes to given topics, so that the cloud pushes their updates to this client. If the client isn't
+     * authenticated yet, they are sent after the handshake
+     *
+     * @param topics The topics
+     * @see Topic
+     */
+    public void subscribe(String... topics) {
+        synchronized(subscribed) {
+            for(String topic : topics) {
+                subscribed.add(topic);
+                unsubscribed.remove(topic);
+            }
         }
-        finally {
-            eventExecutors.shutdownGracefully();
+        if(isAuthenticated() && isConnected()) sendPacket(new PacketSubscribe(true, Arrays.asList(topics)));
+    }
+
+    /**
+     * Unsubscribes from given topics (also from the topics the cloud subscribes the client to by default)
+     *
+     * @param topics The topics
+     * @see #subscribe(String...)
+     */
+    public void unsubscribe(String... topics) {
+        synchronized(subscribed) {
+            for(String topic : topics) {
+                if(!subscribed.remove(topic)) unsubscribed.add(topic);
+            }
+        }
+        if(isAuthenticated() && isConnected()) sendPacket(new PacketSubscribe(false, Arrays.asList(topics)));
+    }
+
+    /**
+     * Sends the subscriptions to the cloud again (it forgets them with the connection). Has to be called after the
+     * handshake
+     */
+    public void resendSubscriptions() {
+        List<String> subscribe;
+        List<String> unsubscribe;
+        synchronized(subscribed) {
+            subscribe = new ArrayList<>(subscribed);
+            unsubscribe = new ArrayList<>(unsubscribed);
         }
+
+        if(!unsubscribe.isEmpty()) sendPacket(new PacketSubscribe(false, unsubscribe));
+        if(!subscribe.isEmpty()) sendPacket(new PacketSubscribe(true, subscribe));
     }
 
     /**
@@ -106,39 +257,45 @@ public class NetworkClient extends AbstractNetworkInstance {
     }
 
     /**
-     * Tries to reconnect to the server it was connected to
+     * Tries to reconnect to the server it was connected to. The delay between the attempts grows exponentially
+     * (with a random part), so that many clients don't reconnect at the same time
      *
      * @param executor The executor service to run it async
+     * @return If the client started reconnecting (false if it is connected or already reconnecting)
+     * @see TransportConfig#getReconnectBackoff()
      */
     public boolean attemptReconnecting(ExecutorService executor) {
-        if(isConnected()) return false;
+        if(isConnected() || !reconnecting.compareAndSet(false, true)) return false;
 
         getLogger().info("Trying to reconnect to cloud ..");
         executor.execute(() -> {
-            int failedCount = 0;
+            try {
+                ReconnectBackoff backoff = getTransport().getReconnectBackoff();
+                int attempts = getTransport().getReconnectAttempts();
 
-            while(true){
-                if(failedCount == RECONNECT_TIMES) {
-                    getLogger().info("Failed " + failedCount + " times to reconnect. Giving up :(");
-                    return;
-                }
+                for(int attempt = 0; attempts == 0 || attempt < attempts; attempt++) {
+                    // wait
+                    try {
+                        Thread.sleep(backoff.getDelay(attempt));
+                    }
+                    catch(InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
 
-                // wait
-                try {
-                    Thread.sleep(RECONNECT_DELAY);
-                }
-                catch(InterruptedException e1) {
-                    e1.printStackTrace();
-                }
-
-                try {
-                    connect();
-                }
-                catch(Exception e1) {
-                    failedCount++;
-                    continue;
+                    try {
+                        this.channel = openChannel();
+                    }
+                    catch(Exception e) {
+                        continue;
+                    }
+                    getLogger().info("Successfully reconnected!");
+                    return;
                 }
-                getLogger().info("Successfully reconnected!");
+                getLogger().info("Failed " + attempts + " times to reconnect. Giving up :(");
+            }
+            finally {
+                reconnecting.set(false);
             }
         });
         return true;
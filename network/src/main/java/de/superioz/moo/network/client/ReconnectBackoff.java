@@ -0,0 +1,44 @@
+package de.superioz.moo.network.client;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The delays between the reconnect attempts of a {@link NetworkClient}<br>
+ * The delay doubles with every attempt (up to a maximum) and is randomized between the half and the whole of it,
+ * so that clients which lost their connection at the same time (e.g. because the master restarted) don't all
+ * reconnect at the same moment.
+ */
+@Getter
+public class ReconnectBackoff {
+
+    /**
+     * The delay before the first attempt in milliseconds
+     */
+    private final long baseDelay;
+
+    /**
+     * The maximum delay in milliseconds
+     */
+    private final long maxDelay;
+
+    public ReconnectBackoff(long baseDelay, long maxDelay) {
+        this.baseDelay = Math.max(1, baseDelay);
+        this.maxDelay = Math.max(this.baseDelay, maxDelay);
+    }
+
+    /**
+     * Gets the delay before given attempt
+     *
+     * @param attempt The attempt (starting with 0)
+     * @return The delay in milliseconds
+     */
+    public long getDelay(int attempt) {
+        long delay = attempt >= 62 || baseDelay > (maxDelay >> attempt) ? maxDelay : baseDelay << attempt;
+
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+}
@@ -14,11 +14,11 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import de.superioz.moo.api.event.EventExecutor;
-import de.superioz.moo.api.util.LazySupplier;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -153,6 +153,32 @@ public final class PacketMessenger {
         return PacketMessenger.create().responseScope(ResponseScope.RESPONSE).sync().send(packet);
     }
 
+    /**
+     * Sends a packet to the currently connected client and returns the future of the response. Unlike
+     * {@link #transfer(AbstractPacket, Class)} no thread waits for the response<br>
+     *     <b>ASYNC METHOD</b>
+     *
+     * @param packet             The packet
+     * @param responseScopeClass The scope class
+     * @param <R>                The type
+     * @return The future of the respond
+     */
+    public static <R> CompletableFuture<R> transferAsync(AbstractPacket packet, Class<? extends AbstractPacket> responseScopeClass) {
+        return PacketMessenger.create().responseScope(responseScopeClass).sendAsync(packet);
+    }
+
+    public static <R> CompletableFuture<R> transferAsync(AbstractPacket packet, ResponseScope scope) {
+        return PacketMessenger.create().responseScope(scope).sendAsync(packet);
+    }
+
+    public static <R> CompletableFuture<R> transferAsync(AbstractPacket packet) {
+        return PacketMessenger.create().sendAsync(packet);
+    }
+
+    public static CompletableFuture<Response> transferToResponseAsync(AbstractPacket packet) {
+        return PacketMessenger.create().responseScope(ResponseScope.RESPONSE).sendAsync(packet);
+    }
+
     /**
      * Creates a new PacketMessenger object
      * This is the method to initialize the object
@@ -230,7 +256,7 @@ public final class PacketMessenger {
      * @param abstractPacket The abstractPacket (response from smth else)
      * @param consumers      The consumers
      */
-    private void convertResponse(AbstractPacket abstractPacket, LazySupplier supplier, Consumer... consumers) {
+    private void convertResponse(AbstractPacket abstractPacket, Consumer... consumers) {
         if(consumers == null) consumers = new Consumer[0];
         if(responseScope != null) {
             if(responseScope == ResponseScope.DEFAULT) {
@@ -251,10 +277,6 @@ public final class PacketMessenger {
                         if(b) c.accept(response);
                         else c.accept(null);
                     }
-
-                    if(supplier != null) {
-                        supplier.accept(response);
-                    }
                 }
                 else {
                     for(Consumer c : consumers) {
@@ -295,6 +317,22 @@ public final class PacketMessenger {
         }
     }
 
+    /**
+     * Converts {@code abstractPacket} to the one response of a future (depending on the response scope)
+     *
+     * @param abstractPacket The abstractPacket (response from smth else)
+     * @return The response, the packet or null (if the packet doesn't fit to the scope)
+     */
+    private Object convertResponse(AbstractPacket abstractPacket) {
+        if(responseScope == ResponseScope.RESPONSE) {
+            return abstractPacket instanceof PacketRespond ? new Response((PacketRespond) abstractPacket) : null;
+        }
+        if(responseScope == ResponseScope.RESPOND) {
+            return abstractPacket instanceof PacketRespond ? abstractPacket : null;
+        }
+        return abstractPacket;
+    }
+
     /**
      * Sends the packet with inherited values. That means that all values passed to this class
      * before will be used to send the packet. Methods to pass down the values:<br>
@@ -306,54 +344,69 @@ public final class PacketMessenger {
      * @param consumers The consumers
      * @param <R>       The type of response
      * @return The response or null
+     * @see #sendAsync(AbstractPacket)
      */
-    public synchronized <R> R send(AbstractPacket packet, Consumer<R>... consumers) {
-        // automatically copying packet for forwarding
-        if(packet.getStamp() != -1) {
-            packet = packet.deepCopy();
-        }
-
-        boolean sync = isSync() && consumers.length == 0;
-        if(sync) {
+    public <R> R send(AbstractPacket packet, Consumer<R>... consumers) {
+        if(isSync() && consumers.length == 0) {
             NettyUtil.checkAsyncTask();
+            return this.<R>sendAsync(packet).join();
         }
 
-        // sync handling
-        LazySupplier<R> supplier = new LazySupplier<>();
-        Consumer<AbstractPacket> packetConsumer = abstractPacket -> {
+        queue(packet, abstractPacket -> {
             try {
-                convertResponse(abstractPacket, sync ? supplier : null, consumers);
+                convertResponse(abstractPacket, consumers);
             }
             catch(Exception e) {
                 // error while converting response
                 System.err.println("Error while receiving response inside PacketMessenger: ");
                 e.printStackTrace();
             }
+        });
+        return null;
+    }
 
-            if(sync && supplier.isEmpty()) {
-                try {
-                    supplier.accept((R) abstractPacket);
-                }
-                catch(Exception e) {
-                    // error while casting packet to R
-                    supplier.accept(null);
-                }
+    /**
+     * Sends the packet with inherited values (like {@link #send(AbstractPacket, Consumer[])}), but returns the response
+     * as future. The future is completed with the first response (or a response with
+     * {@link de.superioz.moo.network.queries.ResponseStatus#TIMEOUT} if the target didn't respond in time)
+     *
+     * @param packet The packet
+     * @param <R>    The type of response
+     * @return The future of the response
+     */
+    public <R> CompletableFuture<R> sendAsync(AbstractPacket packet) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+
+        queue(packet, abstractPacket -> {
+            try {
+                future.complete((R) convertResponse(abstractPacket));
+            }
+            catch(Exception e) {
+                future.completeExceptionally(e);
             }
-        };
+        });
+        return future;
+    }
+
+    /**
+     * Queues the packet for every target
+     *
+     * @param packet   The packet
+     * @param callback The callback for the response(s)
+     */
+    private void queue(AbstractPacket packet, Consumer<AbstractPacket> callback) {
+        // automatically copying packet for forwarding
+        if(packet.getStamp() != -1) {
+            packet = packet.forwardCopy();
+        }
 
         if(target.size() == 0) {
-            EventExecutor.getInstance().execute(new PacketQueueEvent(null, packet, packetConsumer));
+            EventExecutor.getInstance().execute(new PacketQueueEvent((Channel) null, packet, callback));
         }
         else {
-            for(Channel channel : target) {
-                EventExecutor.getInstance().execute(new PacketQueueEvent(channel, packet, packetConsumer));
-            }
+            // the packet is encoded once for all targets
+            EventExecutor.getInstance().execute(new PacketQueueEvent(new ArrayList<>(target), packet, callback));
         }
-
-        if(sync) {
-            return supplier.get();
-        }
-        return null;
     }
 
 }
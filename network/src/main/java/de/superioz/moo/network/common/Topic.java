@@ -0,0 +1,103 @@
+package de.superioz.moo.network.common;
+
+import de.superioz.moo.api.config.NetworkConfigType;
+import de.superioz.moo.network.server.SubscriptionIndex;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The topics a client can subscribe to, to only get the updates it is interested in.<br>
+ * A topic is a namespace followed by a key (e.g. {@code server:lobby} or {@code player:<uuid>}); the key
+ * {@link #WILDCARD} stands for every key of the namespace (e.g. {@code server:*})
+ *
+ * @see SubscriptionIndex
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Topic {
+
+    public static final String SERVER = "server";
+    public static final String PLAYER = "player";
+    public static final String GROUP = "group";
+    public static final String CONFIG = "config";
+
+    public static final String WILDCARD = "*";
+    public static final char SEPARATOR = ':';
+
+    /**
+     * The topic of the servers of given pattern (registrations, pattern changes, ..)
+     *
+     * @param pattern The name of the pattern
+     * @return The topic
+     */
+    public static String server(String pattern) {
+        return of(SERVER, pattern);
+    }
+
+    /**
+     * The topic of given player (e.g. permission updates)
+     *
+     * @param uuid The uuid of the player
+     * @return The topic
+     */
+    public static String player(UUID uuid) {
+        return of(PLAYER, uuid.toString());
+    }
+
+    /**
+     * The topic of given player, if the player is only known by the name or the uuid as string
+     *
+     * @param key The name or the uuid of the player
+     * @return The topic
+     */
+    public static String player(String key) {
+        return of(PLAYER, key);
+    }
+
+    /**
+     * The topic of given group (e.g. permission updates)
+     *
+     * @param name The name of the group
+     * @return The topic
+     */
+    public static String group(String name) {
+        return of(GROUP, name);
+    }
+
+    /**
+     * The topic of given config entry
+     *
+     * @param type The type of the entry
+     * @return The topic
+     */
+    public static String config(NetworkConfigType type) {
+        return of(CONFIG, type.getKey());
+    }
+
+    /**
+     * The topic of every key of given namespace (e.g. {@code server:*})
+     *
+     * @param namespace The namespace
+     * @return The topic
+     */
+    public static String all(String namespace) {
+        return of(namespace, WILDCARD);
+    }
+
+    /**
+     * Gets the namespace of given topic
+     *
+     * @param topic The topic
+     * @return The namespace (the whole topic if it doesn't have a key)
+     */
+    public static String getNamespace(String topic) {
+        int index = topic.indexOf(SEPARATOR);
+        return index == -1 ? topic : topic.substring(0, index);
+    }
+
+    private static String of(String namespace, String key) {
+        return namespace + SEPARATOR + key;
+    }
+
+}
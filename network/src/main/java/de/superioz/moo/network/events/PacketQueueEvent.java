@@ -5,6 +5,8 @@ import io.netty.channel.Channel;
 import lombok.Getter;
 import de.superioz.moo.api.event.Event;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -18,6 +20,11 @@ public class PacketQueueEvent implements Event {
      */
     private Channel channel;
 
+    /**
+     * The channels to send the packet to (if the packet is sent to more than one channel)
+     */
+    private List<Channel> channels = Collections.emptyList();
+
     /**
      * The packet to be queued
      */
@@ -39,6 +46,11 @@ public class PacketQueueEvent implements Event {
         this.callbacks = callbacks;
     }
 
+    public PacketQueueEvent(List<Channel> channels, AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
+        this((Channel) null, packet, callbacks);
+        this.channels = channels;
+    }
+
     /**
      * Sets the {@link #async}
      *
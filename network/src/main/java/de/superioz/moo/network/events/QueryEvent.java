@@ -7,15 +7,20 @@ import lombok.Getter;
 import lombok.Setter;
 import de.superioz.moo.api.event.Cancellable;
 import de.superioz.moo.api.event.Event;
-import de.superioz.moo.api.event.Supplyable;
-import de.superioz.moo.api.util.LazySupplier;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
- * The event to call to query something from the database with {@link Queries}
+ * The event to call to query something from the database with {@link Queries}<br>
+ * The listener answers with {@link #accept(Response)}, which completes the {@link #future} of the query
  */
-public class QueryEvent implements Event, Supplyable<Response>, Cancellable {
+public class QueryEvent implements Event, Cancellable {
 
-    private LazySupplier<Response> supplier = new LazySupplier<>();
+    /**
+     * The future of the response
+     */
+    @Getter
+    private CompletableFuture<Response> future = new CompletableFuture<>();
 
     private boolean cancelled = false;
     @Setter @Getter
@@ -31,15 +36,13 @@ public class QueryEvent implements Event, Supplyable<Response>, Cancellable {
         this.toQueryPacket = toQueryPacket;
     }
 
-    @Override
-    public LazySupplier<Response> getSupplier() {
-        return supplier;
-    }
-
-    @Override
+    /**
+     * Completes the query with given response (only the first response counts)
+     *
+     * @param response The response
+     */
     public void accept(Response response) {
-        if(!supplier.isEmpty()) return;
-        supplier.accept(response);
+        future.complete(response);
     }
 
     @Override
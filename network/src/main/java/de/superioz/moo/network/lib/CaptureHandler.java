@@ -0,0 +1,73 @@
+package de.superioz.moo.network.lib;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.io.IOException;
+
+/**
+ * Records the received frames of a channel into a {@link PacketCapture}<br>
+ * Has to be placed between the frame decoder (or the {@link PacketDecompressor}) and the packet decoder, so that the
+ * frames can be decoded again without the settings of the connection
+ */
+public class CaptureHandler extends ChannelInboundHandlerAdapter {
+
+    private final AbstractNetworkInstance handle;
+    private final PacketCapture capture;
+
+    /**
+     * The id of the channel inside the capture
+     */
+    private int channelId;
+
+    public CaptureHandler(AbstractNetworkInstance handle, PacketCapture capture) {
+        this.handle = handle;
+        this.capture = capture;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        channelId = capture.nextChannelId();
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if(msg instanceof ByteBuf && channelId != 0) {
+            try {
+                capture.recordFrame(channelId, (ByteBuf) msg);
+            }
+            catch(IOException e) {
+                stop(e);
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if(channelId != 0) {
+            try {
+                capture.recordClose(channelId);
+            }
+            catch(IOException e) {
+                stop(e);
+            }
+        }
+        ctx.fireChannelInactive();
+    }
+
+    /**
+     * Tells that the capture couldn't be written (the traffic itself isn't affected). The writer has already stopped
+     * and closed the file, so the netty thread doesn't have to wait for the disk
+     *
+     * @param e The cause
+     */
+    private void stop(IOException e) {
+        handle.getLogger().warning("Error while writing the packet capture, stopping it: " + e.getMessage());
+        e.printStackTrace();
+    }
+
+}
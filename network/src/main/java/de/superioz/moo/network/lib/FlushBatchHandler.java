@@ -0,0 +1,117 @@
+package de.superioz.moo.network.lib;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Gathers the outbound writes of a channel and flushes them together<br>
+ * A flush is delayed until the event loop of the channel processed the tasks which were already queued (that means
+ * until the end of the current event loop turn), so every packet written in the meantime is sent with the same syscall.
+ * If too many packets or bytes are pending or the channel isn't writable anymore the flush happens immediately.<br>
+ * Has to be the first handler of the pipeline, so that it sees the encoded frames.
+ */
+public class FlushBatchHandler extends ChannelDuplexHandler {
+
+    /**
+     * The default amount of packets after which the channel is flushed immediately
+     */
+    public static final int DEFAULT_MAX_PACKETS = 64;
+
+    /**
+     * The default amount of bytes after which the channel is flushed immediately
+     */
+    public static final int DEFAULT_MAX_BYTES = 32 * 1024;
+
+    private final int maxPackets;
+    private final int maxBytes;
+
+    /**
+     * Packets and bytes written since the last flush
+     */
+    private int pendingPackets;
+    private long pendingBytes;
+
+    /**
+     * If the flush task is already queued in the event loop
+     */
+    private boolean flushScheduled;
+
+    private ChannelHandlerContext ctx;
+    private final Runnable flushTask = () -> {
+        flushScheduled = false;
+        if(pendingPackets != 0) flushNow(ctx);
+    };
+
+    public FlushBatchHandler(int maxPackets, int maxBytes) {
+        this.maxPackets = maxPackets;
+        this.maxBytes = maxBytes;
+    }
+
+    public FlushBatchHandler() {
+        this(DEFAULT_MAX_PACKETS, DEFAULT_MAX_BYTES);
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        if(pendingPackets != 0) flushNow(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        pendingPackets++;
+        if(msg instanceof ByteBuf) {
+            pendingBytes += ((ByteBuf) msg).readableBytes();
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if(pendingPackets >= maxPackets || pendingBytes >= maxBytes || !ctx.channel().isWritable()) {
+            flushNow(ctx);
+        }
+        else if(!flushScheduled) {
+            flushScheduled = true;
+            ctx.executor().execute(flushTask);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if(!ctx.channel().isWritable() && pendingPackets != 0) {
+            flushNow(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        if(pendingPackets != 0) flushNow(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        if(pendingPackets != 0) flushNow(ctx);
+        ctx.disconnect(promise);
+    }
+
+    /**
+     * Flushes the channel and resets the counter
+     *
+     * @param ctx The context
+     */
+    private void flushNow(ChannelHandlerContext ctx) {
+        pendingPackets = 0;
+        pendingBytes = 0;
+        ctx.flush();
+    }
+
+}
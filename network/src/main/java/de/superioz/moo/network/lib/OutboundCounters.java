@@ -0,0 +1,75 @@
+package de.superioz.moo.network.lib;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what happened with the packets which couldn't be written immediately (of every channel of one instance)
+ *
+ * @see OutboundQueueHandler
+ */
+public class OutboundCounters {
+
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    void delayed() {
+        delayed.increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    void overflow() {
+        overflows.increment();
+    }
+
+    /**
+     * Gets the amount of packets which waited in the queue
+     *
+     * @return The count
+     */
+    public long getDelayed() {
+        return delayed.sum();
+    }
+
+    /**
+     * Gets the amount of packets which were dropped (by policy, because the queue was full or the channel closed)
+     *
+     * @return The count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the amount of waiting packets which were replaced by a newer one
+     *
+     * @return The count
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Gets the amount of channels which were closed because their queue was full
+     *
+     * @return The count
+     */
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "delayed=" + getDelayed() + ", dropped=" + getDropped() + ", coalesced=" + getCoalesced()
+                + ", overflows=" + getOverflows();
+    }
+
+}
@@ -0,0 +1,68 @@
+package de.superioz.moo.network.lib;
+
+import de.superioz.moo.network.packet.AbstractPacket;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.Function;
+
+/**
+ * What happens with a packet which can't be written because its channel isn't writable
+ *
+ * @see OutboundQueueHandler
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OutboundPolicy {
+
+    /**
+     * The packet waits in the queue of the channel (default)
+     */
+    public static final OutboundPolicy QUEUE = new OutboundPolicy(Type.QUEUE, null);
+
+    /**
+     * The packet is dropped (for packets which are sent periodically anyway)
+     */
+    public static final OutboundPolicy DROP = new OutboundPolicy(Type.DROP, null);
+
+    /**
+     * The type of the policy
+     */
+    private final Type type;
+
+    /**
+     * The function which gets the key of a packet (only for {@link Type#COALESCE})
+     */
+    private final Function<AbstractPacket, Object> keyFunction;
+
+    /**
+     * Creates a policy which keeps only the newest waiting packet per key (e.g. the newest info of every server).
+     * The packet replaces the older one at its position inside the queue
+     *
+     * @param keyFunction The function which gets the key of a packet
+     * @param <P>         The type of the packet
+     * @return The policy
+     */
+    public static <P extends AbstractPacket> OutboundPolicy coalesce(Function<P, ?> keyFunction) {
+        return new OutboundPolicy(Type.COALESCE, packet -> keyFunction.apply((P) packet));
+    }
+
+    /**
+     * Creates a policy which keeps only the newest waiting packet of its class
+     *
+     * @return The policy
+     */
+    public static OutboundPolicy coalesce() {
+        return coalesce(packet -> packet.getClass());
+    }
+
+    public enum Type {
+
+        QUEUE,
+        DROP,
+        COALESCE
+
+    }
+
+}
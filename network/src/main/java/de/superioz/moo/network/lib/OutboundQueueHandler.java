@@ -0,0 +1,206 @@
+package de.superioz.moo.network.lib;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.EncodedPacket;
+import de.superioz.moo.network.packet.RelayedPacket;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Keeps the packets of a channel back while the channel isn't writable (its outbound buffer is above the high water
+ * mark), so that a slow receiver can't let the outbound buffer grow without limit.<br>
+ * The waiting packets are written as soon as the channel is writable again. Which packets wait, are dropped or
+ * replace an older one is decided by the {@link OutboundPolicy} of their class. If the queue is full anyway,
+ * the receiver is considered stalled and the channel is closed.<br>
+ * Has to be placed after the packet encoder (so that it is the first outbound handler to see the packets)
+ *
+ * @see AbstractNetworkInstance#setOutboundPolicy(Class, OutboundPolicy)
+ */
+public class OutboundQueueHandler extends ChannelDuplexHandler {
+
+    /**
+     * The default maximum amount of waiting packets per channel
+     */
+    public static final int DEFAULT_MAX_QUEUED = 4096;
+
+    /**
+     * The reason for the promise of a packet which hasn't been sent
+     */
+    private static final Exception DROPPED = new IllegalStateException("Packet dropped because the channel isn't writable");
+
+    /**
+     * The handle of the netty instance
+     */
+    private final AbstractNetworkInstance handle;
+
+    /**
+     * The maximum amount of waiting packets
+     */
+    private final int maxQueued;
+
+    /**
+     * The waiting packets (in order)
+     */
+    private final Queue<Pending> queue = new ArrayDeque<>();
+
+    /**
+     * The waiting packets which can be replaced by a newer one (key:packet)
+     */
+    private final Map<Object, Pending> coalescing = new HashMap<>();
+
+    public OutboundQueueHandler(AbstractNetworkInstance handle, int maxQueued) {
+        this.handle = handle;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if(queue.isEmpty() && ctx.channel().isWritable()) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        AbstractPacket packet = msg instanceof EncodedPacket ? ((EncodedPacket) msg).getPacket()
+                : msg instanceof AbstractPacket ? (AbstractPacket) msg : null;
+        if(packet instanceof RelayedPacket) packet = ((RelayedPacket) packet).getPacket();
+        OutboundPolicy policy = packet != null ? handle.getOutboundPolicy(packet.getClass()) : OutboundPolicy.QUEUE;
+        OutboundCounters counters = handle.getOutboundCounters();
+        Object key = null;
+
+        if(policy.getType() == OutboundPolicy.Type.DROP) {
+            counters.dropped();
+            drop(msg, promise);
+            return;
+        }
+        if(policy.getType() == OutboundPolicy.Type.COALESCE) {
+            key = new AbstractMap.SimpleImmutableEntry<>(packet.getClass(), policy.getKeyFunction().apply(packet));
+            Pending older = coalescing.get(key);
+
+            // the newer packet takes the place of the older one
+            if(older != null) {
+                counters.coalesced();
+                drop(older.msg, older.promise);
+                older.msg = msg;
+                older.promise = promise;
+                return;
+            }
+        }
+
+        // the receiver doesn't read anymore
+        if(queue.size() >= maxQueued) {
+            counters.overflow();
+            handle.getLogger().warning("Closing channel " + ctx.channel().remoteAddress() + " because "
+                    + queue.size() + " packets are waiting to be written.");
+            counters.dropped();
+            drop(msg, promise);
+            ctx.close();
+            return;
+        }
+
+        Pending pending = new Pending(msg, promise, key);
+        queue.add(pending);
+        if(key != null) coalescing.put(key, pending);
+        counters.delayed();
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        // waiting packets are flushed when the channel is writable again
+        if(!queue.isEmpty() && ctx.channel().isWritable()) {
+            writeQueued(ctx);
+        }
+        ctx.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if(ctx.channel().isWritable() && !queue.isEmpty()) {
+            writeQueued(ctx);
+            ctx.flush();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        dropQueued();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        dropQueued();
+    }
+
+    /**
+     * Gets the amount of waiting packets
+     *
+     * @return The size
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Writes the waiting packets until the channel isn't writable anymore
+     *
+     * @param ctx The context
+     */
+    private void writeQueued(ChannelHandlerContext ctx) {
+        Pending pending;
+        while(ctx.channel().isWritable() && (pending = queue.poll()) != null) {
+            if(pending.key != null) coalescing.remove(pending.key);
+            ctx.write(pending.msg, pending.promise);
+        }
+    }
+
+    /**
+     * Drops every waiting packet (because the channel is closed)
+     */
+    private void dropQueued() {
+        Pending pending;
+        while((pending = queue.poll()) != null) {
+            handle.getOutboundCounters().dropped();
+            drop(pending.msg, pending.promise);
+        }
+        coalescing.clear();
+    }
+
+    /**
+     * Drops given message
+     *
+     * @param msg     The message
+     * @param promise The promise of the message
+     */
+    private void drop(Object msg, ChannelPromise promise) {
+        ReferenceCountUtil.release(msg);
+        promise.tryFailure(DROPPED);
+    }
+
+    /**
+     * A packet waiting to be written
+     */
+    private static class Pending {
+
+        private Object msg;
+        private ChannelPromise promise;
+        private final Object key;
+
+        Pending(Object msg, ChannelPromise promise, Object key) {
+            this.msg = msg;
+            this.promise = promise;
+            this.key = key;
+        }
+
+    }
+
+}
@@ -0,0 +1,327 @@
+package de.superioz.moo.network.lib;
+
+import io.netty.buffer.ByteBuf;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A binary file with the frames received by a network instance (see {@link CaptureHandler}), e.g. to replay the
+ * traffic of a production master offline<br>
+ * The file starts with a header (magic, format version, protocol version and start time), followed by one record per
+ * frame or closed channel:
+ * <pre>
+ * byte    type       (0 = frame, 1 = channel closed)
+ * varlong time       (nanoseconds since the start of the capture)
+ * varint  channel id (counted from 1 in the order the channels became active)
+ * varint  length     (only frames)
+ * byte[]  frame      (only frames, decompressed, without the length prefix)
+ * </pre>
+ * The records are copied on the netty threads and written by an own thread, so that a slow disk doesn't block the
+ * traffic. If the writer can't keep up, records are dropped (see {@link #getDropped()})
+ */
+public class PacketCapture implements Closeable {
+
+    /**
+     * "MooC"
+     */
+    public static final int MAGIC = 0x4D6F6F43;
+    public static final int FORMAT_VERSION = 1;
+
+    public static final int TYPE_FRAME = 0;
+    public static final int TYPE_CLOSE = 1;
+
+    /**
+     * The default amount of records waiting for the writer
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+
+    private final DataOutputStream out;
+
+    /**
+     * The start of the capture (all times are relative to it)
+     */
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicInteger channelIds = new AtomicInteger();
+
+    /**
+     * The records waiting for the writer
+     */
+    private final BlockingQueue<Record> queue;
+
+    /**
+     * The thread which writes the records into the file
+     */
+    private final Thread writer;
+
+    /**
+     * The amount of records which were dropped because the queue was full
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * The error of the writer (null if there was none)
+     */
+    private volatile IOException failure;
+
+    /**
+     * If the error of the writer has been thrown to a recording thread (it is only thrown once)
+     */
+    private final AtomicBoolean failureThrown = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    public PacketCapture(File file, int protocolVersion) throws IOException {
+        this(file, protocolVersion, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public PacketCapture(File file, int protocolVersion, int queueCapacity) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if(parent != null && !parent.exists()) parent.mkdirs();
+
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(protocolVersion);
+        out.writeLong(System.currentTimeMillis());
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::write, "packet-capture-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Gets the id for a new channel
+     *
+     * @return The id
+     */
+    public int nextChannelId() {
+        return channelIds.incrementAndGet();
+    }
+
+    /**
+     * Records a received frame (the reader index of the frame stays the same)
+     *
+     * @param channelId The id of the channel
+     * @param frame     The frame
+     * @throws IOException If the capture couldn't be written (thrown once, afterwards the records are ignored)
+     */
+    public void recordFrame(int channelId, ByteBuf frame) throws IOException {
+        if(closed) return;
+        byte[] bytes = new byte[frame.readableBytes()];
+        frame.getBytes(frame.readerIndex(), bytes);
+
+        add(new Record(TYPE_FRAME, System.nanoTime() - startNanos, channelId, bytes));
+    }
+
+    /**
+     * Records that a channel has been closed
+     *
+     * @param channelId The id of the channel
+     * @throws IOException If the capture couldn't be written (thrown once, afterwards the records are ignored)
+     */
+    public void recordClose(int channelId) throws IOException {
+        if(closed) return;
+        add(new Record(TYPE_CLOSE, System.nanoTime() - startNanos, channelId, null));
+    }
+
+    /**
+     * Gets the amount of records which were dropped because the writer couldn't keep up
+     *
+     * @return The amount
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void add(Record record) throws IOException {
+        if(failure != null) {
+            if(failureThrown.compareAndSet(false, true)) throw failure;
+            return;
+        }
+        if(!queue.offer(record)) dropped.increment();
+    }
+
+    /**
+     * Writes the records until the capture is closed and every record is written
+     */
+    private void write() {
+        try {
+            while(true) {
+                Record record = queue.poll();
+                if(record == null) {
+                    // the capture is complete until here, even if the program crashes later
+                    out.flush();
+                    if(closed && queue.isEmpty()) break;
+
+                    record = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if(record == null) continue;
+                }
+
+                out.writeByte(record.getType());
+                writeVarLong(out, record.getTime());
+                writeVarLong(out, record.getChannelId());
+                if(record.getFrame() != null) {
+                    writeVarLong(out, record.getFrame().length);
+                    out.write(record.getFrame());
+                }
+            }
+        }
+        catch(IOException e) {
+            failure = e;
+        }
+        catch(InterruptedException e) {
+            // stopped
+        }
+        finally {
+            queue.clear();
+            try {
+                out.close();
+            }
+            catch(IOException e) {
+                if(failure == null) failure = e;
+            }
+        }
+    }
+
+    /**
+     * Closes the capture after the waiting records are written
+     *
+     * @throws IOException If the capture couldn't be written
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) return;
+        closed = true;
+
+        try {
+            writer.join();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(failure != null) throw failure;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varlong is too big");
+    }
+
+    /**
+     * Reads a capture record by record
+     */
+    @Getter
+    public static class Reader implements Closeable {
+
+        private final DataInputStream in;
+
+        /**
+         * The protocol version of the captured frames
+         */
+        private final int protocolVersion;
+
+        /**
+         * The time the capture started (in milliseconds since the epoch)
+         */
+        private final long startTime;
+
+        public Reader(File file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+
+            try {
+                if(in.readInt() != MAGIC) throw new IOException(file + " is no packet capture");
+                int version = in.readUnsignedByte();
+                if(version != FORMAT_VERSION) throw new IOException("Unknown capture format " + version);
+
+                this.protocolVersion = in.readInt();
+                this.startTime = in.readLong();
+            }
+            catch(IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Reads the next record
+         *
+         * @return The record (null if the end of the capture is reached)
+         * @throws IOException If the capture is broken
+         */
+        public Record next() throws IOException {
+            int type = in.read();
+            if(type == -1) return null;
+
+            try {
+                long time = readVarLong(in);
+                int channelId = (int) readVarLong(in);
+                if(type == TYPE_CLOSE) return new Record(type, time, channelId, null);
+
+                byte[] frame = new byte[(int) readVarLong(in)];
+                in.readFully(frame);
+                return new Record(type, time, channelId, frame);
+            }
+            catch(EOFException e) {
+                // the program which captured was killed while writing
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+    }
+
+    /**
+     * A received frame or a closed channel
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Record {
+
+        private final int type;
+
+        /**
+         * The time of receiving (in nanoseconds since the start of the capture)
+         */
+        private final long time;
+
+        private final int channelId;
+
+        /**
+         * The frame (null if the channel has been closed)
+         */
+        private final byte[] frame;
+
+        public boolean isClose() {
+            return type == TYPE_CLOSE;
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package de.superioz.moo.network.lib;
+
+import com.jcraft.jzlib.Deflater;
+import com.jcraft.jzlib.JZlib;
+import de.superioz.moo.network.packet.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.compression.CompressionException;
+
+/**
+ * Compresses the frames which are at least {@link #threshold} bytes big (with jzlib)<br>
+ * Every frame starts with a varint: 0 if the frame is sent raw, otherwise the uncompressed length of the frame.
+ * The compressed frames of a channel share one deflate stream and are sync flushed, so the receiver can inflate
+ * each frame on its own (as long as the frames are received in order) and later frames profit from the dictionary
+ * of the earlier ones.<br>
+ * Has to be placed between the {@link Varint32LengthFieldPrepender} and the packet encoder
+ *
+ * @see PacketDecompressor
+ */
+public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
+
+    /**
+     * The default compression level (fast, because most of the frames are small and latency sensitive)
+     */
+    public static final int DEFAULT_LEVEL = JZlib.Z_BEST_SPEED;
+
+    /**
+     * The minimum size of a frame (in bytes) to be compressed
+     */
+    private final int threshold;
+
+    /**
+     * The compression level (0-9)
+     */
+    private final int level;
+
+    /**
+     * The deflate stream of the channel (created with the first compressed frame)
+     */
+    private Deflater deflater;
+    private final byte[] buffer = new byte[8192];
+
+    public PacketCompressor(int threshold, int level) {
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    public PacketCompressor(int threshold) {
+        this(threshold, DEFAULT_LEVEL);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf in, ByteBuf out) throws Exception {
+        int length = in.readableBytes();
+        PacketBuffer header = new PacketBuffer(out);
+
+        // small frames are not worth the cpu time
+        if(length < threshold) {
+            header.writeVarInt(0);
+            out.writeBytes(in);
+            return;
+        }
+        if(deflater == null) {
+            deflater = new Deflater(level);
+        }
+        header.writeVarInt(length);
+
+        byte[] input;
+        int offset;
+        if(in.hasArray()) {
+            input = in.array();
+            offset = in.arrayOffset() + in.readerIndex();
+        }
+        else {
+            input = new byte[length];
+            in.getBytes(in.readerIndex(), input);
+            offset = 0;
+        }
+        deflater.setInput(input, offset, length, false);
+
+        try {
+            do {
+                deflater.setOutput(buffer, 0, buffer.length);
+                int result = deflater.deflate(JZlib.Z_SYNC_FLUSH);
+                if(result != JZlib.Z_OK && result != JZlib.Z_BUF_ERROR) {
+                    throw new CompressionException("Couldn't compress frame: " + result + " (" + deflater.msg + ")");
+                }
+                out.writeBytes(buffer, 0, buffer.length - deflater.avail_out);
+            }
+            while(deflater.avail_out == 0);
+        }
+        finally {
+            // don't keep a reference to the frame
+            deflater.next_in = null;
+        }
+        in.skipBytes(length);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        if(deflater != null) {
+            deflater.end();
+            deflater = null;
+        }
+        super.handlerRemoved(ctx);
+    }
+
+}
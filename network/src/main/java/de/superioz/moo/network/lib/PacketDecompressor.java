@@ -0,0 +1,104 @@
+package de.superioz.moo.network.lib;
+
+import com.jcraft.jzlib.Inflater;
+import com.jcraft.jzlib.JZlib;
+import de.superioz.moo.network.packet.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.compression.DecompressionException;
+
+import java.util.List;
+
+/**
+ * Decompresses the frames of the {@link PacketCompressor}<br>
+ * Raw frames are passed on as they are (without copying), compressed frames are inflated into a new buffer.<br>
+ * Has to be placed between the {@link Varint32FrameDecoder} and the packet decoder
+ */
+public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
+
+    /**
+     * The maximum uncompressed length of a frame (protects against frames which inflate to gigabytes)
+     */
+    public static final int MAX_UNCOMPRESSED_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The inflate stream of the channel (created with the first compressed frame)
+     */
+    private Inflater inflater;
+    private final byte[] buffer = new byte[8192];
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> output) throws Exception {
+        int length = new PacketBuffer(in).readVarInt();
+
+        if(length == 0) {
+            output.add(in.retain());
+            return;
+        }
+        if(length < 0 || length > MAX_UNCOMPRESSED_LENGTH) {
+            throw new DecompressionException("Invalid uncompressed length: " + length);
+        }
+        if(inflater == null) {
+            inflater = new Inflater();
+        }
+
+        int compressedLength = in.readableBytes();
+        byte[] input;
+        int offset;
+        if(in.hasArray()) {
+            input = in.array();
+            offset = in.arrayOffset() + in.readerIndex();
+        }
+        else {
+            input = new byte[compressedLength];
+            in.getBytes(in.readerIndex(), input);
+            offset = 0;
+        }
+        inflater.setInput(input, offset, compressedLength, false);
+
+        ByteBuf out = ctx.alloc().heapBuffer(length, length);
+        try {
+            do {
+                inflater.setOutput(buffer, 0, buffer.length);
+                int result = inflater.inflate(JZlib.Z_SYNC_FLUSH);
+                if(result != JZlib.Z_OK && result != JZlib.Z_BUF_ERROR) {
+                    throw new DecompressionException("Couldn't decompress frame: " + result + " (" + inflater.msg + ")");
+                }
+
+                int produced = buffer.length - inflater.avail_out;
+                if(produced > out.writableBytes()) {
+                    throw new DecompressionException("Frame is bigger than its uncompressed length " + length);
+                }
+                out.writeBytes(buffer, 0, produced);
+
+                // no progress possible
+                if(result == JZlib.Z_BUF_ERROR) break;
+            }
+            while(inflater.avail_in > 0 || inflater.avail_out == 0);
+
+            if(out.readableBytes() != length) {
+                throw new DecompressionException("Frame has " + out.readableBytes() + " bytes instead of " + length);
+            }
+            in.skipBytes(compressedLength);
+            output.add(out);
+        }
+        catch(Exception e) {
+            out.release();
+            throw e;
+        }
+        finally {
+            inflater.next_in = null;
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        if(inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        super.handlerRemoved(ctx);
+    }
+
+}
@@ -1,6 +1,5 @@
 package de.superioz.moo.network.lib;
 
-import com.google.protobuf.CodedInputStream;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -9,31 +8,44 @@ import io.netty.handler.codec.CorruptedFrameException;
 import java.util.List;
 
 /**
- * Old version of the frame decoder of netty (the newer version didn't work with bungee/spigot)
+ * Old version of the frame decoder of netty (the newer version didn't work with bungee/spigot)<br>
+ * The length is read inline and the frame is passed on as retained slice of the inbound buffer, so no
+ * bytes are copied. The next handler owns the slice and has to release it.
  */
 public class Varint32FrameDecoder
         extends ByteToMessageDecoder {
 
+    /**
+     * Maximum amount of bytes a varint32 can take
+     */
+    private static final int MAX_VARINT_LENGTH = 5;
+
     protected void decode(ChannelHandlerContext paramChannelHandlerContext, ByteBuf paramByteBuf, List<Object> paramList)
             throws Exception {
-        paramByteBuf.markReaderIndex();
-        byte[] arrayOfByte = new byte[5];
-        for(int i = 0; i < arrayOfByte.length; i++) {
-            if(!paramByteBuf.isReadable()) {
-                paramByteBuf.resetReaderIndex();
+        int readerIndex = paramByteBuf.readerIndex();
+        int readable = paramByteBuf.readableBytes();
+        int length = 0;
+
+        for(int i = 0; i < MAX_VARINT_LENGTH; i++) {
+            if(i >= readable) {
+                // the length isn't complete yet
                 return;
             }
-            arrayOfByte[i] = paramByteBuf.readByte();
-            if(arrayOfByte[i] >= 0) {
-                int j = CodedInputStream.newInstance(arrayOfByte, 0, i + 1).readRawVarint32();
-                if(j < 0) {
-                    throw new CorruptedFrameException("negative length: " + j);
+            byte b = paramByteBuf.getByte(readerIndex + i);
+            length |= (b & 0x7F) << (i * 7);
+
+            if(b >= 0) {
+                if(length < 0) {
+                    throw new CorruptedFrameException("negative length: " + length);
                 }
-                if(paramByteBuf.readableBytes() < j) {
-                    paramByteBuf.resetReaderIndex();
+                int headerLength = i + 1;
+                if(readable - headerLength < length) {
+                    // the frame isn't complete yet
                     return;
                 }
-                paramList.add(paramByteBuf.readBytes(j));
+
+                paramByteBuf.skipBytes(headerLength);
+                paramList.add(paramByteBuf.readRetainedSlice(length));
                 return;
             }
         }
@@ -1,5 +1,7 @@
 package de.superioz.moo.network.packet;
 
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.NetworkStats;
 import de.superioz.moo.network.Protocol;
 import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packets.PacketKeepalive;
@@ -13,6 +15,8 @@ import de.superioz.moo.api.utils.ReflectionUtil;
 import de.superioz.moo.api.utils.StringUtil;
 import de.superioz.moo.network.events.PacketQueueEvent;
 import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.util.NettyUtil;
+import de.superioz.moo.network.util.PipelineUtil;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -49,10 +53,17 @@ public abstract class AbstractPacket {
     protected int protocolId = -1;
 
     /**
-     * The unique query id (to determine request-response system)
+     * The id of the query (to determine request-response system). 0 if the packet hasn't been sent yet<br>
+     * Ids are given out by the sender of the request, a response carries the id of its request
      */
     @Setter
-    protected UUID queryUid;
+    protected long queryId;
+
+    /**
+     * If this packet is the response to a query (the {@link #queryId} belongs to the receiver then)
+     */
+    @Setter
+    protected boolean response;
 
     /**
      * The timestamp of the time of the sending
@@ -60,6 +71,19 @@ public abstract class AbstractPacket {
     @Setter
     protected long stamp = -1;
 
+    /**
+     * The time (see {@link System#nanoTime()}) the packet has been received (0 if it wasn't received)
+     */
+    @Setter
+    protected long received;
+
+    /**
+     * The name of the request this packet responds to and the time the request has been received (for measuring
+     * the handling time of the request, see {@link NetworkStats#recordHandling(String, long)})
+     */
+    private String requestName;
+    private long requestReceived;
+
     /**
      * The channel of the packet being
      */
@@ -67,7 +91,7 @@ public abstract class AbstractPacket {
     protected Channel channel;
 
     /**
-     * The byte buf (originally the raw form of the packet)
+     * The payload of the received frame (only kept for packets which are relayed, see {@link #forwardCopy()})
      */
     @Setter
     protected ByteBuf buf;
@@ -110,12 +134,23 @@ public abstract class AbstractPacket {
      */
     public void respond(AbstractPacket packet, Consumer<AbstractPacket>... callbacks) {
         if(!responded) responded = true;
-        packet.setQueryUid(getQueryUid());
+        packet.setQueryId(getQueryId());
+        packet.setResponse(true);
+        packet.requestName = getName();
+        packet.requestReceived = received;
 
         if(interception != null) {
             interception.accept(packet);
             return;
         }
+
+        // the instance owning the channel sends the response directly, because the event only reaches one
+        // instance per class (e.g. one of many clients inside the same program)
+        AbstractNetworkInstance owner = getChannel() == null ? null : PipelineUtil.getInstance(getChannel());
+        if(owner != null) {
+            owner.getNetworkBus().processOut(getChannel(), packet, callbacks);
+            return;
+        }
         EventExecutor.getInstance().execute(new PacketQueueEvent(getChannel(), packet, callbacks));
     }
 
@@ -138,7 +173,7 @@ public abstract class AbstractPacket {
      * @return .
      */
     public <T extends AbstractPacket> T deepCopy() {
-        Object instance = ReflectionUtil.getInstance(getClass());
+        Object instance = PacketFactory.create(getClass());
         if(instance == null) return (T) this;
 
         Field[] fields = ReflectionUtil.getFieldsNonStatic(instance.getClass()).toArray(new Field[]{});
@@ -150,11 +185,45 @@ public abstract class AbstractPacket {
             }
         }
 
-        ((AbstractPacket) instance).setQueryUid(null);
+        ((AbstractPacket) instance).setQueryId(0);
+        ((AbstractPacket) instance).setResponse(false);
         ((AbstractPacket) instance).setStamp(0L);
+        ((AbstractPacket) instance).setReceived(0L);
+        ((AbstractPacket) instance).requestReceived = 0;
         return (T)(instance == null ? this : instance);
     }
 
+    /**
+     * Copies this packet to forward it to another channel<br>
+     * If the payload of the received frame is still available the copy only carries the payload (no reflective copy
+     * and no encoding of the fields), otherwise it is a {@link #deepCopy()}
+     *
+     * @return The copy
+     * @see RelayedPacket
+     */
+    public synchronized AbstractPacket forwardCopy() {
+        if(buf == null) return deepCopy();
+        return new RelayedPacket(this, buf.retainedSlice());
+    }
+
+    /**
+     * Releases the payload of the received frame (after the packet has been processed)
+     */
+    public synchronized void releaseBuf() {
+        if(buf == null) return;
+        buf.release();
+        buf = null;
+    }
+
+    /**
+     * Gets the class of the packet inside the protocol
+     *
+     * @return The class
+     */
+    public Class<? extends AbstractPacket> getPacketClass() {
+        return getClass();
+    }
+
     /**
      * Gets the name of the class (the packets)
      *
@@ -170,7 +239,7 @@ public abstract class AbstractPacket {
      * @return The address
      */
     public InetSocketAddress getAddress() {
-        return (InetSocketAddress) getChannel().remoteAddress();
+        return NettyUtil.getRemoteAddress(getChannel());
     }
 
     /**
@@ -197,7 +266,7 @@ public abstract class AbstractPacket {
         }
 
         // list the new instance
-        P object = (P) ReflectionUtil.getInstance(pClass);
+        P object = PacketFactory.create(pClass);
         if(object == null) return null;
 
         // loop through map and apply them onto the instance
@@ -232,7 +301,7 @@ public abstract class AbstractPacket {
         builder.append("{\n");
         builder.append(StringUtil.getJsonPart("protocolVersion", protocolVersion)).append(", \n");
         builder.append(StringUtil.getJsonPart("protocolId", protocolId)).append(", \n");
-        builder.append(StringUtil.getJsonPart("queryUid", queryUid)).append(", \n");
+        builder.append(StringUtil.getJsonPart("queryId", queryId)).append(", \n");
         builder.append(StringUtil.getJsonPart("stamp", stamp)).append(", \n");
 
         // print payload which is packet specific
@@ -0,0 +1,68 @@
+package de.superioz.moo.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.bson.io.OutputBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bson output which writes directly into a netty {@link ByteBuf} (starting at its current writer index)<br>
+ * Used by {@link PacketBuffer#writeBson(org.bson.BsonDocument)} so the document doesn't need an own byte array
+ */
+class ByteBufBsonOutput extends OutputBuffer {
+
+    private final ByteBuf buf;
+    private final int start;
+
+    ByteBufBsonOutput(ByteBuf buf) {
+        this.buf = buf;
+        this.start = buf.writerIndex();
+    }
+
+    @Override
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        buf.writeBytes(bytes, offset, length);
+    }
+
+    @Override
+    public void writeByte(int value) {
+        buf.writeByte(value);
+    }
+
+    @Override
+    protected void write(int position, int value) {
+        buf.setByte(start + position, value);
+    }
+
+    @Override
+    public int getPosition() {
+        return buf.writerIndex() - start;
+    }
+
+    @Override
+    public int getSize() {
+        return getPosition();
+    }
+
+    @Override
+    public int pipe(OutputStream out) throws IOException {
+        int size = getSize();
+        buf.getBytes(start, out, size);
+        return size;
+    }
+
+    @Override
+    public List<org.bson.ByteBuf> getByteBuffers() {
+        return Collections.singletonList(new ByteBufNIO(buf.nioBuffer(start, getSize())));
+    }
+
+    @Override
+    public void truncateToPosition(int newPosition) {
+        buf.writerIndex(start + newPosition);
+    }
+
+}
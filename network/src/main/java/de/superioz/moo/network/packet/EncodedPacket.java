@@ -0,0 +1,27 @@
+package de.superioz.moo.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import lombok.Getter;
+
+/**
+ * A packet which has already been encoded (e.g. once for all receivers of a broadcast)<br>
+ * The {@link PacketEncoder} passes the content on without encoding the packet again. Every channel needs its own
+ * instance, because the content is released after writing
+ *
+ * @see de.superioz.moo.network.NetworkBus#processOut(java.util.Collection, AbstractPacket, java.util.function.Consumer[])
+ */
+public class EncodedPacket extends DefaultByteBufHolder {
+
+    /**
+     * The packet which has been encoded
+     */
+    @Getter
+    private final AbstractPacket packet;
+
+    public EncodedPacket(AbstractPacket packet, ByteBuf content) {
+        super(content);
+        this.packet = packet;
+    }
+
+}
@@ -5,10 +5,12 @@ import de.superioz.moo.api.event.EventListener;
 import de.superioz.moo.api.utils.EventUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -32,10 +34,16 @@ public final class PacketAdapting {
     private static final ExecutorService EXECUTOR_SERVICE = Executors.newSingleThreadExecutor();
 
     /**
-     * Map of registered {@link PacketAdapter}'s but with different values.<br>
+     * Map of registered {@link PacketAdapter}'s but with different values (in the order of registration).<br>
      * {@link EventEar} represents the specific listener method/class/whatever
      */
-    private final ConcurrentMap<Class<?>, Map<Class<?>, List<EventEar>>> classAdapterMap = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Class<?>, List<EventEar>>> classAdapterMap = new LinkedHashMap<>();
+
+    /**
+     * The handlers of every packet class (sorted by priority). Rebuilt on every (un)registration, so executing
+     * a packet is one lookup without locking
+     */
+    private volatile Map<Class<?>, EventEar[]> handlers = Collections.emptyMap();
 
     /**
      * Executes given events
@@ -43,7 +51,10 @@ public final class PacketAdapting {
      * @param packet The packets
      */
     public void execute(AbstractPacket packet) {
-        EventUtil.execute(packet, EXECUTOR_SERVICE, getHandler(packet));
+        EventEar[] ears = handlers.get(packet.getClass());
+        if(ears == null) return;
+
+        EventUtil.execute(packet, EXECUTOR_SERVICE, ears);
     }
 
     /**
@@ -53,14 +64,8 @@ public final class PacketAdapting {
      * @return The list of listener
      */
     public List<EventEar> getHandler(AbstractPacket packet) {
-        List<EventEar> listeners = new ArrayList<>();
-
-        for(Map<Class<?>, List<EventEar>> m : classAdapterMap.values()) {
-            if(m.containsKey(packet.getClass())) {
-                listeners.addAll(m.get(packet.getClass()));
-            }
-        }
-        return listeners;
+        EventEar[] ears = handlers.get(packet.getClass());
+        return ears == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(ears));
     }
 
     /**
@@ -69,7 +74,7 @@ public final class PacketAdapting {
      * @param packetAdapter The packetAdapter classes
      * @return The result
      */
-    public int register(PacketAdapter... packetAdapter) {
+    public synchronized int register(PacketAdapter... packetAdapter) {
         int count = 0;
 
         for(PacketAdapter adapter : packetAdapter) {
@@ -78,6 +83,7 @@ public final class PacketAdapting {
                 count++;
             }
         }
+        if(count != 0) rebuildHandlers();
         return count;
     }
 
@@ -88,8 +94,15 @@ public final class PacketAdapting {
      * @return The result
      */
     public boolean unregister(EventListener eventListener) {
-        Class<?> c = eventListener.getClass();
-        classAdapterMap.remove(c);
+        return unregister(eventListener.getClass());
+    }
+
+    public boolean unregister(PacketAdapter packetAdapter) {
+        return unregister(packetAdapter.getClass());
+    }
+
+    private synchronized boolean unregister(Class<?> c) {
+        if(classAdapterMap.remove(c) != null) rebuildHandlers();
 
         return classAdapterMap.containsKey(c);
     }
@@ -97,8 +110,23 @@ public final class PacketAdapting {
     /**
      * Clears all adapter from the map
      */
-    public void unregisterAll() {
+    public synchronized void unregisterAll() {
         classAdapterMap.clear();
+        rebuildHandlers();
+    }
+
+    /**
+     * Builds the handlers of every packet class from the registered adapters
+     */
+    private void rebuildHandlers() {
+        Map<Class<?>, List<EventEar>> lists = new HashMap<>();
+        for(Map<Class<?>, List<EventEar>> m : classAdapterMap.values()) {
+            m.forEach((packetClass, ears) -> lists.computeIfAbsent(packetClass, c -> new ArrayList<>()).addAll(ears));
+        }
+
+        Map<Class<?>, EventEar[]> handlers = new HashMap<>();
+        lists.forEach((packetClass, ears) -> handlers.put(packetClass, EventUtil.sortByPriority(ears).toArray(new EventEar[ears.size()])));
+        this.handlers = handlers;
     }
 
 }
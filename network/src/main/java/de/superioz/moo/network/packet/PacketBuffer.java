@@ -5,9 +5,17 @@ import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
 import lombok.AllArgsConstructor;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonSerializationException;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.UUID;
 
 /**
@@ -16,6 +24,21 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PacketBuffer {
 
+    /**
+     * The maximum length of an encoded string in bytes
+     */
+    public static final int MAX_STRING_LENGTH = 32767;
+
+    /**
+     * The byte which replaces characters that can't be encoded (same as {@link String#getBytes(java.nio.charset.Charset)})
+     */
+    private static final byte UTF8_UNKNOWN = (byte) '?';
+
+    /**
+     * The codec for en-/decoding bson documents
+     */
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
     private final ByteBuf buf;
 
     /**
@@ -57,6 +80,45 @@ public class PacketBuffer {
         return this;
     }
 
+    /**
+     * Read var long from buffer
+     *
+     * @return The long
+     */
+    public long readVarLong() {
+        long l = 0;
+        int j = 0;
+
+        while(true){
+            byte b0 = buf.readByte();
+            l |= (long) (b0 & 127) << j++ * 7;
+
+            if(j > 10) {
+                throw new RuntimeException("VarLong too big");
+            }
+            if((b0 & 128) != 128) {
+                break;
+            }
+        }
+
+        return l;
+    }
+
+    /**
+     * Write var long to buffer
+     *
+     * @param input The input
+     */
+    public PacketBuffer writeVarLong(long input) {
+        while((input & -128L) != 0){
+            buf.writeByte((int) (input & 127) | 128);
+            input >>>= 7;
+        }
+
+        buf.writeByte((int) input);
+        return this;
+    }
+
     /**
      * Writes a uniqueId to the buffer
      *
@@ -70,7 +132,9 @@ public class PacketBuffer {
     }
 
     public UUID readUuid() {
-        return new UUID(readLong(), readLong());
+        long most = readLong();
+        long least = readLong();
+        return new UUID(most, least);
     }
 
     /**
@@ -96,7 +160,8 @@ public class PacketBuffer {
     }
 
     /**
-     * Read string from buffer
+     * Read string from buffer<br>
+     * The string is decoded straight from the underlying buffer without copying the bytes out
      *
      * @param maxLength The slots length
      * @return The successful
@@ -107,9 +172,12 @@ public class PacketBuffer {
         if(i > maxLength * 4 || i < 0) {
             throw new DecoderException("The received encoded string buffer length is not allowed!");
         }
+        else if(i > buf.readableBytes()) {
+            throw new DecoderException("The received encoded string buffer length is longer than the readable bytes (" + i + " > " + buf.readableBytes() + ")");
+        }
         else {
-            ByteBuf part = buf.readBytes(i);
-            String s = part.toString(Charsets.UTF_8);
+            String s = buf.toString(buf.readerIndex(), i, Charsets.UTF_8);
+            buf.skipBytes(i);
 
             if(s.length() > maxLength) {
                 throw new DecoderException("The received string length is longer than maximum allowed (" + i + " > " + maxLength + ")");
@@ -121,11 +189,12 @@ public class PacketBuffer {
     }
 
     public String readString() {
-        return readString(32767);
+        return readString(MAX_STRING_LENGTH);
     }
 
     /**
-     * Writes a string into the packets buffer
+     * Writes a string into the packets buffer<br>
+     * The string is encoded as UTF-8 directly into the underlying buffer
      *
      * @param string The string
      * @return The buffer
@@ -133,14 +202,14 @@ public class PacketBuffer {
     public PacketBuffer writeString(String string) {
         if(string == null) string = "";
 
-        byte[] abyte = string.getBytes(Charsets.UTF_8);
+        int length = utf8Length(string);
 
-        if(abyte.length > 32767) {
-            throw new EncoderException("String too big (was " + string.length() + " bytes encoded, slots " + 32767 + ")");
+        if(length > MAX_STRING_LENGTH) {
+            throw new EncoderException("String too big (was " + length + " bytes encoded, slots " + MAX_STRING_LENGTH + ")");
         }
         else {
-            this.writeVarInt(abyte.length);
-            buf.writeBytes(abyte);
+            this.writeVarInt(length);
+            this.writeUtf8(string, length);
             return this;
         }
     }
@@ -152,6 +221,9 @@ public class PacketBuffer {
      */
     public List<String> readStringList() {
         int size = readVarInt();
+        if(size < 0 || size > buf.readableBytes()) {
+            throw new DecoderException("The received string list size is not allowed! (" + size + ")");
+        }
         List<String> l = new ArrayList<>(size);
 
         for(int i = 0; i < size; i++) {
@@ -167,8 +239,58 @@ public class PacketBuffer {
      * @return This
      */
     public PacketBuffer writeStringList(List<String> l) {
-        this.writeVarInt(l.size());
-        l.forEach(this::writeString);
+        if(l == null) {
+            return this.writeVarInt(0);
+        }
+        int size = l.size();
+        this.writeVarInt(size);
+
+        if(l instanceof RandomAccess) {
+            for(int i = 0; i < size; i++) {
+                this.writeString(l.get(i));
+            }
+        }
+        else {
+            for(String s : l) {
+                this.writeString(s);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Reads a bson document from the buffer (decoded directly from the buffer's bytes)
+     *
+     * @return The document
+     */
+    public BsonDocument readBson() {
+        int length = buf.readableBytes() < 4 ? -1 : buf.getIntLE(buf.readerIndex());
+        if(length < 5 || length > buf.readableBytes()) {
+            throw new DecoderException("The received bson document length is not allowed! (" + length + ")");
+        }
+
+        try(BsonBinaryReader reader = new BsonBinaryReader(buf.nioBuffer(buf.readerIndex(), length))) {
+            BsonDocument document = DOCUMENT_CODEC.decode(reader, DecoderContext.builder().build());
+            buf.skipBytes(length);
+            return document;
+        }
+        catch(BsonSerializationException e) {
+            throw new DecoderException("The received bson document is malformed!", e);
+        }
+    }
+
+    /**
+     * Writes a bson document into the buffer (encoded directly into the buffer)
+     *
+     * @param document The document (null will be written as empty document)
+     * @return This
+     */
+    public PacketBuffer writeBson(BsonDocument document) {
+        if(document == null) document = new BsonDocument();
+
+        try(BsonBinaryWriter writer = new BsonBinaryWriter(new ByteBufBsonOutput(buf))) {
+            DOCUMENT_CODEC.encode(writer, document, EncoderContext.builder().build());
+        }
         return this;
     }
 
@@ -196,4 +318,80 @@ public class PacketBuffer {
         buf.writeBoolean(b);
     }
 
+    public void writeBytes(ByteBuf src, int index, int length) {
+        buf.writeBytes(src, index, length);
+    }
+
+    /**
+     * Calculates the length of given string encoded as UTF-8 (without encoding it)
+     *
+     * @param s The string
+     * @return The length in bytes
+     */
+    public static int utf8Length(CharSequence s) {
+        int length = s.length();
+        int bytes = length;
+
+        for(int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+
+            if(c < 0x80) continue;
+            if(c < 0x800) {
+                bytes += 1;
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                // 4 bytes for two chars
+                bytes += 2;
+                i++;
+            }
+            else if(Character.isSurrogate(c)) {
+                // lone surrogate will be replaced by one byte
+            }
+            else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes given string as UTF-8 into the buffer
+     *
+     * @param s      The string
+     * @param length The encoded length (see {@link #utf8Length(CharSequence)})
+     */
+    private void writeUtf8(CharSequence s, int length) {
+        buf.ensureWritable(length);
+        int index = buf.writerIndex();
+        int size = s.length();
+
+        for(int i = 0; i < size; i++) {
+            char c = s.charAt(i);
+
+            if(c < 0x80) {
+                buf.setByte(index++, c);
+            }
+            else if(c < 0x800) {
+                buf.setByte(index++, 0xC0 | (c >> 6));
+                buf.setByte(index++, 0x80 | (c & 0x3F));
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buf.setByte(index++, 0xF0 | (codePoint >> 18));
+                buf.setByte(index++, 0x80 | ((codePoint >> 12) & 0x3F));
+                buf.setByte(index++, 0x80 | ((codePoint >> 6) & 0x3F));
+                buf.setByte(index++, 0x80 | (codePoint & 0x3F));
+            }
+            else if(Character.isSurrogate(c)) {
+                buf.setByte(index++, UTF8_UNKNOWN);
+            }
+            else {
+                buf.setByte(index++, 0xE0 | (c >> 12));
+                buf.setByte(index++, 0x80 | ((c >> 6) & 0x3F));
+                buf.setByte(index++, 0x80 | (c & 0x3F));
+            }
+        }
+        buf.writerIndex(index);
+    }
+
 }
@@ -1,20 +1,22 @@
 package de.superioz.moo.network.packet;
 
-import de.superioz.moo.api.utils.ReflectionUtil;
 import de.superioz.moo.network.AbstractNetworkInstance;
 import de.superioz.moo.network.exception.BadPacketException;
+import de.superioz.moo.network.packets.PacketCompression;
+import de.superioz.moo.network.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
 import lombok.Setter;
 
 import java.util.List;
-import java.util.UUID;
 
 /**
- * Decodes a {@link AbstractPacket}
+ * Decodes a {@link AbstractPacket}<br>
+ * The frame (a slice of the inbound buffer) is read in place and released right after decoding,
+ * so the packet never holds a reference to it
  */
-public class PacketDecoder extends ByteToMessageDecoder {
+public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
 
     /**
      * The netty instance
@@ -28,7 +30,6 @@ public class PacketDecoder extends ByteToMessageDecoder {
     private int protocolVersion = -1;
 
     public PacketDecoder(AbstractNetworkInstance main) {
-        this.setSingleDecode(true);
         this.main = main;
     }
 
@@ -45,32 +46,36 @@ public class PacketDecoder extends ByteToMessageDecoder {
             // like the protocol version and id
             int protocolVersion = buffer.readVarInt();
             int protocolId = buffer.readVarInt();
-            UUID queryUid = buffer.readUuid();
+            long query = buffer.readVarLong();
             long timestamp = buffer.readLong();
 
             // check protocol
             if(this.protocolVersion != protocolVersion) {
-                buf.skipBytes(buf.readableBytes());
                 throw new BadPacketException("Received packets with wrong protocol version! " + protocolVersion + " instead of " + this.protocolVersion);
             }
-            Class<? extends AbstractPacket> pClass = main.getRegistry().getPacket(protocolId);
+            PacketRegistry registry = main.getRegistry();
+            Class<? extends AbstractPacket> pClass = registry.getPacket(protocolId);
             if(pClass == null) {
-                buf.skipBytes(buf.readableBytes());
                 throw new BadPacketException("Cannot receive unregistered packets! (id:" + protocolId + ")");
             }
 
-            // builds the packets from the values
+            // builds the packets from the values (through the factory of the registry)
             // if the packet is null the constructor must be null
-            AbstractPacket packet = (AbstractPacket) ReflectionUtil.getInstance(pClass);
+            AbstractPacket packet = registry.createPacket(protocolId);
             if(packet == null) {
                 throw new NullPointerException("Packet is null because there is no NoArgsConstructor inside " + pClass.getSimpleName() + "!");
             }
             packet.protocolVersion = protocolVersion;
             packet.protocolId = protocolId;
-            packet.queryUid = queryUid;
+            packet.queryId = query >>> 1;
+            packet.response = (query & 1) == 1;
             packet.stamp = timestamp;
             packet.channel = ctx.channel();
-            packet.buf = buf;
+
+            // the payload of relayed packets can be forwarded without encoding the packet again
+            if(main.isRelayedPacket(pClass)) {
+                packet.buf = buf.retainedSlice();
+            }
 
             // makes the packets reads the payload from the packetbuffer
             try {
@@ -81,6 +86,11 @@ public class PacketDecoder extends ByteToMessageDecoder {
                 e.printStackTrace();
             }
             output.add(packet);
+
+            // the frames after the announcement of the compression are compressed
+            if(packet instanceof PacketCompression) {
+                PipelineUtil.addInflater(ctx.pipeline());
+            }
         }
         catch(Exception e) {
             System.err.println("Error while decoding packet: " + e.getMessage());
@@ -1,8 +1,11 @@
 package de.superioz.moo.network.packet;
 
 import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.packets.PacketCompression;
+import de.superioz.moo.network.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import lombok.Setter;
 
@@ -27,40 +30,68 @@ public class PacketEncoder extends MessageToByteEncoder<AbstractPacket> {
     }
 
     @Override
-    protected void encode(ChannelHandlerContext ctx, AbstractPacket packet, ByteBuf output) {
-        try {
-            PacketBuffer buffer = new PacketBuffer(output);
-
-            int protocolId = main.getRegistry().getId(packet.getClass());
-            if(protocolId == -1) {
-                throw new Exception("Couldn't find packet! (id: " + protocolId + ")");
-            }
-            packet.protocolVersion = protocolVersion;
-            packet.protocolId = protocolId;
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return super.acceptOutboundMessage(msg) || msg instanceof EncodedPacket;
+    }
 
-            // Writes important values to the header of the packets
-            // example is the protocol version and id
-            // and the queryuid which is used to determine the pipeline between request/response
-            buffer.writeVarInt(protocolVersion);
-            buffer.writeVarInt(protocolId);
-            buffer.writeUuid(packet.queryUid);
-            buffer.writeLong(packet.stamp);
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        // already encoded, only the content is passed on
+        if(msg instanceof EncodedPacket) {
+            ctx.write(((EncodedPacket) msg).content(), promise);
+            return;
+        }
+        super.write(ctx, msg, promise);
 
-            // message
-            try {
-                packet.write(buffer);
-            }
-            catch(Exception e) {
-                output.clear().release();
+        // the frames after the announcement of the compression are compressed (the receiver switches at the same frame)
+        if(msg instanceof PacketCompression) {
+            PipelineUtil.addDeflater(ctx.pipeline(), ((PacketCompression) msg).threshold);
+        }
+    }
 
-                System.err.println("Error inside " + packet.getName() + "#write method: " + e.getClass().getSimpleName());
-                e.printStackTrace();
-            }
+    @Override
+    protected void encode(ChannelHandlerContext ctx, AbstractPacket packet, ByteBuf output) {
+        try {
+            encode(main.getRegistry(), protocolVersion, packet, output);
         }
         catch(Exception e) {
+            output.clear();
+
             System.err.println("Error while encoding " + packet.getName() + ": " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Writes the header and the content of given packet into the buffer
+     *
+     * @param registry        The registry of the packets
+     * @param protocolVersion The protocol version
+     * @param packet          The packet
+     * @param output          The buffer
+     * @throws Exception If the packet isn't registered or couldn't be written
+     */
+    public static void encode(PacketRegistry registry, int protocolVersion, AbstractPacket packet, ByteBuf output) throws Exception {
+        PacketBuffer buffer = new PacketBuffer(output);
+
+        int protocolId = registry.getId(packet.getPacketClass());
+        if(protocolId == -1) {
+            throw new Exception("Couldn't find packet! (id: " + protocolId + ")");
+        }
+        packet.protocolVersion = protocolVersion;
+        packet.protocolId = protocolId;
+
+        // Writes important values to the header of the packets
+        // example is the protocol version and id
+        // and the query id which is used to determine the pipeline between request/response
+        // (the lowest bit marks a response)
+        buffer.writeVarInt(protocolVersion);
+        buffer.writeVarInt(protocolId);
+        buffer.writeVarLong(packet.queryId << 1 | (packet.response ? 1 : 0));
+        buffer.writeLong(packet.stamp);
+
+        // message
+        packet.write(buffer);
+    }
+
 }
@@ -0,0 +1,98 @@
+package de.superioz.moo.network.packet;
+
+import de.superioz.moo.api.utils.ReflectionUtil;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Supplier;
+
+/**
+ * Creates new instances of {@link AbstractPacket}s without reflection<br>
+ * The factory of a packet class is generated once (through {@link LambdaMetafactory}) and then cached
+ * for the class, so creating a packet is just a constructor call
+ */
+public final class PacketFactory {
+
+    /**
+     * The cached factories for every packet class
+     */
+    private static final ClassValue<Supplier<? extends AbstractPacket>> FACTORIES = new ClassValue<Supplier<? extends AbstractPacket>>() {
+        @Override
+        protected Supplier<? extends AbstractPacket> computeValue(Class<?> type) {
+            return compile(type.asSubclass(AbstractPacket.class));
+        }
+    };
+
+    private PacketFactory() {
+    }
+
+    /**
+     * Gets the factory of given packet class
+     *
+     * @param pClass The class of the packet
+     * @param <P>    The type of the packet
+     * @return The supplier which creates new instances (returns null if the packet has no NoArgsConstructor)
+     */
+    public static <P extends AbstractPacket> Supplier<P> of(Class<P> pClass) {
+        return (Supplier<P>) FACTORIES.get(pClass);
+    }
+
+    /**
+     * Creates a new instance of given packet class
+     *
+     * @param pClass The class of the packet
+     * @param <P>    The type of the packet
+     * @return The packet or null if the packet has no NoArgsConstructor
+     */
+    public static <P extends AbstractPacket> P create(Class<P> pClass) {
+        return of(pClass).get();
+    }
+
+    /**
+     * Generates the factory for given class<br>
+     * If the lambda can't be generated (e.g. because the class is not visible for this classloader) the
+     * constructor handle is used directly and if even that isn't possible it falls back to {@link ReflectionUtil#getInstance(Class, Object...)}
+     *
+     * @param pClass The class of the packet
+     * @return The supplier
+     */
+    private static Supplier<? extends AbstractPacket> compile(Class<? extends AbstractPacket> pClass) {
+        MethodHandle constructor;
+        try {
+            constructor = MethodHandles.publicLookup().findConstructor(pClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(AbstractPacket.class));
+        }
+        catch(NoSuchMethodException | IllegalAccessException e) {
+            return () -> (AbstractPacket) ReflectionUtil.getInstance(pClass);
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    lookup.findConstructor(pClass, MethodType.methodType(void.class)),
+                    MethodType.methodType(pClass));
+            Supplier<? extends AbstractPacket> supplier = (Supplier<? extends AbstractPacket>) site.getTarget().invoke();
+
+            // the generated class could fail on the first call if the packet class is not visible
+            // for this classloader, so better check it now
+            supplier.get();
+            return supplier;
+        }
+        catch(Throwable t) {
+            return () -> {
+                try {
+                    return (AbstractPacket) constructor.invokeExact();
+                }
+                catch(Throwable throwable) {
+                    return null;
+                }
+            };
+        }
+    }
+
+}
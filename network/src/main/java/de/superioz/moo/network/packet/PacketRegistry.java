@@ -4,10 +4,15 @@ import de.superioz.moo.network.Protocol;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
- * A registry for the packets. Representation of {@link Protocol}
+ * A registry for the packets. Representation of {@link Protocol}<br>
+ * The id and the factory of a packet are resolved once at registration, so looking them up
+ * while en-/decoding doesn't depend on the amount of registered packets
  */
 public final class PacketRegistry {
 
@@ -16,8 +21,20 @@ public final class PacketRegistry {
      */
     private List<Class<? extends AbstractPacket>> registry = new ArrayList<>();
 
+    /**
+     * The ids of the packet classes (copied on every registration, so reading doesn't need a lock)
+     */
+    private volatile Map<Class<?>, Integer> ids = new IdentityHashMap<>();
+
+    /**
+     * The factories of the packets (index = id)
+     */
+    private volatile Supplier<? extends AbstractPacket>[] factories = new Supplier[0];
+
     public PacketRegistry(Class<? extends AbstractPacket>... packets) {
-        this.registry = new ArrayList<>(Arrays.asList(packets));
+        for(Class<? extends AbstractPacket> packet : packets) {
+            this.register(packet);
+        }
     }
 
     /**
@@ -38,11 +55,23 @@ public final class PacketRegistry {
      * Registers an packet to the registry
      *
      * @param c The class
+     * @throws IllegalArgumentException If the class is a {@link RelayedPacket} (it is sent as the packet it carries)
      */
-    public void register(Class<? extends AbstractPacket> c) {
-        if(!contains(c)) {
-            registry.add(c);
+    public synchronized void register(Class<? extends AbstractPacket> c) {
+        if(RelayedPacket.class.isAssignableFrom(c)) {
+            throw new IllegalArgumentException("A relayed packet can't be registered, it is sent as the packet it carries!");
         }
+        if(contains(c)) return;
+        int id = registry.size();
+        registry.add(c);
+
+        Map<Class<?>, Integer> ids = new IdentityHashMap<>(this.ids);
+        ids.put(c, id);
+        this.ids = ids;
+
+        Supplier<? extends AbstractPacket>[] factories = Arrays.copyOf(this.factories, id + 1);
+        factories[id] = PacketFactory.of(c);
+        this.factories = factories;
     }
 
     /**
@@ -52,7 +81,7 @@ public final class PacketRegistry {
      * @return The result
      */
     public boolean contains(Class<? extends AbstractPacket> c) {
-        return registry.contains(c);
+        return ids.containsKey(c);
     }
 
     /**
@@ -62,8 +91,8 @@ public final class PacketRegistry {
      * @return The id (-1 if class isn't registered)
      */
     public int getId(Class<? extends AbstractPacket> c) {
-        if(!contains(c)) return -1;
-        return registry.indexOf(c);
+        Integer id = ids.get(c);
+        return id == null ? -1 : id;
     }
 
     /**
@@ -74,9 +103,23 @@ public final class PacketRegistry {
      * @see #getId(Class)
      */
     public Class<? extends AbstractPacket> getPacket(int id) {
-        if(id < 0 || id > registry.size()) return null;
+        if(id < 0 || id >= factories.length) return null;
 
         return registry.get(id);
     }
 
+    /**
+     * Creates a new instance of the packet with given id
+     *
+     * @param id The id of the packet
+     * @return The packet or null (if the id is unknown or the packet has no NoArgsConstructor)
+     * @see PacketFactory
+     */
+    public AbstractPacket createPacket(int id) {
+        Supplier<? extends AbstractPacket>[] factories = this.factories;
+        if(id < 0 || id >= factories.length) return null;
+
+        return factories[id].get();
+    }
+
 }
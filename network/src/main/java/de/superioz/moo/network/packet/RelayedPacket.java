@@ -0,0 +1,111 @@
+package de.superioz.moo.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * A packet which is forwarded as it was received<br>
+ * Instead of copying the fields and writing them again, the relayed packet only carries the payload of the original
+ * frame and writes it behind a new header. The payload is released after it has been written
+ *
+ * @see AbstractPacket#forwardCopy()
+ * @see de.superioz.moo.network.AbstractNetworkInstance#addRelayedPacket(Class)
+ */
+public class RelayedPacket extends AbstractPacket implements ReferenceCounted {
+
+    /**
+     * The packet which is forwarded (only to be read, e.g. by the outbound policies)
+     */
+    @Getter
+    private final AbstractPacket packet;
+
+    /**
+     * The payload of the original frame (without header)
+     */
+    private final ByteBuf payload;
+
+    public RelayedPacket(AbstractPacket packet, ByteBuf payload) {
+        this.packet = packet;
+        this.payload = payload;
+    }
+
+    @Override
+    public Class<? extends AbstractPacket> getPacketClass() {
+        return packet.getClass();
+    }
+
+    @Override
+    public String getName() {
+        return packet.getName();
+    }
+
+    /**
+     * Reads the fields into the forwarded packet. The decoder never creates a relayed packet (it can't be registered,
+     * see {@link PacketRegistry#register(Class)}), the packet arrives as the packet it carries
+     *
+     * @param buf The buffer
+     * @throws IOException If the forwarded packet couldn't be read
+     */
+    @Override
+    public void read(PacketBuffer buf) throws IOException {
+        packet.read(buf);
+    }
+
+    @Override
+    public void write(PacketBuffer buf) {
+        buf.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+    }
+
+    @Override
+    public <T extends AbstractPacket> T deepCopy() {
+        return packet.deepCopy();
+    }
+
+    @Override
+    public int refCnt() {
+        return payload.refCnt();
+    }
+
+    @Override
+    public RelayedPacket retain() {
+        payload.retain();
+        return this;
+    }
+
+    @Override
+    public RelayedPacket retain(int increment) {
+        payload.retain(increment);
+        return this;
+    }
+
+    @Override
+    public RelayedPacket touch() {
+        payload.touch();
+        return this;
+    }
+
+    @Override
+    public RelayedPacket touch(Object hint) {
+        payload.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return payload.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return payload.release(decrement);
+    }
+
+    @Override
+    public String toString() {
+        return "Relayed" + packet.toString();
+    }
+
+}
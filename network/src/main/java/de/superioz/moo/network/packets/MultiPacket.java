@@ -1,10 +1,13 @@
 package de.superioz.moo.network.packets;
 
 import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.queries.ResponseStatus;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import de.superioz.moo.api.utils.ReflectionUtil;
 import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.packet.PacketFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -13,28 +16,81 @@ import java.util.List;
 
 /**
  * This packet is for inherit multiple packets (of one type) and sending them across
- * the network simultaneously. This can be for example multiple {@link PacketServerRegister} packets.
+ * the network simultaneously. This can be for example multiple {@link PacketServerRegister} packets.<br>
+ * The receiver answers with one {@link PacketRespond} which contains the status of every sub-packet
+ * (see {@link #getStatuses(PacketRespond)}). If the packet is {@link #parallel} the sub-packets are processed at the
+ * same time, otherwise one after another until one of them fails.
  *
  * @param <P> The packet type
  */
 @NoArgsConstructor
 public class MultiPacket<P extends AbstractPacket> extends AbstractPacket {
 
+    /**
+     * The header of the response to a multi packet
+     */
+    public static final String RESPONSE_HEADER = "multipacket";
+
     @Getter
     private List<P> packetList = new ArrayList<>();
     private Class<P> pClass;
 
-    public MultiPacket(List<P> packets) {
+    /**
+     * If the sub-packets don't depend on each other and can therefore be processed in parallel
+     */
+    @Getter
+    @Setter
+    private boolean parallel = false;
+
+    public MultiPacket(List<P> packets, boolean parallel) {
         if(packets.size() > 0) {
             pClass = (Class<P>) packets.get(0).getClass();
         }
         this.packetList = packets;
+        this.parallel = parallel;
+    }
+
+    public MultiPacket(List<P> packets) {
+        this(packets, false);
     }
 
     public MultiPacket(P... packets) {
         this(Arrays.asList(packets));
     }
 
+    /**
+     * Creates the response to a multi packet
+     *
+     * @param statuses The status of every processed sub-packet (in the order of the sub-packets)
+     * @return The response (status is the first negative status or OK)
+     */
+    public static PacketRespond createResponse(List<ResponseStatus> statuses) {
+        ResponseStatus status = ResponseStatus.OK;
+        List<String> message = new ArrayList<>(statuses.size());
+        for(ResponseStatus itemStatus : statuses) {
+            if(status.isOk() && itemStatus.isNok()) status = itemStatus;
+            message.add(itemStatus.name());
+        }
+        return new PacketRespond(RESPONSE_HEADER, message, status);
+    }
+
+    /**
+     * Gets the status of every sub-packet from the response to a multi packet<br>
+     * If the sub-packets were processed one after another the list ends with the first failed sub-packet
+     *
+     * @param respond The response
+     * @return The list of statuses (in the order of the sub-packets)
+     */
+    public static List<ResponseStatus> getStatuses(PacketRespond respond) {
+        List<ResponseStatus> statuses = new ArrayList<>();
+        if(!RESPONSE_HEADER.equals(respond.header)) return statuses;
+
+        for(String name : respond.message) {
+            statuses.add(ResponseStatus.valueOf(name));
+        }
+        return statuses;
+    }
+
     public String getPacketName() {
         return pClass == null ? "?" : pClass.getSimpleName();
     }
@@ -42,10 +98,11 @@ public class MultiPacket<P extends AbstractPacket> extends AbstractPacket {
     @Override
     public void read(PacketBuffer buf) throws IOException {
         this.pClass = (Class<P>) ReflectionUtil.getClass(buf.readString());
+        this.parallel = buf.readBoolean();
         int size = buf.readVarInt();
 
         for(int i = 0; i < size; i++) {
-            P p = (P) ReflectionUtil.getInstance(pClass);
+            P p = PacketFactory.create(pClass);
             p.read(buf);
             packetList.add(p);
         }
@@ -54,6 +111,7 @@ public class MultiPacket<P extends AbstractPacket> extends AbstractPacket {
     @Override
     public void write(PacketBuffer buf) throws IOException {
         buf.writeString(pClass == null ? AbstractPacket.class.getName() : pClass.getName());
+        buf.writeBoolean(parallel);
         buf.writeVarInt(packetList.size());
 
         for(P packet : packetList) {
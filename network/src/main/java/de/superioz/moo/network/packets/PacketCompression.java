@@ -0,0 +1,40 @@
+package de.superioz.moo.network.packets;
+
+import de.superioz.moo.network.lib.PacketCompressor;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.server.NetworkServer;
+import io.netty.channel.Channel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * This packet announces the compression threshold of the server after the handshake. Every frame sent after this
+ * packet is compressed, so the receiver switches at the same frame. The client echoes the packet, which switches the
+ * other direction
+ *
+ * @see NetworkServer#announceCompression(Channel)
+ * @see PacketCompressor
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+public class PacketCompression extends AbstractPacket {
+
+    /**
+     * The minimum size of a frame (in bytes) to be compressed
+     */
+    public int threshold;
+
+    @Override
+    public void read(PacketBuffer buf) throws IOException {
+        this.threshold = buf.readVarInt();
+    }
+
+    @Override
+    public void write(PacketBuffer buf) throws IOException {
+        buf.writeVarInt(threshold);
+    }
+
+}
@@ -48,7 +48,7 @@ public class PacketDatabaseInfo extends AbstractPacket {
     @Override
     public void read(PacketBuffer buf) throws IOException {
         this.databaseType = buf.readEnumValue(DatabaseType.class);
-        this.filter = new DbFilter().readObject(buf.readString());
+        this.filter = new DbFilter().readBson(buf.readBson());
         this.queried = buf.readBoolean();
         this.limit = buf.readVarInt();
     }
@@ -56,7 +56,7 @@ public class PacketDatabaseInfo extends AbstractPacket {
     @Override
     public void write(PacketBuffer buf) throws IOException {
         buf.writeEnumValue(databaseType);
-        buf.writeString(filter.toString());
+        buf.writeBson(filter.toBsonDocument());
         buf.writeBoolean(queried);
         buf.writeVarInt(limit);
     }
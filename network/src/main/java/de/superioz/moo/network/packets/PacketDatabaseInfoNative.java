@@ -34,14 +34,14 @@ public class PacketDatabaseInfoNative extends AbstractPacket {
     @Override
     public void read(PacketBuffer buf) throws IOException {
         this.databaseName = buf.readString();
-        this.filter = new DbFilter().readObject(buf.readString());
+        this.filter = new DbFilter().readBson(buf.readBson());
         this.limit = buf.readInt();
     }
 
     @Override
     public void write(PacketBuffer buf) throws IOException {
         buf.writeString(databaseName);
-        buf.writeString(filter.toString());
+        buf.writeBson(filter.toBsonDocument());
         buf.writeInt(limit);
     }
 }
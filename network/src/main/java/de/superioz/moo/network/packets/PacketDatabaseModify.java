@@ -12,7 +12,6 @@ import de.superioz.moo.api.database.DatabaseModifyType;
 import de.superioz.moo.network.packet.PacketBuffer;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * This packet is for modifying data from a {@link DatabaseCollection}
@@ -111,10 +110,10 @@ public class PacketDatabaseModify extends AbstractPacket {
     @Override
     public void read(PacketBuffer buf) throws IOException {
         this.databaseType = buf.readEnumValue(DatabaseType.class);
-        this.filter = new DbFilter().readObject(buf.readString());
+        this.filter = new DbFilter().readBson(buf.readBson());
         this.type = buf.readEnumValue(DatabaseModifyType.class);
 
-        this.updates = DbQuery.fromStringList(buf.readStringList());
+        this.updates = DbQuery.fromBsonDocument(buf.readBson());
         if(updates == null) buf.readString();
         else this.updates.setKeyHoldingClass(ReflectionUtil.getClass(buf.readString()));
 
@@ -125,10 +124,10 @@ public class PacketDatabaseModify extends AbstractPacket {
     @Override
     public void write(PacketBuffer buf) throws IOException {
         buf.writeEnumValue(databaseType);
-        buf.writeString(filter.toString());
+        buf.writeBson(filter.toBsonDocument());
         buf.writeEnumValue(type);
 
-        buf.writeStringList(updates == null ? new ArrayList<>() : updates.toStringList());
+        buf.writeBson(updates == null ? null : updates.toBsonDocument());
         buf.writeString(updates == null ? getClass().getSimpleName() : updates.getKeyHoldingClass().getName());
 
         buf.writeBoolean(queried);
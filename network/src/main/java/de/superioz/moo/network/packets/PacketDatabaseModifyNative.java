@@ -10,7 +10,6 @@ import de.superioz.moo.api.database.DatabaseModifyType;
 import de.superioz.moo.network.packet.PacketBuffer;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * The native version of {@link PacketDatabaseModify}, that means without database type as enum but as string.<br>
@@ -48,10 +47,10 @@ public class PacketDatabaseModifyNative extends AbstractPacket {
     @Override
     public void read(PacketBuffer buf) throws IOException {
         this.databaseName = buf.readString();
-        this.filter = new DbFilter().readObject(buf.readString());
+        this.filter = new DbFilter().readBson(buf.readBson());
         this.type = buf.readEnumValue(DatabaseModifyType.class);
 
-        this.updates = DbQuery.fromStringList(buf.readStringList());
+        this.updates = DbQuery.fromBsonDocument(buf.readBson());
         if(updates == null) buf.readString();
         else this.updates.setKeyHoldingClass(ReflectionUtil.getClass(buf.readString()));
 
@@ -61,10 +60,10 @@ public class PacketDatabaseModifyNative extends AbstractPacket {
     @Override
     public void write(PacketBuffer buf) throws IOException {
         buf.writeString(databaseName);
-        buf.writeString(filter.toString());
+        buf.writeBson(filter.toBsonDocument());
         buf.writeEnumValue(type);
 
-        buf.writeStringList(updates == null ? new ArrayList<>() : updates.toStringList());
+        buf.writeBson(updates == null ? null : updates.toBsonDocument());
         buf.writeString(updates == null ? getClass().getSimpleName() : updates.getKeyHoldingClass().getName());
         buf.writeVarInt(limit);
     }
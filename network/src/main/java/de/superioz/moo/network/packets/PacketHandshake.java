@@ -2,9 +2,9 @@ package de.superioz.moo.network.packets;
 
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.network.packet.AbstractPacket;
-import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.server.SessionLog;
 
 import java.io.IOException;
 
@@ -12,7 +12,6 @@ import java.io.IOException;
  * This packet is for the handshake between two instances (at least a bit of authentication)
  */
 @NoArgsConstructor
-@AllArgsConstructor
 public class PacketHandshake extends AbstractPacket {
 
     /**
@@ -31,9 +30,34 @@ public class PacketHandshake extends AbstractPacket {
      */
     public int subPort = -1;
 
-    public PacketHandshake(String identifier, ClientType type) {
+    /**
+     * The token of the session to be resumed (empty for a new session)
+     *
+     * @see SessionLog
+     */
+    public String session = "";
+
+    /**
+     * The sequence of the last state change the client received before it disconnected (-1 if none)
+     *
+     * @see PacketStateMark
+     */
+    public long sequence = -1;
+
+    /**
+     * The host the client is reachable at, if the cloud can't see it from the channel (e.g. over a unix domain
+     * socket). Empty = the host of the channel
+     */
+    public String host = "";
+
+    public PacketHandshake(String identifier, ClientType type, int subPort) {
         this.identifier = identifier;
         this.type = type;
+        this.subPort = subPort;
+    }
+
+    public PacketHandshake(String identifier, ClientType type) {
+        this(identifier, type, -1);
     }
 
     @Override
@@ -41,6 +65,9 @@ public class PacketHandshake extends AbstractPacket {
         this.type = buf.readEnumValue(ClientType.class);
         this.identifier = buf.readString();
         this.subPort = buf.readInt();
+        this.session = buf.readString();
+        this.sequence = buf.readLong();
+        this.host = buf.readString();
     }
 
     @Override
@@ -48,6 +75,9 @@ public class PacketHandshake extends AbstractPacket {
         buf.writeEnumValue(type);
         buf.writeString(identifier);
         buf.writeInt(subPort);
+        buf.writeString(session);
+        buf.writeLong(sequence);
+        buf.writeString(host);
     }
 
 }
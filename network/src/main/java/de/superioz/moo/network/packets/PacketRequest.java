@@ -43,7 +43,12 @@ public class PacketRequest extends AbstractPacket {
 
     public enum Type {
 
-        PING
+        PING,
+
+        /**
+         * The latencies measured by the cloud (see {@link de.superioz.moo.network.NetworkStats})
+         */
+        LATENCY
 
     }
 
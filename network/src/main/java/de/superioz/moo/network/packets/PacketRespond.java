@@ -1,13 +1,19 @@
 package de.superioz.moo.network.packets;
 
+import de.superioz.moo.api.utils.BsonUtil;
 import de.superioz.moo.network.queries.ResponseStatus;
 import de.superioz.moo.network.packet.AbstractPacket;
 import lombok.NoArgsConstructor;
 import de.superioz.moo.network.packet.PacketBuffer;
 
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +24,11 @@ public class PacketRespond extends AbstractPacket {
 
     public static final String MODIFICATION_PREFIX = "mod-";
 
+    /**
+     * The key of the records inside the written document
+     */
+    private static final String RECORDS_KEY = "r";
+
     /**
      * The header of the response (like "playerInfo")
      */
@@ -33,6 +44,13 @@ public class PacketRespond extends AbstractPacket {
      */
     public ResponseStatus status;
 
+    /**
+     * The typed records of the response (e.g. playerData as documents), sent next to the message
+     *
+     * @see #ofRecords(String, Collection, ResponseStatus)
+     */
+    public List<BsonValue> records = new ArrayList<>();
+
     public PacketRespond(String header, List<String> message, ResponseStatus status) {
         this.header = header;
         this.message = message;
@@ -51,6 +69,22 @@ public class PacketRespond extends AbstractPacket {
         this("", new ArrayList<>(), status);
     }
 
+    /**
+     * Creates a response which contains given objects as typed records
+     *
+     * @param header  The header
+     * @param objects The objects (serialized with {@link BsonUtil#serialize(Object)})
+     * @param status  The status
+     * @return The response
+     */
+    public static PacketRespond ofRecords(String header, Collection<?> objects, ResponseStatus status) {
+        PacketRespond respond = new PacketRespond(header, new ArrayList<>(), status);
+        for(Object object : objects) {
+            respond.records.add(BsonUtil.serialize(object));
+        }
+        return respond;
+    }
+
     /**
      * Gets the message of the response (either an empty string or the first entry of the messages list)
      *
@@ -66,6 +100,8 @@ public class PacketRespond extends AbstractPacket {
         this.header = buf.readString();
         this.message = buf.readStringList();
         this.status = buf.readEnumValue(ResponseStatus.class);
+
+        this.records = buf.readBoolean() ? buf.readBson().getArray(RECORDS_KEY) : new ArrayList<>();
     }
 
     @Override
@@ -73,6 +109,10 @@ public class PacketRespond extends AbstractPacket {
         buf.writeString(header);
         buf.writeStringList(message);
         buf.writeEnumValue(status);
+
+        // the records are sent as array inside one document
+        buf.writeBoolean(!records.isEmpty());
+        if(!records.isEmpty()) buf.writeBson(new BsonDocument(RECORDS_KEY, new BsonArray(records)));
     }
 
 }
@@ -0,0 +1,38 @@
+package de.superioz.moo.network.packets;
+
+import de.superioz.moo.network.client.NetworkClient;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.server.SessionLog;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * This packet tells the client the sequence of the last state change it received (server registrations, ..).
+ * The client sends the sequence with its next handshake, so that the master only has to send the missed changes
+ *
+ * @see SessionLog
+ * @see NetworkClient#getStateSequence()
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+public class PacketStateMark extends AbstractPacket {
+
+    /**
+     * The sequence of the last state change
+     */
+    public long sequence;
+
+    @Override
+    public void read(PacketBuffer buf) throws IOException {
+        this.sequence = buf.readLong();
+    }
+
+    @Override
+    public void write(PacketBuffer buf) throws IOException {
+        buf.writeLong(sequence);
+    }
+
+}
@@ -0,0 +1,46 @@
+package de.superioz.moo.network.packets;
+
+import de.superioz.moo.network.common.Topic;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.server.SubscriptionIndex;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This packet (un)subscribes the client to topics. The cloud only pushes the updates of a topic (e.g. the permission
+ * update of a player) to the clients which subscribed to it
+ *
+ * @see Topic
+ * @see SubscriptionIndex
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+public class PacketSubscribe extends AbstractPacket {
+
+    /**
+     * true = subscribe; false = unsubscribe
+     */
+    public boolean subscribe;
+
+    /**
+     * The topics (e.g. player:069a79f4-44e9-4726-a5be-fca90e38aaf5)
+     */
+    public List<String> topics;
+
+    @Override
+    public void read(PacketBuffer buf) throws IOException {
+        this.subscribe = buf.readBoolean();
+        this.topics = buf.readStringList();
+    }
+
+    @Override
+    public void write(PacketBuffer buf) throws IOException {
+        buf.writeBoolean(subscribe);
+        buf.writeStringList(topics);
+    }
+
+}
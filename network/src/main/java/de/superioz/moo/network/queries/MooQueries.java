@@ -23,6 +23,8 @@ import lombok.NoArgsConstructor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 /**
@@ -73,26 +75,29 @@ public final class MooQueries {
      * @return The respond
      */
     public PlayerData getPlayerData(String playerName) {
-        try {
-            return Queries.get(DatabaseType.PLAYER, playerName, PlayerData.class);
-        }
-        catch(MooInputException e) {
-            return null;
-        }
+        return join(getPlayerDataAsync(playerName));
     }
 
     public PlayerData getPlayerData(UUID uuid) {
+        return join(getPlayerDataAsync(uuid));
+    }
+
+    /**
+     * Similar to {@link #getPlayerData(String)} but returns the future of the playerData
+     *
+     * @param playerName The name
+     * @return The future of the playerData (completes with null if the player doesn't exist)
+     */
+    public CompletableFuture<PlayerData> getPlayerDataAsync(String playerName) {
+        return Queries.getAsync(DatabaseType.PLAYER, playerName, PlayerData.class).exceptionally(this::ignoreInput);
+    }
+
+    public CompletableFuture<PlayerData> getPlayerDataAsync(UUID uuid) {
         MooPlayer data = MooCache.getInstance().getPlayerMap().get(uuid);
         if(data != null) {
-            return data.unwrap();
-        }
-
-        try {
-            return Queries.get(DatabaseType.PLAYER, uuid, PlayerData.class);
-        }
-        catch(MooInputException e) {
-            return null;
+            return CompletableFuture.completedFuture(data.unwrap());
         }
+        return Queries.getAsync(DatabaseType.PLAYER, uuid, PlayerData.class).exceptionally(this::ignoreInput);
     }
 
     /**
@@ -102,26 +107,41 @@ public final class MooQueries {
      * @return The respond
      */
     public PlayerProfile getPlayerProfile(String key) {
-        try {
-            Response response = PacketMessenger.transferToResponse(new PacketPlayerProfile(key));
-            response.checkState();
-            PlayerProfile info = PlayerProfile.fromPacketData(response.getMessageAsList());
+        return join(getPlayerProfileAsync(key));
+    }
 
-            if(info != null) {
-                if(info.getCurrentBan() == null) {
-                    if(!checkBan(info.getCurrentBan())) info.setCurrentBan(null);
+    public PlayerProfile getPlayerProfile(UUID uuid) {
+        return getPlayerProfile(uuid.toString());
+    }
+
+    /**
+     * Similar to {@link #getPlayerProfile(String)} but returns the future of the profile
+     *
+     * @param key The key (name | uuid)
+     * @return The future of the profile (completes with null if something went wrong)
+     */
+    public CompletableFuture<PlayerProfile> getPlayerProfileAsync(String key) {
+        return PacketMessenger.transferToResponseAsync(new PacketPlayerProfile(key)).thenApply(response -> {
+            try {
+                response.checkState();
+                PlayerProfile info = PlayerProfile.fromRecords(response.getRecords());
+
+                if(info != null) {
+                    if(info.getCurrentBan() == null) {
+                        if(!checkBan(info.getCurrentBan())) info.setCurrentBan(null);
+                    }
                 }
+                return info;
             }
-            return info;
-        }
-        catch(Exception ex) {
-            ex.printStackTrace();
-            return null;
-        }
+            catch(Exception ex) {
+                ex.printStackTrace();
+                return null;
+            }
+        });
     }
 
-    public PlayerProfile getPlayerProfile(UUID uuid) {
-        return getPlayerProfile(uuid.toString());
+    public CompletableFuture<PlayerProfile> getPlayerProfileAsync(UUID uuid) {
+        return getPlayerProfileAsync(uuid.toString());
     }
 
     /**
@@ -142,11 +162,22 @@ public final class MooQueries {
     }
 
     public ResponseStatus modifyPlayerData(Object id, DbQuery query) {
-        return Queries.modify(DatabaseType.PLAYER, id, query).getStatus();
+        return join(modifyPlayerDataAsync(id, query));
     }
 
     public ResponseStatus modifyPlayerData(Object id, DbQueryUnbaked query) {
-        return Queries.modify(DatabaseType.PLAYER, id, query).getStatus();
+        return join(modifyPlayerDataAsync(id, query.bake(PlayerData.class)));
+    }
+
+    /**
+     * Similar to {@link #modifyPlayerData(Object, DbQuery)} but returns the future of the status
+     *
+     * @param id    The id
+     * @param query The query to modify the playerData with
+     * @return The future of the status
+     */
+    public CompletableFuture<ResponseStatus> modifyPlayerDataAsync(Object id, DbQuery query) {
+        return Queries.modifyAsync(DatabaseType.PLAYER, id, query).thenApply(Response::getStatus);
     }
 
     /**
@@ -158,7 +189,21 @@ public final class MooQueries {
      * @return The respond
      */
     public ResponseStatus sendMessage(PacketPlayerMessage.Type type, String message, String param, boolean colored, boolean formatted) {
-        return PacketMessenger.transferToResponse(new PacketPlayerMessage(type, message, param, colored, formatted)).getStatus();
+        return join(sendMessageAsync(type, message, param, colored, formatted));
+    }
+
+    /**
+     * Similar to {@link #sendMessage(PacketPlayerMessage.Type, String, String, boolean, boolean)} but returns the
+     * future of the status
+     *
+     * @param type    The type of the message
+     * @param message The message to send
+     * @param param   Notes mean e.g. the playerName or the permission
+     * @return The future of the status
+     */
+    public CompletableFuture<ResponseStatus> sendMessageAsync(PacketPlayerMessage.Type type, String message, String param, boolean colored, boolean formatted) {
+        return PacketMessenger.transferToResponseAsync(new PacketPlayerMessage(type, message, param, colored, formatted))
+                .thenApply(Response::getStatus);
     }
 
     public ResponseStatus sendMessage(PacketPlayerMessage.Type type, String message, String param) {
@@ -193,14 +238,19 @@ public final class MooQueries {
      * @return The respond of the request
      */
     public Ban getBan(String playerName) {
-        try {
-            Ban ban = Queries.get(DatabaseType.BAN, playerName);
-            if(!checkBan(ban)) return null;
-            return ban;
-        }
-        catch(MooInputException e) {
-            return null;
-        }
+        return join(getBanAsync(playerName));
+    }
+
+    /**
+     * Similar to {@link #getBan(String)} but returns the future of the ban
+     *
+     * @param playerName The playerName
+     * @return The future of the ban (completes with null if the player isn't banned)
+     */
+    public CompletableFuture<Ban> getBanAsync(String playerName) {
+        return Queries.getAsync(DatabaseType.BAN, playerName, Ban.class)
+                .exceptionally(this::ignoreInput)
+                .thenApply(ban -> checkBan(ban) ? ban : null);
     }
 
     public Ban getBan(UUID uuid) {
@@ -214,12 +264,19 @@ public final class MooQueries {
      * @return The respond of the request
      */
     public List<Ban> getBanArchive(String playerName) {
-        try {
-            return Queries.newInstance(DatabaseType.BAN_ARCHIVE).filter(playerName).execute().toComplexes(Ban.class);
-        }
-        catch(MooInputException e) {
-            return new ArrayList<>();
-        }
+        return join(getBanArchiveAsync(playerName));
+    }
+
+    /**
+     * Similar to {@link #getBanArchive(String)} but returns the future of the bans
+     *
+     * @param playerName The playerName
+     * @return The future of the bans
+     */
+    public CompletableFuture<List<Ban>> getBanArchiveAsync(String playerName) {
+        return Queries.listAsync(DatabaseType.BAN_ARCHIVE, playerName, Ban.class)
+                .exceptionally(this::ignoreInput)
+                .thenApply(bans -> bans == null ? new ArrayList<>() : bans);
     }
 
     public List<Ban> getBanArchive(UUID uuid) {
@@ -329,4 +386,35 @@ public final class MooQueries {
         return data.getGroup();
     }
 
+    /**
+     * Completes a future with null if the query failed because of the response (like the catch blocks of the
+     * blocking methods did)
+     *
+     * @param throwable The reason
+     * @param <T>       The type of the future
+     * @return null
+     */
+    private <T> T ignoreInput(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        if(cause instanceof MooInputException) return null;
+        throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+    }
+
+    /**
+     * Waits for the future (the blocking methods are wrappers of the async ones)
+     *
+     * @param future The future
+     * @param <T>    The type of the result
+     * @return The result
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        }
+        catch(CompletionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
 }
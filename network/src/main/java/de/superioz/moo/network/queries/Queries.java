@@ -21,7 +21,8 @@ import de.superioz.moo.network.exception.MooOutputException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Class for easier sending packets to either the currently connected network instance
@@ -88,11 +89,7 @@ public final class Queries {
      * @throws MooInputException If the response isn't OK
      */
     public static <E> E get(DatabaseType type, DbFilter filter, Class<E> eClass) throws MooInputException {
-        Response response = Queries.newInstance(type).filter(filter).execute();
-        if(response == null) {
-            return null;
-        }
-        return response.toComplex(eClass);
+        return join(getAsync(type, filter, eClass));
     }
 
     public static <E> E get(DatabaseType type, Class<?> objectClass, Object primKey, Class<E> eClass) throws MooInputException {
@@ -119,11 +116,8 @@ public final class Queries {
      * @throws MooInputException If the response isn't OK
      */
     public static <E> E get(String databaseName, DbFilter filter, Class<E> eClass) throws MooInputException {
-        Response response = Queries.newInstance(databaseName).filter(filter).execute();
-        if(response == null) {
-            return null;
-        }
-        return response.toComplex(eClass);
+        return join(Queries.newInstance(databaseName).filter(filter).executeAsync()
+                .thenApply(response -> toComplex(response, eClass)));
     }
 
     public static <E> E get(String databaseName, Class<?> objectClass, Object primKey, Class<E> eClass) throws MooInputException {
@@ -141,11 +135,7 @@ public final class Queries {
      * @throws MooInputException If the response isn't OK
      */
     public static <E> List<E> list(DatabaseType type, DbFilter filter, Class<E> eClass) throws MooInputException {
-        Response response = Queries.newInstance(type).filter(filter).execute();
-        if(response == null) {
-            return null;
-        }
-        return response.toComplexes(eClass);
+        return join(listAsync(type, filter, eClass));
     }
 
     public static <E> List<E> list(DatabaseType type, Class<?> objectClass, Object primKey, Class<E> eClass) throws MooInputException {
@@ -170,11 +160,7 @@ public final class Queries {
      * @throws MooInputException If the response isn't OK
      */
     public static <E> List<E> list(DatabaseType type, Class<E> eClass) throws MooInputException {
-        Response response = Queries.newInstance(type).count(PacketDatabaseCount.CountType.LIST).execute();
-        if(response == null) {
-            return null;
-        }
-        return response.toComplexes(eClass);
+        return join(listAsync(type, eClass));
     }
 
     /**
@@ -187,11 +173,8 @@ public final class Queries {
      * @throws MooInputException If the response isn't OK
      */
     public static <E> List<E> list(String databaseName, Class<E> eClass) throws MooInputException {
-        Response response = Queries.newInstance(databaseName).count(PacketDatabaseCount.CountType.LIST).execute();
-        if(response == null) {
-            return null;
-        }
-        return response.toComplexes(eClass);
+        return join(Queries.newInstance(databaseName).count(PacketDatabaseCount.CountType.LIST).executeAsync()
+                .thenApply(response -> toComplexes(response, eClass)));
     }
 
     /**
@@ -282,6 +265,139 @@ public final class Queries {
         return modify(type, type.getWrappedClass(), primKey, query);
     }
 
+    /*
+    =======================================
+    ASYNC QUERIES
+    =======================================
+     */
+
+    /**
+     * Similar to {@link #get(DatabaseType, DbFilter, Class)} but returns the future of the element, so no thread has to
+     * wait for the response. The future completes exceptionally with a {@link MooInputException} if the response isn't OK
+     *
+     * @param type   The type of the database
+     * @param filter The filter to fetch the data
+     * @param eClass The element class to cast the data with
+     * @param <E>    The element type
+     * @return The future of the element
+     */
+    public static <E> CompletableFuture<E> getAsync(DatabaseType type, DbFilter filter, Class<E> eClass) {
+        return Queries.newInstance(type).filter(filter).executeAsync().thenApply(response -> toComplex(response, eClass));
+    }
+
+    public static <E> CompletableFuture<E> getAsync(DatabaseType type, Object primKey, Class<E> eClass) {
+        return getAsync(type, DbFilter.fromPrimKey(type.getWrappedClass(), primKey), eClass);
+    }
+
+    /**
+     * Similar to {@link #list(DatabaseType, DbFilter, Class)} but returns the future of the elements
+     *
+     * @param type   The type of the database
+     * @param filter The filter to fetch the data
+     * @param eClass The element class to cast the data with
+     * @param <E>    The element type
+     * @return The future of the elements
+     */
+    public static <E> CompletableFuture<List<E>> listAsync(DatabaseType type, DbFilter filter, Class<E> eClass) {
+        return Queries.newInstance(type).filter(filter).executeAsync().thenApply(response -> toComplexes(response, eClass));
+    }
+
+    public static <E> CompletableFuture<List<E>> listAsync(DatabaseType type, Object primKey, Class<E> eClass) {
+        return listAsync(type, DbFilter.fromPrimKey(type.getWrappedClass(), primKey), eClass);
+    }
+
+    public static <E> CompletableFuture<List<E>> listAsync(DatabaseType type, Class<E> eClass) {
+        return Queries.newInstance(type).count(PacketDatabaseCount.CountType.LIST).executeAsync()
+                .thenApply(response -> toComplexes(response, eClass));
+    }
+
+    /**
+     * Similar to {@link #create(DatabaseType, Object)} but returns the future of the response
+     *
+     * @param type   The database type
+     * @param object The object to be converted into a {@link DbQuery}
+     * @return The future of the response
+     */
+    public static CompletableFuture<Response> createAsync(DatabaseType type, Object object) {
+        return Queries.newInstance(type).creation(object).executeAsync();
+    }
+
+    /**
+     * Similar to {@link #delete(DatabaseType, Object)} but returns the future of the response
+     *
+     * @param type    The database type
+     * @param primKey The primary key of the data to delete
+     * @return The future of the response
+     */
+    public static CompletableFuture<Response> deleteAsync(DatabaseType type, Object primKey) {
+        return Queries.newInstance(type).filter(DbFilter.fromPrimKey(type.getWrappedClass(), primKey)).deletion().executeAsync();
+    }
+
+    /**
+     * Similar to {@link #modify(DatabaseType, Object, DbQuery)} but returns the future of the response
+     *
+     * @param type    The database type
+     * @param primKey The primary key of the data to modify
+     * @param query   The query to modify the data
+     * @return The future of the response
+     */
+    public static CompletableFuture<Response> modifyAsync(DatabaseType type, Object primKey, DbQuery query) {
+        return Queries.newInstance(type).filter(DbFilter.fromPrimKey(type.getWrappedClass(), primKey)).update(query).executeAsync();
+    }
+
+    public static CompletableFuture<Response> modifyAsync(DatabaseType type, Object primKey, DbQueryUnbaked query) {
+        return modifyAsync(type, primKey, query.bake(type.getWrappedClass()));
+    }
+
+    /**
+     * Waits for the future of a query (the blocking methods are wrappers of the async ones)
+     *
+     * @param future The future
+     * @param <T>    The type of the result
+     * @return The result
+     * @throws MooInputException If the response isn't OK
+     */
+    public static <T> T join(CompletableFuture<T> future) throws MooInputException {
+        try {
+            return future.join();
+        }
+        catch(CompletionException e) {
+            if(e.getCause() instanceof MooInputException) throw (MooInputException) e.getCause();
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Converts the response into the element (for {@link CompletableFuture#thenApply(java.util.function.Function)})
+     *
+     * @param response The response (null if the query was cancelled)
+     * @param eClass   The element class
+     * @param <E>      The element type
+     * @return The element
+     */
+    private static <E> E toComplex(Response response, Class<E> eClass) {
+        if(response == null) return null;
+
+        try {
+            return response.toComplex(eClass);
+        }
+        catch(MooInputException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static <E> List<E> toComplexes(Response response, Class<E> eClass) {
+        if(response == null) return null;
+
+        try {
+            return response.toComplexes(eClass);
+        }
+        catch(MooInputException e) {
+            throw new CompletionException(e);
+        }
+    }
+
     /*
     =======================================
     CREATE RAW QUERIES
@@ -536,28 +652,42 @@ public final class Queries {
     }
 
     /**
-     * Executes the {@link QueryEvent} to send or simulate a modify/info packet
+     * Executes the {@link QueryEvent} to send or simulate a modify/info packet and waits for the response<br>
+     * A response which doesn't come back in time is answered with {@link ResponseStatus#TIMEOUT}
      *
      * @return The response
+     * @see #executeAsync()
      */
     public Response execute() throws MooOutputException {
+        try {
+            return executeAsync().join();
+        }
+        catch(CompletionException e) {
+            if(e.getCause() instanceof MooOutputException) throw (MooOutputException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Executes the {@link QueryEvent} to send or simulate a modify/info packet
+     *
+     * @return The future of the response (completes with null if the query was cancelled or exceptionally with the
+     * {@link MooOutputException} which cancelled it)
+     */
+    public CompletableFuture<Response> executeAsync() {
         QueryEvent event = Queries.queryPacket(toPacket());
 
         if(event.isCancelled()) {
-            if(event.getCancelReason() != null) {
-                try {
-                    throw event.getCancelReason();
-                }
-                catch(Throwable throwable) {
-                    if(throwable instanceof MooOutputException) {
-                        throw (MooOutputException) throwable;
-                    }
-                    // nothing otherwise
-                }
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            if(event.getCancelReason() instanceof MooOutputException) {
+                future.completeExceptionally(event.getCancelReason());
+            }
+            else {
+                future.complete(null);
             }
-            return null;
+            return future;
         }
-        return event.getSupplier().get(3, TimeUnit.SECONDS);
+        return event.getFuture();
     }
 
     /**
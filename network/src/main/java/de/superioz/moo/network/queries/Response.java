@@ -4,9 +4,11 @@ import lombok.Getter;
 import de.superioz.moo.api.database.object.DataArchitecture;
 import de.superioz.moo.api.database.object.DataResolver;
 import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.api.utils.BsonUtil;
 import de.superioz.moo.api.utils.ReflectionUtil;
 import de.superioz.moo.network.exception.MooInputException;
 import de.superioz.moo.network.packets.PacketRespond;
+import org.bson.BsonValue;
 import org.bson.Document;
 
 import java.util.ArrayList;
@@ -22,6 +24,11 @@ public class Response {
      */
     private static final Pattern DESERIALIZED_PATTERN = Pattern.compile("[^{}¶Þþ]*([¶Þþ][^{}¶Þþ]*)*");
 
+    /**
+     * The key of the id every document of the database has
+     */
+    private static final String DATABASE_ID_KEY = "_id";
+
     /**
      * The handle of the response (inherited from a packet)
      */
@@ -45,6 +52,12 @@ public class Response {
      */
     private List<String> message;
 
+    /**
+     * The typed records of the {@link #handle}
+     */
+    @Getter
+    private List<BsonValue> records = new ArrayList<>();
+
     /**
      * The element map (of complex ones) if the message has already been converted
      */
@@ -63,6 +76,7 @@ public class Response {
         this.header = respond.header;
         this.status = respond.status;
         this.message = respond.message;
+        if(respond.records != null) this.records = respond.records;
     }
 
     public Response(ResponseStatus status) {
@@ -109,6 +123,13 @@ public class Response {
      * @return The list of strings
      */
     public List<String> getMessageAsList() {
+        if((message == null || message.isEmpty()) && !records.isEmpty()) {
+            // the records as readable strings (e.g. for displaying them)
+            message = new ArrayList<>(records.size());
+            for(BsonValue record : records) {
+                message.add(record.isDocument() ? record.asDocument().toJson() : BsonUtil.toJsonValue(record) + "");
+            }
+        }
         if(message == null || message.isEmpty() || message.get(0).isEmpty()) return new ArrayList<>();
         return message;
     }
@@ -156,6 +177,20 @@ public class Response {
         DataArchitecture architecture = DataArchitecture.fromClass(eClass);
         DataResolver dataResolver = new DataResolver(architecture);
 
+        // typed records are either documents of the fields or documents of the database (which always have an _id)
+        if(!records.isEmpty()) {
+            for(BsonValue record : records) {
+                if(!record.isDocument()) continue;
+                E e = record.asDocument().containsKey(DATABASE_ID_KEY)
+                        ? dataResolver.doc(BsonUtil.toDocument(record.asDocument())).resetIndex().complete(eClass)
+                        : BsonUtil.deserialize(record, eClass);
+
+                if(e != null) l.add(e);
+            }
+            complexElementMap.put(eClass, l);
+            return l;
+        }
+
         for(String msg : getMessageAsList()) {
             E e;
             if(DESERIALIZED_PATTERN.matcher(msg).matches()) {
@@ -203,6 +238,15 @@ public class Response {
         if(primitiveElementMap.containsKey(eClass)) return primitiveElementMap.get(eClass);
         List<E> l = new ArrayList<>();
 
+        if(!records.isEmpty()) {
+            for(BsonValue record : records) {
+                E e = record.isDocument() ? null : BsonUtil.deserialize(record, eClass);
+                if(e != null) l.add(e);
+            }
+            primitiveElementMap.put(eClass, l);
+            return l;
+        }
+
         for(String msg : getMessageAsList()) {
             Object o = ReflectionUtil.safeCast(msg);
 
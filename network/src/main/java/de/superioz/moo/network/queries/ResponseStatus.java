@@ -57,7 +57,12 @@ public enum ResponseStatus {
      * If the request's structure is invalid (invalid arguments [{@link Validation} for example],
      * invalid target, etc.)
      */
-    BAD_REQUEST(0x82, true);
+    BAD_REQUEST(0x82, true),
+
+    /**
+     * If the target didn't respond to the request in time (the request was sent, but no response came back)
+     */
+    TIMEOUT(0x83, true);
 
     @Getter
     private int id;
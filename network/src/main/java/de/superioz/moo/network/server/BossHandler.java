@@ -4,6 +4,9 @@ import de.superioz.moo.network.AbstractNetworkInstance;
 import de.superioz.moo.network.packet.AbstractPacket;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Boss handler of the netty communication
@@ -15,6 +18,11 @@ public class BossHandler extends SimpleChannelInboundHandler<AbstractPacket> {
      */
     private AbstractNetworkInstance handle;
 
+    /**
+     * The task pinging the channel (to measure its round trip)
+     */
+    private ScheduledFuture<?> pingTask;
+
     public BossHandler(AbstractNetworkInstance handle) {
         this.handle = handle;
     }
@@ -22,12 +30,9 @@ public class BossHandler extends SimpleChannelInboundHandler<AbstractPacket> {
     @Override
     public void channelRead0(ChannelHandlerContext ctx, AbstractPacket packet) throws Exception {
         if(handle == null) return;
-        try {
-            this.handle.getNetworkBus().processIn(ctx.channel(), packet);
-        }
-        finally {
-            //packet.trySingleRelease();
-        }
+
+        // the packet handlers run on the workers of the bus, not on this netty thread
+        this.handle.getNetworkBus().dispatch(ctx.channel(), packet);
     }
 
     @Override
@@ -45,6 +50,13 @@ public class BossHandler extends SimpleChannelInboundHandler<AbstractPacket> {
 
         // call handler event
         handle.callEvent(adapter -> adapter.onChannelActive(ctx.channel()));
+
+        // measure the round trip
+        long interval = handle.getTransport().getPingInterval();
+        if(interval > 0) {
+            pingTask = ctx.executor().scheduleAtFixedRate(() -> handle.getNetworkBus().ping(ctx.channel()),
+                    interval, interval, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -52,6 +64,10 @@ public class BossHandler extends SimpleChannelInboundHandler<AbstractPacket> {
         // WHEN A CHANNEL DISCONNECTS FROM THE SERVER
         // OR WHEN THE CLIENT DISCONNECTS FROM THE SERVER
 
+        if(pingTask != null) {
+            pingTask.cancel(false);
+        }
+
         // call handler event
         handle.callEvent(adapter -> adapter.onChannelInactive(ctx.channel()));
     }
@@ -17,6 +17,7 @@ import lombok.Getter;
 
 import java.net.InetSocketAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -25,12 +26,12 @@ import java.util.function.Consumer;
 @Getter
 public final class NetworkProxy {
 
-    private final Map<UUID, PlayerData> playerMap = new HashMap<>();
-    private final Map<String, PlayerData> playerNameMap = new HashMap<>();
-    private final Map<UUID, InetSocketAddress> playerServerMap = new HashMap<>();
+    private final Map<UUID, PlayerData> playerMap = new ConcurrentHashMap<>();
+    private final Map<String, PlayerData> playerNameMap = new ConcurrentHashMap<>();
+    private final Map<UUID, InetSocketAddress> playerServerMap = new ConcurrentHashMap<>();
 
     private static final int DEFAULT_SERVER_ID = 1;
-    private final Map<UUID, MooServer> spigotServerMap = new HashMap<>();
+    private final Map<UUID, MooServer> spigotServerMap = new ConcurrentHashMap<>();
     private final MultiMap<String, MooServer> typeSpigotServerMap = new MultiMap<>();
     private final Set<Integer> usedServerIds = new HashSet<>();
 
@@ -68,7 +69,7 @@ public final class NetworkProxy {
      * @param client The connected client
      * @return The server which has been registered
      */
-    public MooServer registerServer(MooClient client) {
+    public synchronized MooServer registerServer(MooClient client) {
         String type = client.getName();
 
         // get id for server
@@ -106,7 +107,7 @@ public final class NetworkProxy {
      *
      * @param client The client
      */
-    public void unregisterServer(MooClient client) {
+    public synchronized void unregisterServer(MooClient client) {
         MooServer server = getServer(client.getAddress());
         if(server == null) return;
 
@@ -202,7 +203,7 @@ public final class NetworkProxy {
     /**
      * Adds a player to the map if not exists
      */
-    public void add(PlayerData player, InetSocketAddress address) {
+    public synchronized void add(PlayerData player, InetSocketAddress address) {
         if(!playerMap.containsKey(player.getUuid())) {
             playerServerMap.put(player.getUuid(), address);
             playerMap.put(player.getUuid(), player);
@@ -213,7 +214,7 @@ public final class NetworkProxy {
     /**
      * Removes a player to the map if exists
      */
-    public void remove(UUID uuid, String name) {
+    public synchronized void remove(UUID uuid, String name) {
         if(playerMap.containsKey(uuid)) {
             playerMap.remove(uuid);
             playerNameMap.remove(name);
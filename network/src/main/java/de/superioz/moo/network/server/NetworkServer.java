@@ -5,6 +5,7 @@ import de.superioz.moo.api.io.JsonConfig;
 import de.superioz.moo.api.logging.ConsoleColor;
 import de.superioz.moo.network.AbstractNetworkInstance;
 import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.TransportConfig;
 import de.superioz.moo.network.client.ClientManager;
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.network.client.MooClient;
@@ -12,20 +13,37 @@ import de.superioz.moo.network.client.NetworkClient;
 import de.superioz.moo.network.event.NetworkEventAdapter;
 import de.superioz.moo.network.events.MooClientDisconnectEvent;
 import de.superioz.moo.network.events.ServerStateEvent;
+import de.superioz.moo.network.lib.PacketCapture;
 import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketCompression;
 import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketStateMark;
+import de.superioz.moo.network.util.NettyUtil;
 import de.superioz.moo.network.util.PipelineUtil;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import lombok.Getter;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -40,9 +58,33 @@ public class NetworkServer extends AbstractNetworkInstance {
      */
     private final ChannelGroup connectedClients = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private ServerBootstrap bootstrap;
+
+    /**
+     * The bootstrap and the channel of the listener on the unix domain socket (null if there is none)
+     *
+     * @see TransportConfig#getDomainSocket()
+     */
+    private ServerBootstrap domainBootstrap;
+    private Channel domainChannel;
+    private EventLoopGroup bossExecutors;
     private HostWhitelist whitelist;
     private ClientManager clientManager;
 
+    /**
+     * The last state changes and the sessions of the clients (for resuming a session after a reconnect)
+     */
+    private SessionLog sessionLog = new SessionLog();
+
+    /**
+     * The topics the clients subscribed to (see {@link #publish(AbstractPacket, String, ClientType)})
+     */
+    private final SubscriptionIndex subscriptions = new SubscriptionIndex();
+
+    /**
+     * The topics a client of a type is subscribed to after the handshake (type:topics)
+     */
+    private final Map<ClientType, List<String>> defaultSubscriptions = new EnumMap<>(ClientType.class);
+
     private JsonConfig config;
 
     public NetworkServer(String host, int port, JsonConfig config, Logger logger) {
@@ -74,7 +116,7 @@ public class NetworkServer extends AbstractNetworkInstance {
 
             @Override
             public void onChannelActive(Channel channel) {
-                InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
+                InetSocketAddress remoteAddress = NettyUtil.getRemoteAddress(channel);
 
                 connectedClients.add(channel);
 
@@ -84,11 +126,12 @@ public class NetworkServer extends AbstractNetworkInstance {
 
             @Override
             public void onChannelInactive(Channel channel) {
-                InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
+                InetSocketAddress remoteAddress = NettyUtil.getRemoteAddress(channel);
                 MooClient client = getClientManager().get(remoteAddress);
                 connectedClients.remove(channel);
 
                 getClientManager().remove(remoteAddress);
+                if(client != null) subscriptions.remove(client);
 
                 if(client == null){
                     getLogger().warning(ConsoleColor.DARK_RED + "Client shouldn't be null at disconnecting (Address: " + remoteAddress + ")." +
@@ -108,16 +151,62 @@ public class NetworkServer extends AbstractNetworkInstance {
      * It adds different de- and encoder to the pipeline to handle packets<br>
      * <p>
      * On Unix systems Epoll is a pretty nice thing, so if this program runs on a Unix system
-     * it'll use the {@link EpollEventLoopGroup} and the {@link EpollServerSocketChannel} instead of the default ones
+     * it'll use the {@link EpollEventLoopGroup} and the {@link EpollServerSocketChannel} instead of the default ones.
+     * If the transport is local it binds to an in-vm address instead of a socket (see {@link TransportConfig#isLocal()}).
+     * With epoll it can listen on a unix domain socket in addition (see {@link TransportConfig#getDomainSocket()})
      */
     @Override
     public NetworkServer setup() {
-        this.eventExecutors = PipelineUtil.getEventLoopGroup();
+        TransportConfig transport = getTransport();
+        this.sessionLog = new SessionLog(transport.getSessionLogSize(), transport.getSessionResumeWindow());
+        this.bossExecutors = PipelineUtil.getEventLoopGroup(transport.getBossThreads(), "netty-boss");
+        this.eventExecutors = PipelineUtil.getEventLoopGroup(transport.getWorkerThreads(), "netty-worker");
 
         this.bootstrap = new ServerBootstrap()
-                .group(eventExecutors)
-                .channel(PipelineUtil.getServerChannel())
+                .group(bossExecutors, eventExecutors)
+                .channel(PipelineUtil.getServerChannel(transport))
+                .option(ChannelOption.ALLOCATOR, transport.getAllocator())
+                .childOption(ChannelOption.ALLOCATOR, transport.getAllocator())
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, transport.getWriteBufferWaterMark())
                 .childHandler(PipelineUtil.getChannelInitializer(this, Protocol.PROTOCOL_VERSION));
+
+        // socket options (the in-vm channels don't have a socket)
+        if(!transport.isLocal()) {
+            bootstrap.childOption(ChannelOption.TCP_NODELAY, transport.isTcpNoDelay());
+            if(transport.getSendBufferSize() > 0) {
+                bootstrap.childOption(ChannelOption.SO_SNDBUF, transport.getSendBufferSize());
+            }
+            if(transport.getReceiveBufferSize() > 0) {
+                bootstrap.childOption(ChannelOption.SO_RCVBUF, transport.getReceiveBufferSize());
+            }
+        }
+
+        // the clients on this host can skip the tcp stack
+        if(PipelineUtil.isDomainSocket(transport)) {
+            this.domainBootstrap = new ServerBootstrap()
+                    .group(bossExecutors, eventExecutors)
+                    .channel(PipelineUtil.getDomainServerChannel())
+                    .childOption(ChannelOption.ALLOCATOR, transport.getAllocator())
+                    .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, transport.getWriteBufferWaterMark())
+                    .childHandler(PipelineUtil.getChannelInitializer(this, Protocol.PROTOCOL_VERSION));
+        }
+        else if(transport.isDomainSocket() && !transport.isLocal()) {
+            getLogger().warning("Unix domain sockets need epoll, only listening on tcp ..");
+        }
+
+        // records the received frames (to replay them later)
+        if(transport.isCapturing()) {
+            try {
+                this.capture = new PacketCapture(new File(transport.getCaptureFile()), Protocol.PROTOCOL_VERSION);
+                getLogger().info("Capturing the received packets to " + transport.getCaptureFile());
+            }
+            catch(IOException e) {
+                getLogger().warning("Couldn't create the packet capture " + transport.getCaptureFile() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+
+        getLogger().info("Transport (" + PipelineUtil.getChannelName(transport) + "): " + transport);
         return this;
     }
 
@@ -132,7 +221,10 @@ public class NetworkServer extends AbstractNetworkInstance {
         EventExecutor.getInstance().execute(new ServerStateEvent(this, State.STARTING));
 
         try {
-            this.channel = bootstrap.bind(getHost(), getPort()).sync().channel();
+            this.channel = bootstrap.bind(getAddress()).sync().channel();
+            if(domainBootstrap != null) {
+                bindDomainSocket();
+            }
 
             // calls server status event
             EventExecutor.getInstance().execute(new ServerStateEvent(this, State.STARTED));
@@ -143,9 +235,13 @@ public class NetworkServer extends AbstractNetworkInstance {
             //
         }
         finally {
+            if(bossExecutors != null) {
+                bossExecutors.shutdownGracefully();
+            }
             if(eventExecutors != null) {
                 eventExecutors.shutdownGracefully();
             }
+            closeCapture();
         }
     }
 
@@ -159,23 +255,219 @@ public class NetworkServer extends AbstractNetworkInstance {
         EventExecutor.getInstance().execute(new ServerStateEvent(this, State.STOPPING));
 
         channel.close();
+        if(domainChannel != null) {
+            domainChannel.close();
+        }
+        bossExecutors.shutdownGracefully();
         eventExecutors.shutdownGracefully();
+        getNetworkBus().shutdown();
+        closeCapture();
 
         // calls server status event
         EventExecutor.getInstance().execute(new ServerStateEvent(this, State.STOPPED));
     }
 
+    /**
+     * Binds the listener on the unix domain socket. If it fails, the server still listens on tcp
+     */
+    private void bindDomainSocket() {
+        Path path = Paths.get(getTransport().getDomainSocket()).toAbsolutePath();
+
+        try {
+            // the socket file of a crashed server blocks the bind (netty deletes the file when it is closed)
+            if(Files.exists(path) && Files.readAttributes(path, BasicFileAttributes.class).isOther()) {
+                Files.delete(path);
+            }
+            if(path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            this.domainChannel = domainBootstrap.bind(new DomainSocketAddress(path.toFile())).sync().channel();
+            getLogger().info("Listening on unix domain socket " + path);
+        }
+        catch(Exception e) {
+            getLogger().warning("Couldn't listen on unix domain socket " + path + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Closes the capture of the received frames (if there is one)
+     */
+    private void closeCapture() {
+        if(capture == null) return;
+        try {
+            capture.close();
+        }
+        catch(IOException e) {
+            getLogger().warning("Couldn't close the packet capture: " + e.getMessage());
+        }
+        if(capture.getDropped() != 0) {
+            getLogger().warning("The packet capture is incomplete, " + capture.getDropped() + " records were dropped");
+        }
+    }
+
     public void sendPacket(AbstractPacket packet, ClientType type, Consumer<AbstractPacket>... callbacks) {
         super.sendPacket(packet, getClientManager().getClients(type), callbacks);
     }
 
     /**
-     * Broadcasts given packets to all connected clients
+     * Broadcasts given packets to all connected clients (the packet is encoded only once)
      *
      * @param packet The packet
      */
     public void broadcast(AbstractPacket packet) {
-        connectedClients.forEach(channel -> sendPacket(packet, channel));
+        getNetworkBus().processOut(connectedClients, packet);
+    }
+
+    /**
+     * Gets the measured latencies as readable lines: the round trip of every client, the latency of the own requests
+     * and the handling time of the requests of the clients
+     *
+     * @return The list of lines
+     * @see de.superioz.moo.network.NetworkStats
+     */
+    public List<String> getLatencyReport() {
+        List<String> lines = new ArrayList<>();
+        for(MooClient client : getClientManager().getAll()) {
+            lines.add("round trip " + client.getName() + "#" + client.getId()
+                    + " [" + client.getHost() + ":" + client.getPort() + "]: " + getStats().getRoundTrip(client.getChannel()));
+        }
+        lines.addAll(getStats().toLines());
+        return lines;
+    }
+
+    /**
+     * Sends given state change (e.g. a server registration) to all clients of given type and records it, so that a
+     * client which reconnects only gets the changes it missed. Every change is followed by a {@link PacketStateMark}
+     *
+     * @param packet The packet of the change
+     * @param type   The type of the clients
+     * @see SessionLog
+     */
+    public void sendState(AbstractPacket packet, ClientType type) {
+        synchronized(sessionLog) {
+            long sequence = sessionLog.append(packet.deepCopy(), type);
+
+            List<Channel> channels = new ArrayList<>();
+            for(MooClient client : getClientManager().getClients(type)) {
+                channels.add(client.getChannel());
+            }
+            if(channels.isEmpty()) return;
+            getNetworkBus().processOut(channels, packet);
+            getNetworkBus().processOut(channels, new PacketStateMark(sequence));
+        }
+    }
+
+    /**
+     * Sends given state change of given topic only to the clients of given type which subscribed to the topic and
+     * records it like {@link #sendState(AbstractPacket, ClientType)}. The {@link PacketStateMark} is still sent to every
+     * client of the type, so that the sequence of a client which isn't interested in the change doesn't fall behind
+     *
+     * @param packet The packet of the change
+     * @param topic  The topic of the change
+     * @param type   The type of the clients
+     * @see SubscriptionIndex
+     */
+    public void publishState(AbstractPacket packet, String topic, ClientType type) {
+        synchronized(sessionLog) {
+            long sequence = sessionLog.append(packet.deepCopy(), type, topic);
+
+            List<Channel> channels = new ArrayList<>();
+            for(MooClient client : getClientManager().getClients(type)) {
+                channels.add(client.getChannel());
+            }
+            if(channels.isEmpty()) return;
+
+            List<Channel> subscribers = getSubscribedChannels(topic, type);
+            if(!subscribers.isEmpty()) getNetworkBus().processOut(subscribers, packet);
+            getNetworkBus().processOut(channels, new PacketStateMark(sequence));
+        }
+    }
+
+    /**
+     * Sends given update of given topic to the clients of given type which subscribed to the topic (the packet is
+     * encoded only once). Unlike {@link #publishState(AbstractPacket, String, ClientType)} the update isn't recorded
+     *
+     * @param packet The packet
+     * @param topic  The topic
+     * @param type   The type of the clients
+     */
+    public void publish(AbstractPacket packet, String topic, ClientType type) {
+        List<Channel> subscribers = getSubscribedChannels(topic, type);
+        if(subscribers.isEmpty()) return;
+        getNetworkBus().processOut(subscribers, packet);
+    }
+
+    /**
+     * Sets the topics a client of given type is subscribed to after the handshake
+     *
+     * @param type   The type of the clients
+     * @param topics The topics
+     * @see #subscribeDefaults(MooClient)
+     */
+    public void setDefaultSubscriptions(ClientType type, String... topics) {
+        defaultSubscriptions.put(type, Arrays.asList(topics));
+    }
+
+    /**
+     * Subscribes given client to the default topics of its type (has to happen before its state is synced)
+     *
+     * @param client The client
+     */
+    public void subscribeDefaults(MooClient client) {
+        List<String> topics = defaultSubscriptions.get(client.getType());
+        if(topics != null) subscriptions.subscribe(client, topics);
+    }
+
+    /**
+     * Announces the compression threshold of this server to given client after its handshake (nothing happens if the
+     * compression is off). Only the setting of the server counts, the client takes the threshold over
+     *
+     * @param channel The channel of the client
+     * @see PacketCompression
+     */
+    public void announceCompression(Channel channel) {
+        int threshold = getTransport().getCompressionThreshold();
+        if(threshold < 0) return;
+        getNetworkBus().processOut(channel, new PacketCompression(threshold));
+    }
+
+    private List<Channel> getSubscribedChannels(String topic, ClientType type) {
+        List<Channel> channels = new ArrayList<>();
+        for(MooClient client : subscriptions.getSubscribers(topic)) {
+            if(client.getType() == type) channels.add(client.getChannel());
+        }
+        return channels;
+    }
+
+    /**
+     * Brings the state of given client up to date: Sends the changes the client missed since given sequence (only of
+     * the topics it subscribed to) or, if the log doesn't reach back that far, lets {@code fullResync} send the whole
+     * state. No change can be sent in between, so the client is up to date with the {@link PacketStateMark} sent
+     * afterwards
+     *
+     * @param client     The client
+     * @param sequence   The sequence of the last change the client received (-1 for a full resync)
+     * @param fullResync The sending of the whole state
+     * @return If only the missed changes were sent
+     */
+    public boolean syncState(MooClient client, long sequence, Runnable fullResync) {
+        synchronized(sessionLog) {
+            List<AbstractPacket> missed = sessionLog.since(sequence, client.getType(),
+                    topic -> subscriptions.isSubscribed(client, topic));
+            if(missed != null) {
+                for(AbstractPacket packet : missed) {
+                    sendPacket(packet, client.getChannel());
+                }
+            }
+            else {
+                fullResync.run();
+            }
+
+            sendPacket(new PacketStateMark(sessionLog.getSequence()), client.getChannel());
+            return missed != null;
+        }
     }
 
     /**
@@ -0,0 +1,237 @@
+package de.superioz.moo.network.server;
+
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketStateMark;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * The log of the last state changes sent to the clients (server registrations, ..) and the sessions of the clients.<br>
+ * Every change gets a sequence. A client which reconnects with its session token and the sequence of its last
+ * received change (see {@link PacketStateMark}) only gets the changes after this sequence instead of the whole
+ * state. If the session expired or the log doesn't reach back far enough, the client needs a full resync.<br>
+ * Sending a change and recording it has to happen while holding the monitor of this log, so that a replay can't
+ * overtake a change (see {@link NetworkServer#sendState(AbstractPacket, ClientType)})
+ */
+public class SessionLog {
+
+    /**
+     * The default maximum amount of recorded changes
+     */
+    public static final int DEFAULT_SIZE = 1024;
+
+    /**
+     * The default time (in milliseconds) a session can be resumed after the client disconnected
+     */
+    public static final long DEFAULT_RESUME_WINDOW = 60 * 1000;
+
+    /**
+     * The maximum amount of recorded changes
+     */
+    private final int size;
+
+    /**
+     * The time a session can be resumed after the client disconnected
+     */
+    private final long resumeWindow;
+
+    /**
+     * The recorded changes (oldest first)
+     */
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    /**
+     * The sessions (token:session)
+     */
+    private final Map<String, Session> sessions = new HashMap<>();
+
+    /**
+     * The sequence of the last change
+     */
+    private long sequence = 0;
+
+    public SessionLog(int size, long resumeWindow) {
+        this.size = size;
+        this.resumeWindow = resumeWindow;
+    }
+
+    public SessionLog() {
+        this(DEFAULT_SIZE, DEFAULT_RESUME_WINDOW);
+    }
+
+    /**
+     * Records given change
+     *
+     * @param packet The packet of the change (has to be a copy, because the log keeps it)
+     * @param type   The type of the clients the change is for
+     * @return The sequence of the change
+     */
+    public synchronized long append(AbstractPacket packet, ClientType type) {
+        return append(packet, type, null);
+    }
+
+    /**
+     * Records given change of given topic
+     *
+     * @param packet The packet of the change (has to be a copy, because the log keeps it)
+     * @param type   The type of the clients the change is for
+     * @param topic  The topic of the change (null if it is for every client of the type)
+     * @return The sequence of the change
+     * @see SubscriptionIndex
+     */
+    public synchronized long append(AbstractPacket packet, ClientType type, String topic) {
+        entries.addLast(new Entry(++sequence, packet, type, topic));
+        if(entries.size() > size) entries.removeFirst();
+        return sequence;
+    }
+
+    /**
+     * Gets the sequence of the last change
+     *
+     * @return The sequence
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the changes for given type of clients after given sequence
+     *
+     * @param sequence The sequence of the last change the client received
+     * @param type     The type of the client
+     * @return The copies of the changes or null if the log doesn't reach back that far
+     */
+    public synchronized List<AbstractPacket> since(long sequence, ClientType type) {
+        return since(sequence, type, topic -> true);
+    }
+
+    /**
+     * Gets the changes for given type of clients after given sequence, which are of a topic the client subscribed to
+     *
+     * @param sequence   The sequence of the last change the client received
+     * @param type       The type of the client
+     * @param subscribed Checks if the client subscribed to the topic of a change (changes without topic are for every client)
+     * @return The copies of the changes or null if the log doesn't reach back that far
+     */
+    public synchronized List<AbstractPacket> since(long sequence, ClientType type, Predicate<String> subscribed) {
+        if(sequence < 0 || sequence > this.sequence) return null;
+
+        // the oldest change after the sequence has been dropped already
+        long oldest = entries.isEmpty() ? this.sequence + 1 : entries.getFirst().sequence;
+        if(sequence + 1 < oldest) return null;
+
+        List<AbstractPacket> list = new ArrayList<>();
+        for(Entry entry : entries) {
+            if(entry.sequence <= sequence || entry.type != type) continue;
+            if(entry.topic != null && !subscribed.test(entry.topic)) continue;
+            list.add(entry.packet.deepCopy());
+        }
+        return list;
+    }
+
+    /**
+     * Opens a new session
+     *
+     * @param type The type of the client
+     * @return The token of the session
+     */
+    public synchronized String open(ClientType type) {
+        purge();
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, new Session(type));
+        return token;
+    }
+
+    /**
+     * Resumes the session with given token (if it didn't expire and the missed changes are still recorded). The
+     * session can also be resumed if the old connection hasn't been noticed as closed yet
+     *
+     * @param token    The token of the session
+     * @param sequence The sequence of the last change the client received
+     * @param type     The type of the client
+     * @return The result
+     */
+    public synchronized boolean resume(String token, long sequence, ClientType type) {
+        purge();
+        Session session = token == null ? null : sessions.get(token);
+        if(session == null || session.type != type) return false;
+        if(since(sequence, type) == null) return false;
+
+        session.disconnected = 0;
+        return true;
+    }
+
+    /**
+     * Marks the session with given token as disconnected. It can be resumed during the resume window
+     *
+     * @param token The token of the session
+     */
+    public synchronized void detach(String token) {
+        Session session = token == null ? null : sessions.get(token);
+        if(session != null) session.disconnected = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the amount of sessions (connected or resumable)
+     *
+     * @return The amount
+     */
+    public synchronized int getSessionCount() {
+        purge();
+        return sessions.size();
+    }
+
+    /**
+     * Removes the sessions which can't be resumed anymore
+     */
+    private void purge() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> session.disconnected != 0 && now - session.disconnected > resumeWindow);
+    }
+
+    /**
+     * A recorded change
+     */
+    private static class Entry {
+
+        private final long sequence;
+        private final AbstractPacket packet;
+        private final ClientType type;
+        private final String topic;
+
+        Entry(long sequence, AbstractPacket packet, ClientType type, String topic) {
+            this.sequence = sequence;
+            this.packet = packet;
+            this.type = type;
+            this.topic = topic;
+        }
+
+    }
+
+    /**
+     * The session of a client
+     */
+    private static class Session {
+
+        private final ClientType type;
+
+        /**
+         * The time the client disconnected (0 if it is connected)
+         */
+        private long disconnected = 0;
+
+        Session(ClientType type) {
+            this.type = type;
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package de.superioz.moo.network.server;
+
+import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.common.Topic;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The index of the topics the clients subscribed to (see {@link Topic}), so that an update is only pushed to the
+ * clients which are interested in it instead of every client of a type.<br>
+ * A client which subscribed to the wildcard of a namespace (e.g. {@code player:*}) gets every topic of the namespace
+ */
+public class SubscriptionIndex {
+
+    /**
+     * The subscribers of the topics (topic:clients)
+     */
+    private final Map<String, Set<MooClient>> subscribers = new HashMap<>();
+
+    /**
+     * The topics of the clients (client:topics)
+     */
+    private final Map<MooClient, Set<String>> topics = new HashMap<>();
+
+    /**
+     * Subscribes given client to given topics
+     *
+     * @param client The client
+     * @param topics The topics
+     */
+    public synchronized void subscribe(MooClient client, Collection<String> topics) {
+        Set<String> clientTopics = this.topics.computeIfAbsent(client, c -> new HashSet<>());
+        for(String topic : topics) {
+            if(clientTopics.add(topic)) {
+                subscribers.computeIfAbsent(topic, t -> new LinkedHashSet<>()).add(client);
+            }
+        }
+    }
+
+    /**
+     * Unsubscribes given client from given topics
+     *
+     * @param client The client
+     * @param topics The topics
+     */
+    public synchronized void unsubscribe(MooClient client, Collection<String> topics) {
+        Set<String> clientTopics = this.topics.get(client);
+        if(clientTopics == null) return;
+
+        for(String topic : topics) {
+            if(clientTopics.remove(topic)) removeSubscriber(topic, client);
+        }
+        if(clientTopics.isEmpty()) this.topics.remove(client);
+    }
+
+    /**
+     * Removes every subscription of given client (e.g. after it disconnected)
+     *
+     * @param client The client
+     */
+    public synchronized void remove(MooClient client) {
+        Set<String> clientTopics = topics.remove(client);
+        if(clientTopics == null) return;
+
+        for(String topic : clientTopics) {
+            removeSubscriber(topic, client);
+        }
+    }
+
+    /**
+     * Gets the clients which subscribed to given topic or to the wildcard of its namespace
+     *
+     * @param topic The topic
+     * @return The copy of the set of clients
+     */
+    public synchronized Set<MooClient> getSubscribers(String topic) {
+        Set<MooClient> set = new LinkedHashSet<>();
+
+        Set<MooClient> exact = subscribers.get(topic);
+        if(exact != null) set.addAll(exact);
+
+        Set<MooClient> wildcard = subscribers.get(Topic.all(Topic.getNamespace(topic)));
+        if(wildcard != null) set.addAll(wildcard);
+        return set;
+    }
+
+    /**
+     * Checks if given client gets the updates of given topic
+     *
+     * @param client The client
+     * @param topic  The topic
+     * @return The result
+     */
+    public synchronized boolean isSubscribed(MooClient client, String topic) {
+        Set<String> clientTopics = topics.get(client);
+        return clientTopics != null
+                && (clientTopics.contains(topic) || clientTopics.contains(Topic.all(Topic.getNamespace(topic))));
+    }
+
+    /**
+     * Gets the topics of given client
+     *
+     * @param client The client
+     * @return The copy of the set of topics
+     */
+    public synchronized Set<String> getTopics(MooClient client) {
+        Set<String> clientTopics = topics.get(client);
+        return clientTopics == null ? Collections.emptySet() : new HashSet<>(clientTopics);
+    }
+
+    private void removeSubscriber(String topic, MooClient client) {
+        Set<MooClient> set = subscribers.get(topic);
+        if(set == null) return;
+
+        set.remove(client);
+        if(set.isEmpty()) subscribers.remove(topic);
+    }
+
+}
@@ -1,9 +1,42 @@
 package de.superioz.moo.network.util;
 
 import de.superioz.moo.network.exception.MooOutputException;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class NettyUtil {
 
+    /**
+     * The key of the address given to a channel of the in-vm transport
+     */
+    private static final AttributeKey<InetSocketAddress> LOCAL_ADDRESS = AttributeKey.valueOf("moo-local-address");
+
+    /**
+     * The highest port of the addresses given to channels without a socket address (below the ephemeral ports of tcp
+     * connections, so that they don't collide with tcp clients of the same host)
+     */
+    private static final int MAX_LOCAL_PORT = 32767;
+
+    /**
+     * The counter for the ports of the addresses given to channels without a socket address
+     */
+    private static final AtomicInteger LOCAL_PORTS = new AtomicInteger();
+
+    /**
+     * The ports given to open channels (a port is only given again after its channel has been closed)
+     */
+    private static final Set<Integer> LOCAL_PORTS_IN_USE = ConcurrentHashMap.newKeySet();
+
     /**
      * Checks if the current thread is an async moo pool task
      */
@@ -17,4 +50,77 @@ public class NettyUtil {
         }
     }
 
+    /**
+     * Checks if given host is this machine (a loopback address or the address of one of its network interfaces)
+     *
+     * @param host The host
+     * @return The result (false if the host can't be resolved)
+     */
+    public static boolean isLocalHost(String host) {
+        try {
+            InetAddress address = InetAddress.getByName(host);
+            return address.isLoopbackAddress() || address.isAnyLocalAddress()
+                    || NetworkInterface.getByInetAddress(address) != null;
+        }
+        catch(IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if given channel has an inet address (unlike the channels of the in-vm transport and of unix domain
+     * sockets)
+     *
+     * @param channel The channel
+     * @return The result
+     */
+    public static boolean hasInetAddress(Channel channel) {
+        return channel.remoteAddress() instanceof InetSocketAddress;
+    }
+
+    /**
+     * Gets the remote address of given channel<br>
+     * The channels of the in-vm transport ({@link io.netty.channel.local.LocalChannel}) and of unix domain sockets
+     * don't have a socket address, so they get a loopback address with a port which no other open channel has (the
+     * clients are identified by their address)
+     *
+     * @param channel The channel
+     * @return The address
+     */
+    public static InetSocketAddress getRemoteAddress(Channel channel) {
+        SocketAddress address = channel.remoteAddress();
+        if(address instanceof InetSocketAddress) return (InetSocketAddress) address;
+
+        Attribute<InetSocketAddress> attribute = channel.attr(LOCAL_ADDRESS);
+        InetSocketAddress local = attribute.get();
+        if(local == null) {
+            int port = nextLocalPort();
+            local = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+            InetSocketAddress old = attribute.setIfAbsent(local);
+
+            if(old != null) {
+                LOCAL_PORTS_IN_USE.remove(port);
+                local = old;
+            }
+            else {
+                channel.closeFuture().addListener(future -> LOCAL_PORTS_IN_USE.remove(port));
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Gets the next port which isn't used by an open channel. The ports are given in turn, so a port is only given
+     * again after every other port (and not right after its channel has been closed)
+     *
+     * @return The port
+     */
+    private static int nextLocalPort() {
+        for(int i = 0; i < MAX_LOCAL_PORT; i++) {
+            int port = (LOCAL_PORTS.getAndIncrement() & Integer.MAX_VALUE) % MAX_LOCAL_PORT + 1;
+            if(LOCAL_PORTS_IN_USE.add(port)) return port;
+        }
+        throw new IllegalStateException("Every address for channels without a socket address is in use");
+    }
+
 }
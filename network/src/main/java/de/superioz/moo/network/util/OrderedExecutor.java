@@ -0,0 +1,174 @@
+package de.superioz.moo.network.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executor which runs its tasks one after another (in the order they were added) on a shared executor.<br>
+ * Used to keep the packets of one channel in order while the packets of different channels
+ * are processed in parallel.<br>
+ * The queue is bounded: above the high mark the backpressure listener is told to stop the producer (e.g. to stop
+ * reading from the channel) and below the low mark to resume it. Tasks over the capacity are rejected
+ */
+public class OrderedExecutor implements Executor, Runnable {
+
+    /**
+     * Maximum amount of tasks to run before giving the thread back to the shared executor
+     */
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    /**
+     * The executor which actually runs the tasks
+     */
+    private final Executor executor;
+
+    /**
+     * What to do if a task throws an exception
+     */
+    private final Consumer<Throwable> exceptionHandler;
+
+    /**
+     * The waiting tasks
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The amount of waiting tasks (the size of the queue is no constant time operation)
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The maximum amount of waiting tasks and the marks to stop and resume the producer
+     */
+    private final int capacity;
+    private final int highMark;
+    private final int lowMark;
+
+    /**
+     * Called with true if the producer should stop and with false if it can resume (null if there is none)
+     */
+    private final Consumer<Boolean> backpressure;
+
+    /**
+     * If the producer has been told to stop
+     */
+    private volatile boolean throttled;
+
+    /**
+     * If this executor is currently scheduled on {@link #executor}
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public OrderedExecutor(Executor executor, Consumer<Throwable> exceptionHandler,
+                           int capacity, int highMark, int lowMark, Consumer<Boolean> backpressure) {
+        this.executor = executor;
+        this.exceptionHandler = exceptionHandler;
+        this.capacity = capacity;
+        this.highMark = highMark;
+        this.lowMark = lowMark;
+        this.backpressure = backpressure;
+    }
+
+    public OrderedExecutor(Executor executor, Consumer<Throwable> exceptionHandler) {
+        this(executor, exceptionHandler, Integer.MAX_VALUE, Integer.MAX_VALUE, 0, null);
+    }
+
+    /**
+     * Adds given task to the queue
+     *
+     * @param task The task
+     * @throws RejectedExecutionException If the queue is full
+     */
+    @Override
+    public void execute(Runnable task) {
+        int size = pending.incrementAndGet();
+        if(size > capacity) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Queue is full (" + capacity + " tasks)");
+        }
+        tasks.add(task);
+
+        if(size > highMark && !throttled) updateBackpressure();
+        schedule();
+    }
+
+    /**
+     * Tells the producer to stop or resume depending on the current amount of waiting tasks. The state and the size
+     * are checked under the lock, so that a stop can't overtake a resume
+     */
+    private synchronized void updateBackpressure() {
+        if(backpressure == null) return;
+        int size = pending.get();
+
+        if(!throttled && size > highMark) {
+            throttled = true;
+            backpressure.accept(true);
+        }
+        else if(throttled && size <= lowMark) {
+            throttled = false;
+            backpressure.accept(false);
+        }
+    }
+
+    /**
+     * Schedules this executor if it isn't already
+     */
+    private void schedule() {
+        if(scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            }
+            catch(RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            Runnable task;
+            int count = 0;
+            while(count++ < MAX_TASKS_PER_RUN && (task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                }
+                catch(Throwable t) {
+                    exceptionHandler.accept(t);
+                }
+                if(pending.decrementAndGet() <= lowMark && throttled) updateBackpressure();
+            }
+        }
+        finally {
+            scheduled.set(false);
+
+            // tasks could have been added after the last poll
+            if(!tasks.isEmpty()) schedule();
+        }
+    }
+
+    /**
+     * Gets the amount of waiting tasks
+     *
+     * @return The size
+     */
+    public int getPendingTasks() {
+        return pending.get();
+    }
+
+    /**
+     * Checks if the producer has been told to stop
+     *
+     * @return The result
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+}
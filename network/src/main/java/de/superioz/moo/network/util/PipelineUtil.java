@@ -1,31 +1,54 @@
 package de.superioz.moo.network.util;
 
 import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.TransportConfig;
+import de.superioz.moo.network.lib.CaptureHandler;
+import de.superioz.moo.network.lib.FlushBatchHandler;
+import de.superioz.moo.network.lib.OutboundQueueHandler;
+import de.superioz.moo.network.lib.PacketCompressor;
+import de.superioz.moo.network.lib.PacketDecompressor;
 import de.superioz.moo.network.lib.Varint32FrameDecoder;
 import de.superioz.moo.network.lib.Varint32LengthFieldPrepender;
 import de.superioz.moo.network.packet.PacketDecoder;
 import de.superioz.moo.network.packet.PacketEncoder;
+import de.superioz.moo.network.packets.PacketCompression;
 import de.superioz.moo.network.server.BossHandler;
 import io.netty.channel.*;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import de.superioz.moo.api.utils.SystemUtil;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
 
 public class PipelineUtil {
 
-    //public static final String DEFLATER = "deflater";
-    //public static final String INFLATER = "inflater";
+    public static final String DEFLATER = "deflater";
+    public static final String INFLATER = "inflater";
+    public static final String CAPTURE = "capture";
+    public static final String FLUSH_BATCHER = "flush-batcher";
     public static final String FRAME_DECODER = "frame-decoder";
     public static final String FRAME_PREPENDER = "frame-prepender";
     public static final String PACKET_DECODER = "packets-decoder";
     public static final String PACKET_ENCODER = "packets-encoder";
+    public static final String OUTBOUND_QUEUE = "outbound-queue";
     public static final String BOSS_HANDLER = "boss-handler";
 
+    /**
+     * The key of the network instance a channel belongs to
+     */
+    private static final AttributeKey<AbstractNetworkInstance> INSTANCE = AttributeKey.valueOf("moo-instance");
+
     /**
      * Epoll = pipeline improvement at linux
      */
@@ -61,6 +84,82 @@ public class PipelineUtil {
         return epoll ? EpollSocketChannel.class : NioSocketChannel.class;
     }
 
+    /**
+     * Gets the channel for the server with given transport (in-vm or socket)
+     *
+     * @param transport The transport settings
+     * @return The serverChannel
+     * @see TransportConfig#isLocal()
+     */
+    public static Class<? extends ServerChannel> getServerChannel(TransportConfig transport) {
+        return transport.isLocal() ? LocalServerChannel.class : getServerChannel();
+    }
+
+    /**
+     * Gets the channel for the client with given transport (in-vm or socket)
+     *
+     * @param transport The transport settings
+     * @return The channel
+     * @see TransportConfig#isLocal()
+     */
+    public static Class<? extends Channel> getChannel(TransportConfig transport) {
+        return transport.isLocal() ? LocalChannel.class : getChannel();
+    }
+
+    /**
+     * Checks if the unix domain socket of given transport can be used (it needs epoll and isn't needed by the in-vm
+     * transport)
+     *
+     * @param transport The transport settings
+     * @return The result
+     * @see TransportConfig#getDomainSocket()
+     */
+    public static boolean isDomainSocket(TransportConfig transport) {
+        return epoll && transport.isDomainSocket() && !transport.isLocal();
+    }
+
+    /**
+     * Gets the channel for the server listening on a unix domain socket (only with epoll)
+     *
+     * @return The serverChannel
+     */
+    public static Class<? extends ServerChannel> getDomainServerChannel() {
+        return EpollServerDomainSocketChannel.class;
+    }
+
+    /**
+     * Gets the channel for the client connecting to a unix domain socket (only with epoll)
+     *
+     * @return The channel
+     */
+    public static Class<? extends Channel> getDomainChannel() {
+        return EpollDomainSocketChannel.class;
+    }
+
+    /**
+     * Gets the name of the channel type used with given transport (for logging)
+     *
+     * @param transport The transport settings
+     * @return The name ("local", "epoll" or "nio")
+     */
+    public static String getChannelName(TransportConfig transport) {
+        return transport.isLocal() ? "local" : epoll ? "epoll" : "nio";
+    }
+
+    /**
+     * The event loop group shared by all clients of this program
+     */
+    private static EventLoopGroup clientEventLoopGroup;
+
+    /**
+     * Checks if epoll is used instead of NIO
+     *
+     * @return The result
+     */
+    public static boolean isEpoll() {
+        return epoll;
+    }
+
     /**
      * Gets the event loop group<br>
      * If epoll is available then choose the epoll type of event loop group
@@ -68,7 +167,72 @@ public class PipelineUtil {
      * @return The serverChannel
      */
     public static EventLoopGroup getEventLoopGroup() {
-        return epoll ? new EpollEventLoopGroup() : new NioEventLoopGroup();
+        return getEventLoopGroup(0, "netty");
+    }
+
+    /**
+     * Gets a new event loop group<br>
+     * If epoll is available then choose the epoll type of event loop group
+     *
+     * @param threads The amount of threads (0 = netty default)
+     * @param name    The prefix of the names of the threads
+     * @return The event loop group
+     */
+    public static EventLoopGroup getEventLoopGroup(int threads, String name) {
+        ThreadFactory factory = new DefaultThreadFactory(name);
+        return epoll ? new EpollEventLoopGroup(threads, factory) : new NioEventLoopGroup(threads, factory);
+    }
+
+    /**
+     * Gets the event loop group shared by all clients (created with the first client, never shut down)<br>
+     * A program usually connects only once, so there is no need for a group per client
+     *
+     * @param threads The amount of threads if the group has to be created (0 = netty default)
+     * @return The event loop group
+     */
+    public static synchronized EventLoopGroup getClientEventLoopGroup(int threads) {
+        if(clientEventLoopGroup == null) {
+            ThreadFactory factory = new DefaultThreadFactory("netty-client", true);
+            clientEventLoopGroup = epoll ? new EpollEventLoopGroup(threads, factory) : new NioEventLoopGroup(threads, factory);
+        }
+        return clientEventLoopGroup;
+    }
+
+    /**
+     * Gets the network instance given channel belongs to
+     *
+     * @param channel The channel
+     * @return The instance (null if the channel wasn't initialized by {@link #getChannelInitializer(AbstractNetworkInstance, int)})
+     */
+    public static AbstractNetworkInstance getInstance(Channel channel) {
+        return channel.attr(INSTANCE).get();
+    }
+
+    /**
+     * Decompresses the frames received after this call (has to be called from the event loop of the channel, when the
+     * frame announcing the compression has been decoded). Pipelines without the framing are left as they are
+     *
+     * @param pipeline The pipeline of the channel
+     * @see PacketCompression
+     */
+    public static void addInflater(ChannelPipeline pipeline) {
+        if(pipeline.get(INFLATER) == null && pipeline.get(FRAME_DECODER) != null) {
+            pipeline.addAfter(FRAME_DECODER, INFLATER, new PacketDecompressor());
+        }
+    }
+
+    /**
+     * Compresses the frames sent after this call (has to be called from the event loop of the channel, when the
+     * frame announcing the compression has been encoded). Pipelines without the framing are left as they are
+     *
+     * @param pipeline  The pipeline of the channel
+     * @param threshold The minimum size of a frame (in bytes) to be compressed
+     * @see PacketCompression
+     */
+    public static void addDeflater(ChannelPipeline pipeline, int threshold) {
+        if(pipeline.get(DEFLATER) == null && pipeline.get(FRAME_PREPENDER) != null) {
+            pipeline.addAfter(FRAME_PREPENDER, DEFLATER, new PacketCompressor(threshold));
+        }
     }
 
     /**
@@ -83,14 +247,22 @@ public class PipelineUtil {
             @Override
             protected void initChannel(Channel channel) throws Exception {
                 ChannelPipeline pipeline = channel.pipeline();
+                TransportConfig transport = instance.getTransport();
+                channel.attr(INSTANCE).set(instance);
 
-                // Compression of stream
-                /*pipeline.addLast(DEFLATER, new JZlibEncoder(ZlibWrapper.GZIP));
-                pipeline.addLast(INFLATER, new JZlibDecoder(ZlibWrapper.GZIP));*/
+                // Gathers the outgoing frames (first in the pipeline = last for outbound)
+                pipeline.addLast(FLUSH_BATCHER, new FlushBatchHandler(transport.getFlushMaxPackets(), transport.getFlushMaxBytes()));
 
                 // Codec
                 pipeline.addLast(FRAME_DECODER, new Varint32FrameDecoder());
 
+                // The compression of big frames is added after the handshake (see #addInflater and #addDeflater)
+
+                // Records the received frames (only if configured, see TransportConfig#getCaptureFile())
+                if(instance.getCapture() != null) {
+                    pipeline.addLast(CAPTURE, new CaptureHandler(instance, instance.getCapture()));
+                }
+
                 // Packet decoder
                 PacketDecoder decoder = new PacketDecoder(instance);
                 decoder.setProtocolVersion(protocolVersion);
@@ -103,6 +275,9 @@ public class PipelineUtil {
                 encoder.setProtocolVersion(protocolVersion);
                 pipeline.addLast(PACKET_ENCODER, encoder);
 
+                // Keeps the packets back while the channel isn't writable (last = first for outbound)
+                pipeline.addLast(OUTBOUND_QUEUE, new OutboundQueueHandler(instance, transport.getOutboundQueueSize()));
+
                 // Handler
                 pipeline.addLast(BOSS_HANDLER, new BossHandler(instance));
             }
@@ -0,0 +1,160 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.client.NetworkClient;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.ResponseStatus;
+import de.superioz.moo.network.server.NetworkServer;
+import de.superioz.moo.network.util.NettyUtil;
+import de.superioz.moo.network.util.PipelineUtil;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+public class DomainSocketTransportTest {
+
+    private File socket;
+    private NetworkServer server;
+    private NetworkClient client;
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(PipelineUtil.isEpoll(), "unix domain sockets need epoll");
+        socket = new File(System.getProperty("java.io.tmpdir"), "moo-" + UUID.randomUUID() + ".sock");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if(client != null && client.getChannel() != null) client.disconnect();
+        if(server != null && server.getChannel() != null) server.stop();
+    }
+
+    @Test
+    void localClientShouldPreferTheDomainSocket() throws Exception {
+        startServer();
+        Assertions.assertTrue(socket.exists());
+
+        connectClient(socket);
+        Assertions.assertTrue(client.getChannel() instanceof EpollDomainSocketChannel);
+        assertHandshake();
+
+        // the client is known by a loopback address
+        InetSocketAddress address = server.getClientManager().getClients(ClientType.SERVER).get(0).getAddress();
+        Assertions.assertTrue(address.getAddress().isLoopbackAddress());
+
+        // the socket file is deleted with the server
+        server.stop();
+        await(() -> !socket.exists());
+    }
+
+    @Test
+    void clientShouldBeAnnouncedWithTheHostOfTheCloud() throws Exception {
+        startServer();
+
+        // over the domain socket the cloud only sees a loopback address, but the client is reached like the cloud
+        connectClient(socket, "127.0.0.2");
+        Assertions.assertTrue(client.getChannel() instanceof EpollDomainSocketChannel);
+
+        PacketHandshake handshake = new PacketHandshake("lobby", ClientType.SERVER, 25565);
+        handshake.host = client.getAnnouncedHost(client.getChannel());
+        CompletableFuture<AbstractPacket> response = new CompletableFuture<>();
+        client.sendPacket(handshake, response::complete);
+        Assertions.assertEquals(ResponseStatus.OK, ((PacketRespond) response.get(5, TimeUnit.SECONDS)).status);
+
+        MooClient mooClient = server.getClientManager().getClients(ClientType.SERVER).get(0);
+        Assertions.assertEquals("127.0.0.2", mooClient.getHost());
+        Assertions.assertSame(mooClient, server.getClientManager().get(NettyUtil.getRemoteAddress(mooClient.getChannel())));
+    }
+
+    @Test
+    void clientShouldFallBackToTcp() throws Exception {
+        startServer();
+
+        connectClient(new File(socket.getPath() + ".missing"));
+        Assertions.assertTrue(client.getChannel() instanceof EpollSocketChannel);
+        assertHandshake();
+    }
+
+    @Test
+    void onlyThisHostShouldBeLocal() {
+        Assertions.assertTrue(NettyUtil.isLocalHost("localhost"));
+        Assertions.assertTrue(NettyUtil.isLocalHost("127.0.0.1"));
+        Assertions.assertFalse(NettyUtil.isLocalHost("192.0.2.1"));
+        Assertions.assertFalse(NettyUtil.isLocalHost("unknown.invalid"));
+    }
+
+    private void startServer() throws Exception {
+        TransportConfig transport = new TransportConfig();
+        transport.setDomainSocket(socket.getPath());
+        transport.setPingInterval(0);
+
+        server = new NetworkServer("localhost", 0, null, Logger.getLogger("test-server"));
+        server.setTransport(transport);
+        server.setup();
+        server.registerEventAdapter(new LocalTransportTest.HandshakeAdapter(server));
+        new Thread(() -> {
+            try {
+                server.start();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(() -> server.getChannel() != null && server.getChannel().isActive() && server.getDomainChannel() != null);
+    }
+
+    private void connectClient(File domainSocket) throws Exception {
+        connectClient(domainSocket, "localhost");
+    }
+
+    private void connectClient(File domainSocket, String host) throws Exception {
+        TransportConfig transport = new TransportConfig();
+        transport.setDomainSocket(domainSocket.getPath());
+        transport.setPingInterval(0);
+
+        int port = ((InetSocketAddress) server.getChannel().localAddress()).getPort();
+        client = new NetworkClient(host, port, Logger.getLogger("test-client"));
+        client.setTransport(transport);
+        client.setup();
+        new Thread(() -> {
+            try {
+                client.connect();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(() -> client.isConnected());
+    }
+
+    private void assertHandshake() throws Exception {
+        CompletableFuture<AbstractPacket> response = new CompletableFuture<>();
+        client.sendPacket(new PacketHandshake("lobby", ClientType.SERVER, 25565), response::complete);
+        Assertions.assertEquals(ResponseStatus.OK, ((PacketRespond) response.get(5, TimeUnit.SECONDS)).status);
+        Assertions.assertEquals(1, server.getClientManager().getClients(ClientType.SERVER).size());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.client.NetworkClient;
+import de.superioz.moo.network.event.NetworkEventAdapter;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketAdapter;
+import de.superioz.moo.network.packet.PacketAdapting;
+import de.superioz.moo.network.packet.PacketHandler;
+import de.superioz.moo.network.packets.PacketConsoleInput;
+import de.superioz.moo.network.packets.PacketHandshake;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.ResponseStatus;
+import de.superioz.moo.network.server.NetworkServer;
+import de.superioz.moo.network.util.NettyUtil;
+import de.superioz.moo.network.util.PipelineUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+public class LocalTransportTest {
+
+    private NetworkServer server;
+    private NetworkClient client;
+
+    @AfterEach
+    void tearDown() {
+        if(client != null && client.getChannel() != null) client.disconnect();
+        if(server != null && server.getChannel() != null) server.stop();
+    }
+
+    @Test
+    void clientShouldTalkToServerInsideTheSameProgram() throws Exception {
+        TransportConfig transport = new TransportConfig();
+        transport.setLocalAddress("moo-" + UUID.randomUUID());
+        transport.setPingInterval(0);
+
+        server = new NetworkServer("localhost", 0, null, Logger.getLogger("test-server"));
+        server.setTransport(transport);
+        server.setup();
+        server.registerEventAdapter(new HandshakeAdapter(server));
+        new Thread(() -> {
+            try {
+                server.start();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(() -> server.getChannel() != null && server.getChannel().isActive());
+
+        client = new NetworkClient("localhost", 0, Logger.getLogger("test-client"));
+        client.setTransport(transport);
+        client.setup();
+        new Thread(() -> {
+            try {
+                client.connect();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(() -> client.isConnected());
+        Assertions.assertTrue(client.getChannel() instanceof LocalChannel);
+
+        // request and response through the whole pipeline
+        CompletableFuture<AbstractPacket> response = new CompletableFuture<>();
+        client.sendPacket(new PacketHandshake("local", ClientType.PROXY), response::complete);
+        Assertions.assertEquals(ResponseStatus.OK, ((PacketRespond) response.get(5, TimeUnit.SECONDS)).status);
+
+        // the client is known by its loopback address
+        Assertions.assertEquals(1, server.getClientManager().getClients(ClientType.PROXY).size());
+        MooClient mooClient = server.getClientManager().getClients(ClientType.PROXY).get(0);
+        Assertions.assertTrue(mooClient.getAddress().getAddress().isLoopbackAddress());
+
+        // the server pings the client
+        server.getNetworkBus().ping(mooClient.getChannel());
+        await(() -> server.getStats().getRoundTrip(mooClient.getChannel()).getCount() == 1);
+
+        client.disconnect();
+        await(() -> server.getClientManager().getAll().isEmpty());
+    }
+
+    @Test
+    void everyClientInsideTheSameProgramShouldAnswer() throws Exception {
+        TransportConfig transport = new TransportConfig();
+        transport.setLocalAddress("moo-" + UUID.randomUUID());
+        transport.setPingInterval(0);
+
+        server = new NetworkServer("localhost", 0, null, Logger.getLogger("test-server"));
+        server.setTransport(transport);
+        server.setup();
+        server.registerEventAdapter(new HandshakeAdapter(server));
+        new Thread(() -> {
+            try {
+                server.start();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(() -> server.getChannel() != null && server.getChannel().isActive());
+        PacketAdapting.getInstance().register(new ConsoleAdapter());
+
+        // only the last client of a class receives the events of the program
+        client = connect(transport, "first");
+        NetworkClient second = connect(transport, "second");
+        try {
+            await(() -> server.getClientManager().getClients(ClientType.PROXY).size() == 2);
+
+            for(MooClient mooClient : server.getClientManager().getClients(ClientType.PROXY)) {
+                CompletableFuture<AbstractPacket> response = new CompletableFuture<>();
+                server.sendPacket(new PacketConsoleInput("list"), mooClient.getChannel(), response::complete);
+                Assertions.assertEquals(ResponseStatus.OK, ((PacketRespond) response.get(5, TimeUnit.SECONDS)).status);
+
+                server.getNetworkBus().ping(mooClient.getChannel());
+                await(() -> server.getStats().getRoundTrip(mooClient.getChannel()).getCount() == 1);
+            }
+        }
+        finally {
+            PacketAdapting.getInstance().unregisterAll();
+            second.disconnect();
+        }
+    }
+
+    @Test
+    void clientShouldTakeOverTheCompressionOfTheServer() throws Exception {
+        TransportConfig transport = new TransportConfig();
+        transport.setLocalAddress("moo-" + UUID.randomUUID());
+        transport.setPingInterval(0);
+        transport.setCompressionThreshold(64);
+
+        server = new NetworkServer("localhost", 0, null, Logger.getLogger("test-server"));
+        server.setTransport(transport);
+        server.setup();
+        server.registerEventAdapter(new HandshakeAdapter(server));
+        new Thread(() -> {
+            try {
+                server.start();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(() -> server.getChannel() != null && server.getChannel().isActive());
+        PacketAdapting.getInstance().register(new ConsoleAdapter());
+
+        // the client itself has no compression configured
+        TransportConfig clientTransport = new TransportConfig();
+        clientTransport.setLocalAddress(transport.getLocalAddress());
+        clientTransport.setPingInterval(0);
+        try {
+            client = connect(clientTransport, "compressed");
+            await(() -> server.getClientManager().getClients(ClientType.PROXY).size() == 1);
+            Channel channel = server.getClientManager().getClients(ClientType.PROXY).get(0).getChannel();
+            await(() -> channel.pipeline().get(PipelineUtil.INFLATER) != null);
+            Assertions.assertNotNull(channel.pipeline().get(PipelineUtil.DEFLATER));
+            Assertions.assertNotNull(client.getChannel().pipeline().get(PipelineUtil.INFLATER));
+            Assertions.assertNotNull(client.getChannel().pipeline().get(PipelineUtil.DEFLATER));
+
+            // big frames in both directions
+            String command = String.join(" ", Collections.nCopies(256, "say hello"));
+            CompletableFuture<AbstractPacket> response = new CompletableFuture<>();
+            server.sendPacket(new PacketConsoleInput(command), channel, response::complete);
+            Assertions.assertEquals(ResponseStatus.OK, ((PacketRespond) response.get(5, TimeUnit.SECONDS)).status);
+
+            CompletableFuture<AbstractPacket> clientResponse = new CompletableFuture<>();
+            client.sendPacket(new PacketConsoleInput(command), clientResponse::complete);
+            Assertions.assertEquals(ResponseStatus.OK, ((PacketRespond) clientResponse.get(5, TimeUnit.SECONDS)).status);
+        }
+        finally {
+            PacketAdapting.getInstance().unregisterAll();
+        }
+    }
+
+    @Test
+    void addressOfAnOpenChannelShouldNotBeGivenAgain() {
+        EmbeddedChannel open = new EmbeddedChannel();
+        InetSocketAddress address = NettyUtil.getRemoteAddress(open);
+        Assertions.assertEquals(address, NettyUtil.getRemoteAddress(open));
+
+        // more channels than there are ports
+        for(int i = 0; i < Short.MAX_VALUE + 1; i++) {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            Assertions.assertNotEquals(address, NettyUtil.getRemoteAddress(channel));
+            channel.close();
+        }
+        open.close();
+    }
+
+    private static NetworkClient connect(TransportConfig transport, String name) throws Exception {
+        NetworkClient client = new NetworkClient("localhost", 0, Logger.getLogger("test-" + name));
+        client.setTransport(transport);
+        client.setup();
+        new Thread(() -> {
+            try {
+                client.connect();
+            }
+            catch(Exception e) {
+                e.printStackTrace();
+            }
+        }).start();
+        await(client::isConnected);
+
+        CompletableFuture<AbstractPacket> response = new CompletableFuture<>();
+        client.sendPacket(new PacketHandshake(name, ClientType.PROXY), response::complete);
+        response.get(5, TimeUnit.SECONDS);
+        return client;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    public static class ConsoleAdapter implements PacketAdapter {
+
+        @PacketHandler
+        public void onConsoleInput(PacketConsoleInput packet) {
+            packet.respond(ResponseStatus.OK);
+        }
+
+    }
+
+    public static class HandshakeAdapter implements NetworkEventAdapter {
+
+        private final NetworkServer server;
+
+        public HandshakeAdapter(NetworkServer server) {
+            this.server = server;
+        }
+
+        @Override
+        public void onPacketReceive(AbstractPacket packet) {
+        }
+
+        @Override
+        public void onHandshakeReceive(PacketHandshake handshake) {
+            InetSocketAddress address = NettyUtil.getRemoteAddress(handshake.getChannel());
+            String host = NettyUtil.hasInetAddress(handshake.getChannel()) || handshake.host.isEmpty()
+                    ? address.getAddress().getHostAddress() : handshake.host;
+            server.getClientManager().add(new MooClient(handshake.identifier, host,
+                    address.getPort(), handshake.subPort, handshake.type, handshake.getChannel()));
+            handshake.respond(ResponseStatus.OK);
+            server.announceCompression(handshake.getChannel());
+        }
+
+        @Override
+        public void onPacketSend(AbstractPacket packet) {
+        }
+
+        @Override
+        public void onChannelActive(Channel channel) {
+        }
+
+        @Override
+        public void onChannelInactive(Channel channel) {
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.PacketAdapter;
+import de.superioz.moo.network.packet.PacketAdapting;
+import de.superioz.moo.network.packet.PacketEncoder;
+import de.superioz.moo.network.packet.PacketHandler;
+import de.superioz.moo.network.packets.MultiPacket;
+import de.superioz.moo.network.packets.PacketPing;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.ResponseStatus;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+public class NetworkBusTest {
+
+    private static CountDownLatch together;
+
+    private final AbstractNetworkInstance instance = new AbstractNetworkInstance("localhost", 0, Logger.getLogger("test")) {
+        @Override
+        public <T extends AbstractNetworkInstance> T setup() {
+            return (T) this;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        PacketAdapting.getInstance().unregisterAll();
+        together = null;
+        instance.getNetworkBus().shutdown();
+    }
+
+    @Test
+    void sequentialMultiPacketShouldStopAtFirstFailure() throws Exception {
+        PacketAdapting.getInstance().register(new StatusAdapter());
+
+        PacketRespond respond = process(new MultiPacket<>(pings(4, 2, 1, 6), false));
+        Assertions.assertEquals(ResponseStatus.NOT_FOUND, respond.status);
+        Assertions.assertEquals(Arrays.asList(ResponseStatus.OK, ResponseStatus.OK, ResponseStatus.NOT_FOUND),
+                MultiPacket.getStatuses(respond));
+    }
+
+    @Test
+    void parallelMultiPacketShouldProcessEveryItemAtOnce() throws Exception {
+        PacketAdapting.getInstance().register(new StatusAdapter());
+        together = new CountDownLatch(4);
+
+        // every handler waits for the others, so this only passes if they run at the same time
+        PacketRespond respond = process(new MultiPacket<>(pings(1, 2, 3, 4), true));
+        Assertions.assertEquals(ResponseStatus.NOT_FOUND, respond.status);
+        Assertions.assertEquals(Arrays.asList(ResponseStatus.NOT_FOUND, ResponseStatus.OK, ResponseStatus.NOT_FOUND, ResponseStatus.OK),
+                MultiPacket.getStatuses(respond));
+    }
+
+    @Test
+    void pingShouldBeEchoedAndMeasured() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PacketPing ping = new PacketPing(42);
+        ping.setQueryId(7);
+
+        // the other side pinged us
+        instance.getNetworkBus().dispatch(channel, ping);
+        PacketPing echo = channel.readOutbound();
+        Assertions.assertEquals(42, echo.timestamp);
+        Assertions.assertEquals(7, echo.getQueryId());
+        Assertions.assertTrue(echo.isResponse());
+        Assertions.assertEquals(1, instance.getStats().getHandling().get("PacketPing").getCount());
+
+        // the echo of our ping
+        PacketPing own = new PacketPing(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+        own.setResponse(true);
+        instance.getNetworkBus().dispatch(channel, own);
+        Assertions.assertEquals(1, instance.getStats().getRoundTrip(channel).getCount());
+        Assertions.assertTrue(instance.getStats().getRoundTrip(channel).getMax() >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void echoOfPingRequestShouldCompleteTheRequest() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        CompletableFuture<AbstractPacket> future = new CompletableFuture<>();
+
+        // a ping sent like PacketMessenger.transfer does it
+        instance.getNetworkBus().processOut(channel, new PacketPing(42), future::complete);
+        PacketPing request = channel.readOutbound();
+
+        PacketPing echo = new PacketPing(request.timestamp);
+        echo.setQueryId(request.getQueryId());
+        echo.setResponse(true);
+        instance.getNetworkBus().dispatch(channel, echo);
+
+        Assertions.assertSame(echo, future.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, instance.getStats().getRoundTrip(channel).getCount());
+    }
+
+    @Test
+    void broadcastShouldEncodeOnce() throws Exception {
+        EmbeddedChannel first = new EmbeddedChannel(encoder());
+        EmbeddedChannel second = new EmbeddedChannel(encoder());
+        PacketPing ping = pings(42).get(0);
+
+        instance.getNetworkBus().processOut(Arrays.asList(first, second), ping);
+        ByteBuf firstBuf = first.readOutbound();
+        ByteBuf secondBuf = second.readOutbound();
+
+        // both channels got the same bytes as if the packet was encoded on its own
+        ByteBuf expected = Unpooled.buffer();
+        PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, ping, expected);
+        Assertions.assertEquals(expected, firstBuf);
+        Assertions.assertEquals(expected, secondBuf);
+
+        // the buffer is shared and released after writing
+        ByteBuf root = root(firstBuf);
+        Assertions.assertSame(root, root(secondBuf));
+        firstBuf.release();
+        secondBuf.release();
+        Assertions.assertEquals(0, root.refCnt());
+        expected.release();
+    }
+
+    private static ByteBuf root(ByteBuf buf) {
+        while(buf.unwrap() != null) {
+            buf = buf.unwrap();
+        }
+        return buf;
+    }
+
+    private PacketEncoder encoder() {
+        PacketEncoder encoder = new PacketEncoder(instance);
+        encoder.setProtocolVersion(Protocol.PROTOCOL_VERSION);
+        return encoder;
+    }
+
+    private PacketRespond process(MultiPacket<PacketPing> packet) throws Exception {
+        CompletableFuture<PacketRespond> future = new CompletableFuture<>();
+        packet.interceptRespond(respond -> future.complete((PacketRespond) respond));
+
+        instance.getNetworkBus().processIn(null, packet);
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private static List<PacketPing> pings(long... timestamps) {
+        List<PacketPing> list = new ArrayList<>();
+        for(long timestamp : timestamps) {
+            PacketPing ping = new PacketPing();
+            ping.timestamp = timestamp;
+            list.add(ping);
+        }
+        return list;
+    }
+
+    public static class StatusAdapter implements PacketAdapter {
+
+        @PacketHandler
+        public void onPing(PacketPing packet) throws InterruptedException {
+            if(together != null) {
+                together.countDown();
+                if(!together.await(5, TimeUnit.SECONDS)) return;
+            }
+
+            // odd timestamps are not found
+            packet.respond(packet.timestamp % 2 == 0 ? ResponseStatus.OK : ResponseStatus.NOT_FOUND);
+        }
+
+    }
+
+}
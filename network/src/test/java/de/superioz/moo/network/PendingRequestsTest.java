@@ -0,0 +1,103 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketRespond;
+import de.superioz.moo.network.queries.ResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class PendingRequestsTest {
+
+    private final PendingRequests requests = new PendingRequests(Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        requests.shutdown();
+    }
+
+    @Test
+    void idsShouldBeUnique() {
+        long first = requests.nextId();
+        Assertions.assertNotEquals(0, first);
+        Assertions.assertEquals(first + 1, requests.nextId());
+    }
+
+    @Test
+    void unansweredRequestShouldTimeOut() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<AbstractPacket> received = new CopyOnWriteArrayList<>();
+        long id = requests.nextId();
+
+        requests.register(id, Collections.singletonList(packet -> {
+            received.add(packet);
+            latch.countDown();
+        }), 50);
+        Assertions.assertTrue(requests.contains(id));
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(ResponseStatus.TIMEOUT, ((PacketRespond) received.get(0)).status);
+        Assertions.assertEquals(id, received.get(0).getQueryId());
+        Assertions.assertFalse(requests.contains(id));
+    }
+
+    @Test
+    void shutdownShouldOnlyCancelItsOwnRequests() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<AbstractPacket> cancelled = new CopyOnWriteArrayList<>();
+        PendingRequests other = new PendingRequests(Runnable::run);
+        long id = other.nextId();
+
+        other.register(id, Collections.singletonList(cancelled::add), 50);
+        requests.register(requests.nextId(), Collections.singletonList(packet -> latch.countDown()), 100);
+        other.shutdown();
+
+        // the timer is shared, so the requests of this table still time out
+        Assertions.assertFalse(other.contains(id));
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(cancelled.isEmpty());
+    }
+
+    @Test
+    void firstResponseShouldBeRecordedAsLatency() {
+        NetworkStats stats = new NetworkStats();
+        PendingRequests requests = new PendingRequests(Runnable::run, stats);
+        long id = requests.nextId();
+
+        requests.register(id, "PacketRequest", Collections.emptyList(), 1000);
+        requests.complete(id);
+        requests.complete(id);
+
+        Assertions.assertEquals(1, stats.getRequests().get("PacketRequest").getCount());
+        requests.shutdown();
+    }
+
+    @Test
+    void answeredRequestShouldExpireSilently() throws InterruptedException {
+        List<AbstractPacket> received = new CopyOnWriteArrayList<>();
+        Consumer<AbstractPacket> callback = received::add;
+        long id = requests.nextId();
+
+        requests.register(id, Collections.singletonList(callback), 100);
+        Assertions.assertEquals(Collections.singletonList(callback), requests.complete(id));
+
+        // a second response is still accepted
+        Assertions.assertNotNull(requests.complete(id));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while(requests.contains(id) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertFalse(requests.contains(id));
+        Assertions.assertTrue(received.isEmpty());
+        Assertions.assertNull(requests.complete(id));
+    }
+
+}
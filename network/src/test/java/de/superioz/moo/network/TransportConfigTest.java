@@ -0,0 +1,59 @@
+package de.superioz.moo.network;
+
+import de.superioz.moo.api.io.JsonConfig;
+import de.superioz.moo.network.client.ReconnectBackoff;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TransportConfigTest {
+
+    @Test
+    void transportShouldBeReadFromSection() throws Exception {
+        Path folder = Files.createTempDirectory("moo");
+        File file = folder.resolve("config.json").toFile();
+        Files.write(file.toPath(), ("{\"netty\": {\"port\": 8000, \"transport\": {\"worker-threads\": 16, "
+                + "\"tcp-no-delay\": false, \"send-buffer-size\": 262144, \"request-timeout\": 5000}}}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        JsonConfig config = new JsonConfig("config", folder);
+        config.load(false, false);
+        TransportConfig transport = TransportConfig.fromConfig(config, "netty.transport");
+
+        Assertions.assertEquals(16, transport.getWorkerThreads());
+        Assertions.assertFalse(transport.isTcpNoDelay());
+        Assertions.assertEquals(262144, transport.getSendBufferSize());
+        Assertions.assertEquals(5000, transport.getRequestTimeout());
+
+        // missing keys keep their default
+        TransportConfig defaults = new TransportConfig();
+        Assertions.assertEquals(defaults.getBossThreads(), transport.getBossThreads());
+        Assertions.assertEquals(defaults.getWriteBufferHighWaterMark(), transport.getWriteBufferHighWaterMark());
+        Assertions.assertEquals(defaults.getCompressionThreshold(), transport.getCompressionThreshold());
+
+        file.delete();
+        folder.toFile().delete();
+    }
+
+    @Test
+    void reconnectDelayShouldGrowWithJitterUpToTheMaximum() {
+        ReconnectBackoff backoff = new ReconnectBackoff(1000, 30000);
+
+        for(int i = 0; i < 100; i++) {
+            long first = backoff.getDelay(0);
+            Assertions.assertTrue(first >= 500 && first <= 1000, "first delay " + first);
+
+            long third = backoff.getDelay(2);
+            Assertions.assertTrue(third >= 2000 && third <= 4000, "third delay " + third);
+
+            long late = backoff.getDelay(40);
+            Assertions.assertTrue(late >= 15000 && late <= 30000, "late delay " + late);
+        }
+        Assertions.assertTrue(backoff.getDelay(Integer.MAX_VALUE) <= 30000);
+    }
+
+}
@@ -0,0 +1,60 @@
+package de.superioz.moo.network.lib;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FlushBatchHandlerTest {
+
+    private EmbeddedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void writesShouldBeFlushedOncePerTurn() {
+        channel = new EmbeddedChannel(new FlushBatchHandler(64, 1024));
+        for(int i = 0; i < 3; i++) {
+            channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[]{(byte) i}));
+        }
+        Assertions.assertEquals(0, channel.outboundMessages().size());
+
+        // the event loop finishes its turn
+        channel.runPendingTasks();
+        Assertions.assertEquals(3, channel.outboundMessages().size());
+    }
+
+    @Test
+    void packetThresholdShouldFlushImmediately() {
+        channel = new EmbeddedChannel(new FlushBatchHandler(2, 1024));
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[1]));
+        Assertions.assertEquals(0, channel.outboundMessages().size());
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[1]));
+        Assertions.assertEquals(2, channel.outboundMessages().size());
+    }
+
+    @Test
+    void byteThresholdShouldFlushImmediately() {
+        channel = new EmbeddedChannel(new FlushBatchHandler(64, 16));
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[16]));
+        Assertions.assertEquals(1, channel.outboundMessages().size());
+    }
+
+    @Test
+    void closeShouldFlushPendingWrites() {
+        channel = new EmbeddedChannel(new FlushBatchHandler(64, 1024));
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[1]));
+        channel.close();
+
+        ByteBuf buf = channel.readOutbound();
+        Assertions.assertNotNull(buf);
+        buf.release();
+    }
+
+}
@@ -0,0 +1,95 @@
+package de.superioz.moo.network.lib;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.packets.PacketKeepalive;
+import de.superioz.moo.network.packets.PacketPing;
+import de.superioz.moo.network.packets.PacketServerInfoUpdate;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.logging.Logger;
+
+public class OutboundQueueHandlerTest {
+
+    private final AbstractNetworkInstance instance = new AbstractNetworkInstance("localhost", 0, Logger.getLogger("test")) {
+        @Override
+        public <T extends AbstractNetworkInstance> T setup() {
+            return (T) this;
+        }
+    };
+
+    private EmbeddedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+        instance.getNetworkBus().shutdown();
+    }
+
+    @Test
+    void packetsShouldWaitUntilChannelIsWritable() {
+        channel = newChannel(64);
+
+        // every unknown message counts as 8 bytes, so the channel isn't writable after the third one
+        for(int i = 0; i < 3; i++) {
+            channel.write(ping(i));
+        }
+        Assertions.assertFalse(channel.isWritable());
+
+        channel.write(new PacketKeepalive());
+        channel.write(info(25565, 1));
+        channel.write(ping(3));
+        channel.write(info(25566, 1));
+        channel.write(info(25565, 2));
+
+        OutboundCounters counters = instance.getOutboundCounters();
+        Assertions.assertEquals(1, counters.getDropped());
+        Assertions.assertEquals(1, counters.getCoalesced());
+        Assertions.assertEquals(3, counters.getDelayed());
+
+        // the first flush empties the outbound buffer, then the waiting packets follow
+        channel.flush();
+        Assertions.assertEquals(6, channel.outboundMessages().size());
+        for(int i = 0; i < 3; i++) {
+            Assertions.assertEquals(i, ((PacketPing) channel.readOutbound()).timestamp);
+        }
+        Assertions.assertEquals(2, ((PacketServerInfoUpdate) channel.readOutbound()).onlinePlayers);
+        Assertions.assertEquals(3, ((PacketPing) channel.readOutbound()).timestamp);
+        Assertions.assertEquals(25566, ((PacketServerInfoUpdate) channel.readOutbound()).serverAddress.getPort());
+    }
+
+    @Test
+    void fullQueueShouldCloseChannel() {
+        channel = newChannel(2);
+
+        for(int i = 0; i < 6; i++) {
+            channel.write(ping(i));
+        }
+        Assertions.assertFalse(channel.isOpen());
+        Assertions.assertEquals(1, instance.getOutboundCounters().getOverflows());
+    }
+
+    private EmbeddedChannel newChannel(int maxQueued) {
+        EmbeddedChannel channel = new EmbeddedChannel(new OutboundQueueHandler(instance, maxQueued));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 16));
+        return channel;
+    }
+
+    private static PacketPing ping(long timestamp) {
+        PacketPing ping = new PacketPing();
+        ping.timestamp = timestamp;
+        return ping;
+    }
+
+    private static PacketServerInfoUpdate info(int port, int onlinePlayers) {
+        PacketServerInfoUpdate update = new PacketServerInfoUpdate();
+        update.serverAddress = new InetSocketAddress("localhost", port);
+        update.onlinePlayers = onlinePlayers;
+        return update;
+    }
+
+}
@@ -0,0 +1,133 @@
+package de.superioz.moo.network.lib;
+
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.server.NetworkServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+public class PacketCaptureTest {
+
+    private File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = File.createTempFile("moo-capture", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    void framesShouldBeReadInOrder() throws Exception {
+        PacketCapture capture = new PacketCapture(file, Protocol.PROTOCOL_VERSION);
+        int first = capture.nextChannelId();
+        int second = capture.nextChannelId();
+        capture.recordFrame(first, frame("hello"));
+        capture.recordFrame(second, frame(new String(new char[1000]).replace('\0', 'x')));
+        capture.recordClose(first);
+        capture.close();
+
+        try(PacketCapture.Reader reader = new PacketCapture.Reader(file)) {
+            Assertions.assertEquals(Protocol.PROTOCOL_VERSION, reader.getProtocolVersion());
+
+            PacketCapture.Record record = reader.next();
+            Assertions.assertEquals(first, record.getChannelId());
+            Assertions.assertEquals("hello", new String(record.getFrame(), StandardCharsets.UTF_8));
+
+            PacketCapture.Record next = reader.next();
+            Assertions.assertEquals(second, next.getChannelId());
+            Assertions.assertEquals(1000, next.getFrame().length);
+            Assertions.assertTrue(next.getTime() >= record.getTime());
+
+            Assertions.assertTrue(reader.next().isClose());
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void truncatedCaptureShouldEndAtTheLastCompleteRecord() throws Exception {
+        PacketCapture capture = new PacketCapture(file, Protocol.PROTOCOL_VERSION);
+        int channel = capture.nextChannelId();
+        capture.recordFrame(channel, frame("complete"));
+        capture.recordFrame(channel, frame("cut off"));
+        capture.close();
+
+        // the program was killed in the middle of the last frame
+        try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try(PacketCapture.Reader reader = new PacketCapture.Reader(file)) {
+            Assertions.assertEquals("complete", new String(reader.next().getFrame(), StandardCharsets.UTF_8));
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void droppedRecordsShouldBeCounted() throws Exception {
+        PacketCapture capture = new PacketCapture(file, Protocol.PROTOCOL_VERSION, 1);
+        int channel = capture.nextChannelId();
+        for(int i = 0; i < 1000; i++) {
+            capture.recordFrame(channel, frame("frame " + i));
+        }
+        capture.close();
+
+        // every record is either written or dropped, the capture is readable either way
+        int written = 0;
+        try(PacketCapture.Reader reader = new PacketCapture.Reader(file)) {
+            while(reader.next() != null) {
+                written++;
+            }
+        }
+        Assertions.assertEquals(1000, written + capture.getDropped());
+    }
+
+    @Test
+    void otherFilesShouldBeRejected() throws Exception {
+        try(FileOutputStream out = new FileOutputStream(file)) {
+            out.write("{\"json\": true}".getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertThrows(IOException.class, () -> new PacketCapture.Reader(file));
+    }
+
+    @Test
+    void handlerShouldRecordAndPassOnFrames() throws Exception {
+        PacketCapture capture = new PacketCapture(file, Protocol.PROTOCOL_VERSION);
+        NetworkServer server = new NetworkServer("localhost", 0, null, Logger.getLogger("test"));
+        EmbeddedChannel channel = new EmbeddedChannel(new CaptureHandler(server, capture));
+
+        channel.writeInbound(frame("ping"));
+        ByteBuf passed = channel.readInbound();
+        Assertions.assertEquals("ping", passed.toString(StandardCharsets.UTF_8));
+        passed.release();
+
+        channel.finishAndReleaseAll();
+        capture.close();
+
+        try(PacketCapture.Reader reader = new PacketCapture.Reader(file)) {
+            PacketCapture.Record record = reader.next();
+            Assertions.assertEquals(1, record.getChannelId());
+            Assertions.assertEquals("ping", new String(record.getFrame(), StandardCharsets.UTF_8));
+            Assertions.assertTrue(reader.next().isClose());
+        }
+    }
+
+    private static ByteBuf frame(String content) {
+        return Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+    }
+
+}
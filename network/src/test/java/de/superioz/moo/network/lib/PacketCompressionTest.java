@@ -0,0 +1,98 @@
+package de.superioz.moo.network.lib;
+
+import de.superioz.moo.network.packet.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class PacketCompressionTest {
+
+    private EmbeddedChannel sender;
+    private EmbeddedChannel receiver;
+
+    @BeforeEach
+    void setUp() {
+        sender = new EmbeddedChannel(new PacketCompressor(256));
+        receiver = new EmbeddedChannel(new PacketDecompressor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.finishAndReleaseAll();
+        receiver.finishAndReleaseAll();
+    }
+
+    @Test
+    void smallFramesShouldBeSentRaw() {
+        byte[] frame = consoleLine(0);
+        ByteBuf out = transfer(frame);
+
+        Assertions.assertEquals(0, out.getByte(0));
+        Assertions.assertEquals(frame.length + 1, out.readableBytes());
+        out.release();
+    }
+
+    @Test
+    void framesShouldSurviveRoundTrip() {
+        List<byte[]> frames = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            frames.add(i % 4 == 0 ? snapshot(i) : consoleLine(i));
+        }
+
+        for(byte[] frame : frames) {
+            ByteBuf out = transfer(frame);
+            Assertions.assertTrue(frame.length < 256 || out.readableBytes() < frame.length);
+
+            receiver.writeInbound(out);
+            ByteBuf in = receiver.readInbound();
+            byte[] bytes = new byte[in.readableBytes()];
+            in.readBytes(bytes);
+            in.release();
+            Assertions.assertArrayEquals(frame, bytes);
+        }
+    }
+
+    private ByteBuf transfer(byte[] frame) {
+        sender.writeOutbound(Unpooled.wrappedBuffer(frame));
+        return sender.readOutbound();
+    }
+
+    /**
+     * A frame like a {@link de.superioz.moo.network.packets.PacketConsoleOutput}
+     */
+    private static byte[] consoleLine(int i) {
+        ByteBuf buf = Unpooled.buffer();
+        new PacketBuffer(buf).writeVarInt(1).writeVarInt(12).writeUuid(UUID.randomUUID())
+                .writeString("[12:00:0" + (i % 10) + " INFO]: Player" + i + " issued server command: /lobby");
+        return toArray(buf);
+    }
+
+    /**
+     * A frame like a {@link de.superioz.moo.network.packets.MultiPacket} with many server infos
+     */
+    private static byte[] snapshot(int i) {
+        ByteBuf buf = Unpooled.buffer();
+        PacketBuffer buffer = new PacketBuffer(buf).writeVarInt(1).writeVarInt(20).writeUuid(UUID.randomUUID());
+        for(int j = 0; j < 100; j++) {
+            buffer.writeString("{\"type\":\"lobby\",\"id\":" + (i + j) + ",\"host\":\"127.0.0.1\",\"port\":"
+                    + (25565 + j) + ",\"onlinePlayers\":" + (j * 7 % 60) + ",\"maxPlayers\":60,\"motd\":\"A Minecraft Server\"}");
+        }
+        return toArray(buf);
+    }
+
+    private static byte[] toArray(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+}
@@ -0,0 +1,80 @@
+package de.superioz.moo.network.packet;
+
+import de.superioz.moo.api.event.EventPriority;
+import de.superioz.moo.network.packets.PacketKeepalive;
+import de.superioz.moo.network.packets.PacketPing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PacketAdaptingTest {
+
+    private static final List<String> CALLS = new ArrayList<>();
+
+    private final PacketAdapting adapting = PacketAdapting.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        adapting.unregisterAll();
+        CALLS.clear();
+    }
+
+    @Test
+    void handlersShouldBeCalledByPriority() {
+        adapting.register(new LowAdapter(), new HighAdapter());
+        adapting.execute(new PacketPing());
+
+        Assertions.assertEquals(2, CALLS.size());
+        Assertions.assertEquals("high", CALLS.get(0));
+        Assertions.assertEquals("low", CALLS.get(1));
+    }
+
+    @Test
+    void onlyHandlersOfThePacketShouldBeCalled() {
+        adapting.register(new HighAdapter());
+        adapting.execute(new PacketKeepalive());
+        Assertions.assertTrue(CALLS.isEmpty());
+
+        adapting.unregister(new HighAdapter());
+        adapting.execute(new PacketPing());
+        Assertions.assertTrue(CALLS.isEmpty());
+    }
+
+    @Test
+    void nonPublicAdaptersShouldBeCalled() {
+        adapting.register(new HiddenAdapter());
+        adapting.execute(new PacketPing());
+        Assertions.assertEquals(1, CALLS.size());
+    }
+
+    public static class LowAdapter implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.LOW)
+        public void onPing(PacketPing packet) {
+            CALLS.add("low");
+        }
+
+    }
+
+    public static class HighAdapter implements PacketAdapter {
+
+        @PacketHandler(priority = EventPriority.HIGH)
+        public void onPing(PacketPing packet) {
+            CALLS.add("high");
+        }
+
+    }
+
+    private static class HiddenAdapter implements PacketAdapter {
+
+        @PacketHandler
+        public void onPing(PacketPing packet) {
+            CALLS.add("hidden");
+        }
+
+    }
+
+}
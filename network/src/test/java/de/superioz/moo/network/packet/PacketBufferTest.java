@@ -0,0 +1,175 @@
+package de.superioz.moo.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+
+public class PacketBufferTest {
+
+    private TrackingAllocator allocator;
+    private ByteBuf buf;
+    private PacketBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        allocator = new TrackingAllocator();
+        buf = allocator.heapBuffer();
+        buffer = new PacketBuffer(buf);
+    }
+
+    @AfterEach
+    void checkLeaks() {
+        buf.release();
+
+        // every buffer ever allocated through the packet buffer has to be released again
+        for(ByteBuf allocated : allocator.allocated) {
+            Assertions.assertEquals(0, allocated.refCnt(), "Leaked buffer: " + allocated);
+        }
+    }
+
+    @Test
+    void stringsShouldSurviveRoundTrip() {
+        List<String> strings = Arrays.asList("", "moo", "Grüße", "€uro", "🐄 cow", "日本語");
+        for(String s : strings) {
+            buffer.writeString(s);
+        }
+
+        for(String s : strings) {
+            Assertions.assertEquals(s, buffer.readString());
+        }
+        Assertions.assertEquals(0, buf.readableBytes());
+        Assertions.assertEquals(1, allocator.allocated.size());
+    }
+
+    @Test
+    void stringShouldBeEncodedLikeStringGetBytes() {
+        String s = "aä€🐄\uD800b";
+        byte[] expected = s.getBytes(StandardCharsets.UTF_8);
+
+        buffer.writeString(s);
+        Assertions.assertEquals(expected.length, buffer.readVarInt());
+        Assertions.assertEquals(expected.length, PacketBuffer.utf8Length(s));
+
+        byte[] actual = new byte[buf.readableBytes()];
+        buf.readBytes(actual);
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void varLongsShouldSurviveRoundTrip() {
+        List<Long> longs = Arrays.asList(0L, 1L, 127L, 128L, (long) Integer.MAX_VALUE + 1, Long.MAX_VALUE, -1L);
+        for(long l : longs) {
+            buffer.writeVarLong(l);
+        }
+
+        for(long l : longs) {
+            Assertions.assertEquals(l, buffer.readVarLong());
+        }
+        Assertions.assertEquals(0, buf.readableBytes());
+    }
+
+    @Test
+    void nullStringShouldBeWrittenAsEmpty() {
+        buffer.writeString(null);
+        Assertions.assertEquals("", buffer.readString());
+    }
+
+    @Test
+    void tooLongStringShouldNotBeWritten() {
+        char[] chars = new char[PacketBuffer.MAX_STRING_LENGTH / 2 + 1];
+        Arrays.fill(chars, 'ä');
+
+        Assertions.assertThrows(EncoderException.class, () -> buffer.writeString(new String(chars)));
+        Assertions.assertEquals(0, buf.writerIndex());
+    }
+
+    @Test
+    void tooLongStringShouldNotBeRead() {
+        buffer.writeString("moooo");
+        Assertions.assertThrows(DecoderException.class, () -> buffer.readString(4));
+    }
+
+    @Test
+    void truncatedStringShouldNotBeRead() {
+        buffer.writeVarInt(10);
+        buf.writeByte('a');
+        Assertions.assertThrows(DecoderException.class, () -> buffer.readString());
+    }
+
+    @Test
+    void uuidShouldSurviveRoundTrip() {
+        UUID uuid = UUID.randomUUID();
+        buffer.writeUuid(uuid);
+
+        Assertions.assertEquals(uuid, buffer.readUuid());
+    }
+
+    @Test
+    void stringListsShouldSurviveRoundTrip() {
+        List<String> list = new ArrayList<>(Arrays.asList("a", "Grüße", ""));
+        List<String> linkedList = new LinkedList<>(list);
+
+        buffer.writeStringList(list);
+        buffer.writeStringList(linkedList);
+        buffer.writeStringList(Collections.emptyList());
+        buffer.writeStringList(null);
+
+        Assertions.assertEquals(list, buffer.readStringList());
+        Assertions.assertEquals(linkedList, buffer.readStringList());
+        Assertions.assertTrue(buffer.readStringList().isEmpty());
+        Assertions.assertTrue(buffer.readStringList().isEmpty());
+    }
+
+    @Test
+    void invalidStringListSizeShouldNotBeRead() {
+        buffer.writeVarInt(100);
+        Assertions.assertThrows(DecoderException.class, () -> buffer.readStringList());
+    }
+
+    /**
+     * Allocator which remembers every buffer it created
+     */
+    private static class TrackingAllocator extends AbstractByteBufAllocator {
+
+        private final List<ByteBuf> allocated = new ArrayList<>();
+
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            ByteBuf buf = new UnpooledHeapByteBuf(this, initialCapacity, maxCapacity) {
+            };
+            allocated.add(buf);
+            return buf;
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            ByteBuf buf = new UnpooledDirectByteBuf(this, initialCapacity, maxCapacity) {
+            };
+            allocated.add(buf);
+            return buf;
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.superioz.moo.network.packet;
+
+import de.superioz.moo.network.AbstractNetworkInstance;
+import de.superioz.moo.network.Protocol;
+import de.superioz.moo.network.packets.PacketPlayerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+public class RelayedPacketTest {
+
+    private final AbstractNetworkInstance instance = new AbstractNetworkInstance("localhost", 0, Logger.getLogger("test")) {
+        @Override
+        public <T extends AbstractNetworkInstance> T setup() {
+            return (T) this;
+        }
+    };
+
+    private final EmbeddedChannel channel = new EmbeddedChannel(decoder(), encoder());
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+        instance.getNetworkBus().shutdown();
+    }
+
+    @Test
+    void relayedPacketShouldBeWrittenAsReceived() throws Exception {
+        instance.addRelayedPacket(PacketPlayerMessage.class);
+        PacketPlayerMessage received = receive(message());
+        Assertions.assertNotNull(received.getBuf());
+
+        AbstractPacket copy = received.forwardCopy();
+        Assertions.assertTrue(copy instanceof RelayedPacket);
+        copy.setQueryId(7);
+        copy.setStamp(1234);
+
+        // the payload is kept by the copy after the packet has been processed
+        received.releaseBuf();
+        Assertions.assertEquals(1, ((RelayedPacket) copy).refCnt());
+
+        channel.writeOutbound(copy);
+        ByteBuf relayed = channel.readOutbound();
+        Assertions.assertEquals(0, ((RelayedPacket) copy).refCnt());
+
+        // the same bytes as if the copy would have been encoded
+        PacketPlayerMessage expected = message();
+        expected.setQueryId(7);
+        expected.setStamp(1234);
+        ByteBuf encoded = Unpooled.buffer();
+        PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, expected, encoded);
+        Assertions.assertEquals(encoded, relayed);
+
+        relayed.release();
+        encoded.release();
+    }
+
+    @Test
+    void relayedPacketShouldNeverBeDecoded() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> instance.getRegistry().register(RelayedPacket.class));
+        Assertions.assertEquals(-1, instance.getRegistry().getId(RelayedPacket.class));
+
+        // reading goes into the forwarded packet
+        instance.addRelayedPacket(PacketPlayerMessage.class);
+        PacketPlayerMessage received = receive(message());
+        RelayedPacket copy = (RelayedPacket) received.forwardCopy();
+        received.releaseBuf();
+
+        ByteBuf buf = Unpooled.buffer();
+        new PacketPlayerMessage(PacketPlayerMessage.Type.BROADCAST, "baa", "", true, false).write(new PacketBuffer(buf));
+        copy.read(new PacketBuffer(buf));
+        Assertions.assertEquals("baa", ((PacketPlayerMessage) copy.getPacket()).message);
+        Assertions.assertEquals(0, buf.readableBytes());
+
+        buf.release();
+        copy.release();
+    }
+
+    @Test
+    void otherPacketsShouldBeCopied() throws Exception {
+        PacketPlayerMessage received = receive(message());
+        Assertions.assertNull(received.getBuf());
+
+        AbstractPacket copy = received.forwardCopy();
+        Assertions.assertTrue(copy instanceof PacketPlayerMessage);
+        Assertions.assertEquals("moo", ((PacketPlayerMessage) copy).message);
+    }
+
+    private PacketPlayerMessage receive(PacketPlayerMessage packet) throws Exception {
+        packet.setQueryId(3);
+        packet.setStamp(1);
+        ByteBuf buf = Unpooled.buffer();
+        PacketEncoder.encode(instance.getRegistry(), Protocol.PROTOCOL_VERSION, packet, buf);
+
+        channel.writeInbound(buf);
+        return channel.readInbound();
+    }
+
+    private static PacketPlayerMessage message() {
+        return new PacketPlayerMessage(PacketPlayerMessage.Type.BROADCAST, "moo", "", true, false);
+    }
+
+    private PacketDecoder decoder() {
+        PacketDecoder decoder = new PacketDecoder(instance);
+        decoder.setProtocolVersion(Protocol.PROTOCOL_VERSION);
+        return decoder;
+    }
+
+    private PacketEncoder encoder() {
+        PacketEncoder encoder = new PacketEncoder(instance);
+        encoder.setProtocolVersion(Protocol.PROTOCOL_VERSION);
+        return encoder;
+    }
+
+}
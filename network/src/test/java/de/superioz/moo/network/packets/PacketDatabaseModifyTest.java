@@ -0,0 +1,91 @@
+package de.superioz.moo.network.packets;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.model.Filters;
+import de.superioz.moo.api.database.DatabaseModifyType;
+import de.superioz.moo.api.database.DatabaseType;
+import de.superioz.moo.api.database.filter.DbFilter;
+import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.api.database.query.DbQuery;
+import de.superioz.moo.api.database.query.DbQueryNode;
+import de.superioz.moo.network.packet.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+public class PacketDatabaseModifyTest {
+
+    @Test
+    void filterAndUpdatesShouldSurviveRoundTrip() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        DbFilter filter = new DbFilter(Filters.and(Filters.eq("uuid", uuid),
+                Filters.gt("rank", 5), Filters.eq("lastOnline", 1500000000000L)));
+        DbQuery updates = new DbQuery(PlayerData.class)
+                .equate("lastName", "Moo")
+                .append("rank", "2")
+                .equate("lastOnline", 1500000000001L)
+                .equate("uuid", uuid)
+                .append("permissions", Arrays.asList("moo.a", "moo.b"));
+
+        PacketDatabaseModify read = roundTrip(new PacketDatabaseModify(DatabaseType.PLAYER, filter, DatabaseModifyType.MODIFY, updates));
+
+        // the tree has the uuid as string (for the cache), the document as binary like the driver encodes it
+        Assertions.assertEquals(filter.toString(), read.filter.toString());
+        Assertions.assertEquals(uuid, read.filter.getLeaf("uuid").getContent());
+        Assertions.assertEquals(Filters.and(Filters.eq("uuid", uuid), Filters.gt("rank", 5), Filters.eq("lastOnline", 1500000000000L))
+                .toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry()), read.filter.toBsonDocument());
+
+        Assertions.assertEquals(PlayerData.class, read.updates.getKeyHoldingClass());
+        Assertions.assertEquals("Moo", value(read.updates, "lastName"));
+        Assertions.assertEquals(2, value(read.updates, "rank"));
+        Assertions.assertEquals(DbQueryNode.Type.APPEND, read.updates.getNodes().stream()
+                .filter(node -> node.getKey().equals("rank")).findFirst().get().getType());
+        Assertions.assertEquals(1500000000001L, value(read.updates, "lastOnline"));
+        Assertions.assertEquals(uuid, value(read.updates, "uuid"));
+        Assertions.assertEquals(Arrays.asList("moo.a", "moo.b"), value(read.updates, "permissions"));
+    }
+
+    @Test
+    void missingUpdatesShouldStayMissing() throws IOException {
+        DbFilter filter = DbFilter.fromPrimKey(PlayerData.class, UUID.randomUUID());
+        PacketDatabaseModify read = roundTrip(PacketDatabaseModify.onDelete(DatabaseType.PLAYER, filter));
+
+        Assertions.assertNull(read.updates);
+        Assertions.assertEquals(filter.toString(), read.filter.toString());
+    }
+
+    @Test
+    void uuidsOfJsonFilterShouldBeBinaries() {
+        UUID uuid = UUID.randomUUID();
+        DbFilter filter = new DbFilter().readObject("{\"$or\":[{\"uuid\":\"" + uuid + "\"},{\"lastName\":\"Moo\"}]}");
+
+        Assertions.assertEquals(Filters.or(Filters.eq("uuid", uuid), Filters.eq("lastName", "Moo"))
+                .toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry()), filter.toBsonDocument());
+    }
+
+    private PacketDatabaseModify roundTrip(PacketDatabaseModify packet) throws IOException {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            packet.write(new PacketBuffer(buf));
+
+            PacketDatabaseModify read = new PacketDatabaseModify();
+            read.read(new PacketBuffer(buf));
+            Assertions.assertEquals(0, buf.readableBytes());
+            return read;
+        }
+        finally {
+            buf.release();
+        }
+    }
+
+    private Object value(DbQuery query, String key) {
+        return query.getNodes().stream().filter(node -> node.getKey().equals(key)).findFirst().get().getValue();
+    }
+
+}
@@ -0,0 +1,99 @@
+package de.superioz.moo.network.packets;
+
+import de.superioz.moo.api.common.PlayerProfile;
+import de.superioz.moo.api.database.objects.Ban;
+import de.superioz.moo.api.database.objects.Group;
+import de.superioz.moo.api.database.objects.PlayerData;
+import de.superioz.moo.network.exception.MooInputException;
+import de.superioz.moo.network.packet.PacketBuffer;
+import de.superioz.moo.network.queries.Response;
+import de.superioz.moo.network.queries.ResponseStatus;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class PacketRespondTest {
+
+    @Test
+    void recordsShouldBeReadAsComplexes() throws IOException, MooInputException {
+        PlayerData data = playerData();
+        Group group = new Group();
+        group.setName("admin");
+        group.setPermissions(new ArrayList<>(Arrays.asList("moo.*", "1234")));
+
+        Response response = new Response(roundTrip(PacketRespond.ofRecords("player", Arrays.asList(data, group, data), ResponseStatus.OK)));
+
+        List<PlayerData> players = response.toComplexes(PlayerData.class);
+        Assertions.assertEquals(2, players.size());
+        Assertions.assertEquals(data.toString(), players.get(0).toString());
+
+        Group readGroup = response.toComplex(Group.class);
+        Assertions.assertEquals("admin", readGroup.getName());
+        Assertions.assertEquals(Arrays.asList("moo.*", "1234"), readGroup.getPermissions());
+    }
+
+    @Test
+    void recordsShouldBeReadAsPrimitives() throws IOException, MooInputException {
+        Response response = new Response(roundTrip(PacketRespond.ofRecords("count", Arrays.asList(5, "moo", 7), ResponseStatus.OK)));
+
+        Assertions.assertEquals(Arrays.asList(5, 7), response.toPrimitives(Integer.class));
+        Assertions.assertEquals(Arrays.asList("5", "moo", "7"), response.getMessageAsList());
+    }
+
+    @Test
+    void profileShouldSurviveRoundTrip() throws IOException {
+        PlayerData data = playerData();
+        Ban archived = new Ban(data.getUuid(), UUID.randomUUID(), 1L, 2L, 3, "spam", 10, null);
+
+        PacketRespond respond = roundTrip(PacketRespond.ofRecords("playerprofile",
+                Arrays.asList(data, null, Collections.singletonList(archived)), ResponseStatus.OK));
+        PlayerProfile profile = PlayerProfile.fromRecords(new Response(respond).getRecords());
+
+        Assertions.assertEquals(data.toString(), profile.getData().toString());
+        Assertions.assertNull(profile.getCurrentBan());
+        Assertions.assertEquals(1, profile.getArchivedBans().size());
+        Assertions.assertEquals(archived.toString(), profile.getArchivedBans().get(0).toString());
+    }
+
+    @Test
+    void messageShouldStillWork() throws IOException, MooInputException {
+        Response response = new Response(roundTrip(new PacketRespond("ping", "42", ResponseStatus.OK)));
+
+        Assertions.assertTrue(response.getRecords().isEmpty());
+        Assertions.assertEquals(42, (int) response.toPrimitive(Integer.class));
+    }
+
+    private PlayerData playerData() {
+        PlayerData data = new PlayerData();
+        data.setUuid(UUID.randomUUID());
+        data.setLastName("Moo");
+        data.setRank(3);
+        data.setCoins(5000000000L);
+        data.setExtraPerms(new ArrayList<>(Collections.singletonList("moo.fly")));
+        return data;
+    }
+
+    private PacketRespond roundTrip(PacketRespond packet) throws IOException {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            packet.write(new PacketBuffer(buf));
+
+            PacketRespond read = new PacketRespond();
+            read.read(new PacketBuffer(buf));
+            Assertions.assertEquals(0, buf.readableBytes());
+            return read;
+        }
+        finally {
+            buf.release();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package de.superioz.moo.network.queries;
+
+import de.superioz.moo.api.database.DatabaseType;
+import de.superioz.moo.api.event.EventExecutor;
+import de.superioz.moo.api.event.EventHandler;
+import de.superioz.moo.api.event.EventListener;
+import de.superioz.moo.network.events.QueryEvent;
+import de.superioz.moo.network.exception.MooOutputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class QueriesTest {
+
+    private EventListener listener;
+
+    @AfterEach
+    void tearDown() {
+        EventExecutor.getInstance().unregister(listener);
+    }
+
+    @Test
+    void futureShouldCompleteWithoutBlocking() {
+        RememberingListener listener = new RememberingListener();
+        register(listener);
+
+        CompletableFuture<ResponseStatus> future = Queries.newInstance(DatabaseType.PLAYER).filter("moo").deletion()
+                .executeAsync().thenApply(Response::getStatus);
+        Assertions.assertFalse(future.isDone());
+
+        // the response comes in later
+        listener.query.accept(new Response(ResponseStatus.NOT_FOUND));
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertEquals(ResponseStatus.NOT_FOUND, future.join());
+    }
+
+    @Test
+    void cancelledQueryShouldFailTheFuture() {
+        register(new CancellingListener());
+
+        CompletableFuture<Response> future = Queries.newInstance(DatabaseType.PLAYER).filter("moo").executeAsync();
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        CompletionException e = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertTrue(e.getCause() instanceof MooOutputException);
+
+        // the blocking method throws the reason itself
+        Assertions.assertThrows(MooOutputException.class, () -> Queries.newInstance(DatabaseType.PLAYER).filter("moo").execute());
+    }
+
+    private void register(EventListener listener) {
+        this.listener = listener;
+        EventExecutor.getInstance().register(listener);
+    }
+
+    public static class RememberingListener implements EventListener {
+
+        private QueryEvent query;
+
+        @EventHandler
+        public void onQuery(QueryEvent event) {
+            query = event;
+        }
+
+    }
+
+    public static class CancellingListener implements EventListener {
+
+        @EventHandler
+        public void onQuery(QueryEvent event) {
+            event.setCancelled(true);
+            event.setCancelReason(new MooOutputException(MooOutputException.Type.CONNECTION_FAILED));
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package de.superioz.moo.network.server;
+
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packets.PacketServerRegister;
+import de.superioz.moo.network.packets.PacketServerUnregister;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+public class SessionLogTest {
+
+    @Test
+    void resumedSessionShouldOnlyGetTheMissedChanges() {
+        SessionLog log = new SessionLog(16, 60 * 1000);
+        String token = log.open(ClientType.PROXY);
+
+        log.append(new PacketServerRegister("lobby", "localhost", 1, 25565), ClientType.PROXY);
+        long sequence = log.getSequence();
+        log.detach(token);
+
+        // changes while the proxy is disconnected
+        log.append(new PacketServerUnregister(new InetSocketAddress("localhost", 25565)), ClientType.PROXY);
+        log.append(new PacketServerRegister("lobby", "localhost", 2, 25566), ClientType.PROXY);
+        log.append(new PacketServerRegister("daemon-only", "localhost", 3, 25567), ClientType.DAEMON);
+
+        Assertions.assertTrue(log.resume(token, sequence, ClientType.PROXY));
+        List<AbstractPacket> missed = log.since(sequence, ClientType.PROXY);
+        Assertions.assertEquals(2, missed.size());
+        Assertions.assertTrue(missed.get(0) instanceof PacketServerUnregister);
+        Assertions.assertEquals(2, ((PacketServerRegister) missed.get(1)).id);
+
+        // nothing missed
+        Assertions.assertEquals(0, log.since(log.getSequence(), ClientType.PROXY).size());
+    }
+
+    @Test
+    void sessionShouldNeedFullResyncIfTheLogIsTooShort() {
+        SessionLog log = new SessionLog(2, 60 * 1000);
+        String token = log.open(ClientType.PROXY);
+        log.detach(token);
+
+        for(int i = 0; i < 3; i++) {
+            log.append(new PacketServerRegister("lobby", "localhost", i, 25565 + i), ClientType.PROXY);
+        }
+
+        Assertions.assertNull(log.since(0, ClientType.PROXY));
+        Assertions.assertFalse(log.resume(token, 0, ClientType.PROXY));
+        Assertions.assertEquals(1, log.since(2, ClientType.PROXY).size());
+    }
+
+    @Test
+    void unknownOrExpiredSessionShouldNeedFullResync() throws InterruptedException {
+        SessionLog log = new SessionLog(16, 10);
+        Assertions.assertFalse(log.resume("unknown", 0, ClientType.PROXY));
+        Assertions.assertFalse(log.resume(null, 0, ClientType.PROXY));
+
+        String token = log.open(ClientType.PROXY);
+        Assertions.assertFalse(log.resume(token, 0, ClientType.SERVER));
+
+        log.detach(token);
+        Thread.sleep(50);
+        Assertions.assertFalse(log.resume(token, 0, ClientType.PROXY));
+        Assertions.assertEquals(0, log.getSessionCount());
+    }
+
+}
@@ -0,0 +1,115 @@
+package de.superioz.moo.network.server;
+
+import de.superioz.moo.api.database.DatabaseType;
+import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.client.MooClient;
+import de.superioz.moo.network.common.Topic;
+import de.superioz.moo.network.packet.AbstractPacket;
+import de.superioz.moo.network.packet.EncodedPacket;
+import de.superioz.moo.network.packets.PacketStateMark;
+import de.superioz.moo.network.packets.PacketUpdatePermission;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+public class SubscriptionIndexTest {
+
+    private final NetworkServer server = new NetworkServer("localhost", 0, null, Logger.getLogger("test"));
+
+    @AfterEach
+    void tearDown() {
+        server.getNetworkBus().shutdown();
+    }
+
+    @Test
+    void wildcardShouldMatchEveryTopicOfTheNamespace() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        MooClient all = client("all", 1, ClientType.PROXY);
+        MooClient single = client("single", 2, ClientType.PROXY);
+        UUID uuid = UUID.randomUUID();
+
+        index.subscribe(all, Collections.singletonList(Topic.all(Topic.PLAYER)));
+        index.subscribe(single, Arrays.asList(Topic.player(uuid), Topic.server("lobby")));
+
+        Assertions.assertEquals(2, index.getSubscribers(Topic.player(uuid)).size());
+        Assertions.assertEquals(Collections.singleton(all), index.getSubscribers(Topic.player(UUID.randomUUID())));
+        Assertions.assertEquals(Collections.singleton(single), index.getSubscribers(Topic.server("lobby")));
+        Assertions.assertTrue(index.getSubscribers(Topic.group("admin")).isEmpty());
+
+        index.unsubscribe(single, Collections.singletonList(Topic.player(uuid)));
+        Assertions.assertFalse(index.isSubscribed(single, Topic.player(uuid)));
+        Assertions.assertTrue(index.isSubscribed(all, Topic.player(uuid)));
+
+        // disconnected
+        index.remove(single);
+        Assertions.assertTrue(index.getTopics(single).isEmpty());
+        Assertions.assertTrue(index.getSubscribers(Topic.server("lobby")).isEmpty());
+    }
+
+    @Test
+    void stateShouldOnlyBePublishedToSubscribers() {
+        EmbeddedChannel subscribed = new EmbeddedChannel();
+        EmbeddedChannel other = new EmbeddedChannel();
+        MooClient first = client("first", 1, ClientType.PROXY, subscribed);
+        MooClient second = client("second", 2, ClientType.PROXY, other);
+        server.getClientManager().add(first);
+        server.getClientManager().add(second);
+
+        UUID uuid = UUID.randomUUID();
+        server.getSubscriptions().subscribe(first, Collections.singletonList(Topic.player(uuid)));
+        server.publishState(new PacketUpdatePermission(DatabaseType.PLAYER, uuid.toString()), Topic.player(uuid), ClientType.PROXY);
+
+        // every proxy gets the mark, only the subscriber gets the change
+        Assertions.assertEquals(Arrays.asList(PacketUpdatePermission.class, PacketStateMark.class), readOutbound(subscribed));
+        Assertions.assertEquals(Collections.singletonList(PacketStateMark.class), readOutbound(other));
+
+        // a resumed session only gets the missed changes it subscribed to
+        long sequence = server.getSessionLog().getSequence() - 1;
+        Assertions.assertEquals(1, server.getSessionLog().since(sequence, ClientType.PROXY,
+                topic -> server.getSubscriptions().isSubscribed(first, topic)).size());
+        Assertions.assertEquals(0, server.getSessionLog().since(sequence, ClientType.PROXY,
+                topic -> server.getSubscriptions().isSubscribed(second, topic)).size());
+    }
+
+    @Test
+    void clientShouldGetTheDefaultsOfItsType() {
+        server.setDefaultSubscriptions(ClientType.PROXY, Topic.all(Topic.SERVER), Topic.all(Topic.PLAYER));
+        MooClient proxy = client("proxy", 1, ClientType.PROXY);
+        MooClient daemon = client("daemon", 2, ClientType.DAEMON);
+
+        server.subscribeDefaults(proxy);
+        server.subscribeDefaults(daemon);
+        Assertions.assertTrue(server.getSubscriptions().isSubscribed(proxy, Topic.server("lobby")));
+        Assertions.assertFalse(server.getSubscriptions().isSubscribed(proxy, Topic.group("admin")));
+        Assertions.assertTrue(server.getSubscriptions().getTopics(daemon).isEmpty());
+    }
+
+    private static MooClient client(String name, int port, ClientType type) {
+        return client(name, port, type, null);
+    }
+
+    private static MooClient client(String name, int port, ClientType type, EmbeddedChannel channel) {
+        return new MooClient(name, "127.0.0.1", port, -1, type, channel);
+    }
+
+    private static List<Class<?>> readOutbound(EmbeddedChannel channel) {
+        List<Class<?>> classes = new ArrayList<>();
+        Object msg;
+        while((msg = channel.readOutbound()) != null) {
+            AbstractPacket packet = msg instanceof EncodedPacket ? ((EncodedPacket) msg).getPacket() : (AbstractPacket) msg;
+            classes.add(packet.getClass());
+            ReferenceCountUtil.release(msg);
+        }
+        return classes;
+    }
+
+}
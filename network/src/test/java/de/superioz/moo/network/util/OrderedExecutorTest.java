@@ -0,0 +1,109 @@
+package de.superioz.moo.network.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OrderedExecutorTest {
+
+    private static final int TASKS = 10000;
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void tasksShouldRunInOrder() throws InterruptedException {
+        List<OrderedExecutor> executors = new ArrayList<>();
+        List<List<Integer>> results = new ArrayList<>();
+        for(int i = 0; i < 8; i++) {
+            executors.add(new OrderedExecutor(pool, Throwable::printStackTrace));
+            results.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        CountDownLatch latch = new CountDownLatch(TASKS * executors.size());
+        for(int i = 0; i < TASKS; i++) {
+            for(int j = 0; j < executors.size(); j++) {
+                int value = i;
+                List<Integer> result = results.get(j);
+                executors.get(j).execute(() -> {
+                    result.add(value);
+                    latch.countDown();
+                });
+            }
+        }
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        for(List<Integer> result : results) {
+            for(int i = 0; i < TASKS; i++) {
+                Assertions.assertEquals(i, (int) result.get(i));
+            }
+        }
+    }
+
+    @Test
+    void exceptionShouldNotStopExecutor() throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+        OrderedExecutor executor = new OrderedExecutor(pool, t -> errors.incrementAndGet());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException();
+        });
+        executor.execute(latch::countDown);
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, errors.get());
+    }
+
+    @Test
+    void fullQueueShouldStopAndResumeTheProducer() throws InterruptedException {
+        List<Boolean> events = Collections.synchronizedList(new ArrayList<>());
+        OrderedExecutor executor = new OrderedExecutor(pool, Throwable::printStackTrace, 8, 4, 1, events::add);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(8);
+
+        // the first task blocks the queue
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        for(int i = 1; i < 8; i++) {
+            executor.execute(done::countDown);
+        }
+        Assertions.assertTrue(executor.isThrottled());
+        Assertions.assertEquals(Collections.singletonList(true), events);
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(done::countDown));
+
+        blocked.countDown();
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(executor.isThrottled());
+        Assertions.assertEquals(Arrays.asList(true, false), events);
+    }
+
+}
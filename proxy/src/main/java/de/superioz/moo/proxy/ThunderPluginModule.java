@@ -2,6 +2,7 @@ package de.superioz.moo.proxy;
 
 import de.superioz.moo.api.command.CommandInstance;
 import de.superioz.moo.api.command.CommandRegistry;
+import de.superioz.moo.api.config.NetworkConfigType;
 import de.superioz.moo.api.event.EventExecutor;
 import de.superioz.moo.api.event.EventHandler;
 import de.superioz.moo.api.event.EventListener;
@@ -12,7 +13,9 @@ import de.superioz.moo.api.module.Module;
 import de.superioz.moo.client.Moo;
 import de.superioz.moo.client.events.CloudConnectedEvent;
 import de.superioz.moo.minecraft.util.ChatUtil;
+import de.superioz.moo.network.TransportConfig;
 import de.superioz.moo.network.client.ClientType;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.proxy.command.BungeeCommandContext;
 import de.superioz.moo.proxy.command.PlayerParamType;
 import de.superioz.moo.proxy.commands.*;
@@ -80,7 +83,7 @@ public class ThunderPluginModule extends Module implements EventListener {
         // connect to cloud
         if(config.isLoaded()) {
             Moo.getInstance().connect(config.get("proxy-name"), ClientType.PROXY,
-                    config.get("cloud-ip"), config.get("cloud-port"));
+                    config.get("cloud-ip"), config.get("cloud-port"), TransportConfig.fromConfig(config, "transport"));
         }
     }
 
@@ -109,7 +112,9 @@ public class ThunderPluginModule extends Module implements EventListener {
         Thunder.getInstance().getLogs().info("** AUTHENTICATION STATUS: " + (event.getStatus().getColored()) + " **");
         if(event.getStatus().isNok()) return;
 
-        // lil
+        // only the permission updates of the own players (they're subscribed at the login) and the maintenance switch
+        Moo.getInstance().getClient().unsubscribe(Topic.all(Topic.PLAYER));
+        Moo.getInstance().getClient().subscribe(Topic.config(NetworkConfigType.MAINTENANCE));
     }
 
 }
@@ -1,6 +1,8 @@
 package de.superioz.moo.proxy.listeners;
 
+import de.superioz.moo.client.Moo;
 import de.superioz.moo.network.common.MooCache;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.api.database.objects.PlayerData;
 import de.superioz.moo.network.queries.MooQueries;
 import de.superioz.moo.network.exception.MooOutputException;
@@ -80,6 +82,11 @@ public class ProxyPlayerConnectionListener implements Listener {
 
     @EventHandler
     public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        ProxiedPlayer player = event.getPlayer();
+        if(Moo.getInstance().getClient() != null) {
+            Moo.getInstance().getClient().unsubscribe(Topic.player(player.getUniqueId()), Topic.player(player.getName()));
+        }
+
         Thunder.getInstance().getProxy().getScheduler().runAsync(Thunder.getInstance(), () -> {
             try {
                 onPlayerDisconnectAsync(event);
@@ -3,6 +3,7 @@ package de.superioz.moo.proxy.listeners;
 import de.superioz.moo.api.database.objects.PlayerData;
 import de.superioz.moo.api.io.LanguageManager;
 import de.superioz.moo.client.Moo;
+import de.superioz.moo.network.common.Topic;
 import de.superioz.moo.network.queries.MooQueries;
 import de.superioz.moo.network.exception.MooOutputException;
 import de.superioz.moo.network.packets.PacketPlayerState;
@@ -75,6 +76,9 @@ public class ProxyPlayerLoginListener implements Listener {
                 return;
             }
 
+            // the permission updates of the player are pushed to this proxy (they can refer to the uuid or the name)
+            Moo.getInstance().getClient().subscribe(Topic.player(uuid), Topic.player(data.getLastName()));
+
             // change player state for current server, proxy, ..
             MooQueries.getInstance().changePlayerState(data, PacketPlayerState.State.JOIN_PROXY, response2 -> {
                 MooQueries.getInstance().updatePermission(data.getUuid());
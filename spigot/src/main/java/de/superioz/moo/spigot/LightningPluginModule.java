@@ -8,6 +8,7 @@ import de.superioz.moo.api.io.LanguageManager;
 import de.superioz.moo.api.module.Module;
 import de.superioz.moo.client.Moo;
 import de.superioz.moo.client.events.CloudConnectedEvent;
+import de.superioz.moo.network.TransportConfig;
 import de.superioz.moo.network.client.ClientType;
 import de.superioz.moo.spigot.listeners.ChatListener;
 import de.superioz.moo.spigot.listeners.ServerListener;
@@ -53,7 +54,8 @@ public class LightningPluginModule extends Module implements EventListener {
 
         // connect to cloud
         if(config.isLoaded()) {
-            Moo.getInstance().connect(config.get("group-id"), ClientType.SERVER, config.get("cloud-ip"), config.get("cloud-port"));
+            Moo.getInstance().connect(config.get("group-id"), ClientType.SERVER, config.get("cloud-ip"), config.get("cloud-port"),
+                    TransportConfig.fromConfig(config, "transport"));
         }
     }
 